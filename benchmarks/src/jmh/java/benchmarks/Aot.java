@@ -0,0 +1,15 @@
+package benchmarks;
+
+import parser.aot.Formula;
+
+/**
+ * The formulas that are compiled at build time for the {@link AotBenchmark}, into the class <code>AotFormulas</code>.
+ * @author MiKa
+ * @version 1.0 (18.10.2026)
+ * @since ALPHA
+ */
+
+@Formula(name = "shortFormula", value = Formulas.SHORT, variables = {"x", "y", "t"})
+@Formula(name = "mediumFormula", value = Formulas.MEDIUM, variables = {"x", "y", "t"})
+public interface Aot {
+}
@@ -0,0 +1,59 @@
+package benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import parser.Expression;
+import parser.compiler.BytecodeCompiler;
+import parser.compiler.CompiledExpression;
+
+/**
+ * Compares the formulas that were compiled at build time (see {@link Aot}) with the same formulas {@link BytecodeCompiler compiled at runtime}.
+ * Both are called through {@link CompiledExpression}, and the generated methods are also called directly.
+ * @author MiKa
+ * @version 1.0 (18.10.2026)
+ * @since ALPHA
+ */
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class AotBenchmark {
+
+	@Param({"SHORT", "MEDIUM"})
+	public String size;
+	
+	private CompiledExpression runtime, buildTime;
+	private double[] vars;
+	
+	@Setup
+	public void setup() {
+		runtime = BytecodeCompiler.compile(Expression.parse(Formulas.get(size), true), "x", "y", "t");
+		buildTime = size.equals("SHORT") ? AotFormulas.SHORTFORMULA : AotFormulas.MEDIUMFORMULA;
+		vars = new double[] {2.5, 7, 0.25};
+	}
+	
+	@Benchmark
+	public double runtimeCompiled() {
+		return runtime.evaluate(vars);
+	}
+	
+	@Benchmark
+	public double buildTimeCompiled() {
+		return buildTime.evaluate(vars);
+	}
+	
+	@Benchmark
+	public double buildTimeDirect() {
+		return size.equals("SHORT") ? AotFormulas.shortFormula(vars[0], vars[1], vars[2]) : AotFormulas.mediumFormula(vars[0], vars[1], vars[2]);
+	}
+	
+}
@@ -0,0 +1,93 @@
+package benchmarks;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import parser.Expression;
+import parser.compiler.BatchEvaluator;
+import parser.compiler.ParallelBatchEvaluator;
+import parser.compiler.Program;
+import parser.compiler.ProgramCompiler;
+
+/**
+ * Measures the evaluation of one formula over many rows: row by row through the tree, and column wise
+ * with the {@link BatchEvaluator} (with and without the vector API), and on all cores with the {@link ParallelBatchEvaluator}.
+ * @author MiKa
+ * @version 1.0 (18.10.2026)
+ * @since ALPHA
+ */
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class BatchBenchmark {
+
+	@Param({"SHORT", "MEDIUM"})
+	public String size;
+	
+	@Param({"100000", "1000000"})
+	public int rows;
+	
+	private Expression expression;
+	private BatchEvaluator scalar, vector;
+	private ParallelBatchEvaluator parallel;
+	private double[][] columns;
+	private double[] out;
+	
+	@Setup
+	public void setup() {
+		expression = Expression.parse(Formulas.get(size), true);
+		Program program = ProgramCompiler.compile(expression, "x", "y", "t");
+		scalar = new BatchEvaluator(program, false);
+		vector = new BatchEvaluator(program, true);
+		parallel = new ParallelBatchEvaluator(program);
+		
+		Random random = new Random(42);
+		columns = new double[3][rows];
+		for(int i = 0; i < rows; i++) {
+			columns[0][i] = random.nextDouble() * 100;
+			columns[1][i] = random.nextDouble() * 100;
+			columns[2][i] = random.nextDouble();
+		}
+		out = new double[rows];
+	}
+	
+	@Benchmark
+	public double[] rowByRow() {
+		for(int i = 0; i < rows; i++) {
+			expression.setVariable("x", columns[0][i]);
+			expression.setVariable("y", columns[1][i]);
+			expression.setVariable("t", columns[2][i]);
+			out[i] = expression.computeDouble();
+		}
+		return out;
+	}
+	
+	@Benchmark
+	public double[] batchScalar() {
+		scalar.evaluate(columns, out);
+		return out;
+	}
+	
+	@Benchmark
+	public double[] batchVector() {
+		vector.evaluate(columns, out);
+		return out;
+	}
+	
+	@Benchmark
+	public double[] batchParallel() {
+		parallel.evaluate(columns, out);
+		return out;
+	}
+	
+}
@@ -0,0 +1,55 @@
+package benchmarks;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import parser.BulkParser;
+import parser.Expression;
+
+/**
+ * Measures the parsing of a catalog of rules: one {@link Expression#parse(String, boolean)} after the other on one thread,
+ * and all at once with {@link BulkParser}. The rules come from {@link Formulas#catalog(int)}.
+ * @author MiKa
+ * @version 1.0 (18.10.2026)
+ * @since ALPHA
+ */
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class BulkParseBenchmark {
+
+	@Param({"20000"})
+	public int rules;
+	
+	private List<String> catalog;
+	
+	@Setup
+	public void setup() {
+		catalog = Formulas.catalog(rules);
+	}
+	
+	@Benchmark
+	public Expression[] sequential() {
+		Expression[] expressions = new Expression[catalog.size()];
+		for(int i = 0; i < expressions.length; i++) {
+			expressions[i] = Expression.parse(catalog.get(i), true);
+		}
+		return expressions;
+	}
+	
+	@Benchmark
+	public BulkParser.Result parseAll() {
+		return BulkParser.parseAll(catalog, true);
+	}
+	
+}
@@ -0,0 +1,80 @@
+package benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import parser.Expression;
+import parser.compiler.BytecodeCompiler;
+import parser.compiler.CompiledExpression;
+import parser.compiler.Interpreter;
+import parser.compiler.Program;
+import parser.compiler.ProgramCompiler;
+
+/**
+ * Measures {@link Expression#computeFloat()}, {@link Expression#computeInt()} and {@link Expression#computeDouble()}
+ * on simplified trees and compares them to the {@link BytecodeCompiler compiled} and the {@link Interpreter interpreted} form.
+ * Every thread gets its own tree, because the variables are stored inside of it.
+ * @author MiKa
+ * @version 1.0 (18.10.2026)
+ * @since ALPHA
+ */
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ComputeBenchmark {
+
+	@Param({"SHORT", "MEDIUM", "LONG"})
+	public String size;
+	
+	private Expression expression;
+	private CompiledExpression compiled, interpreted;
+	private double[] vars;
+	
+	@Setup
+	public void setup() {
+		expression = Expression.parse(Formulas.get(size), true);
+		expression.setVariable("x", 2.5);
+		expression.setVariable("y", 7);
+		expression.setVariable("t", 0.25);
+		
+		Program program = ProgramCompiler.compile(expression, "x", "y", "t");
+		compiled = BytecodeCompiler.compile(program);
+		interpreted = new Interpreter(program);
+		vars = new double[] {2.5, 7, 0.25};
+	}
+	
+	@Benchmark
+	public float computeFloat() {
+		return expression.computeFloat();
+	}
+	
+	@Benchmark
+	public int computeInt() {
+		return expression.computeInt();
+	}
+	
+	@Benchmark
+	public double computeDouble() {
+		return expression.computeDouble();
+	}
+	
+	@Benchmark
+	public double compiledEvaluate() {
+		return compiled.evaluate(vars);
+	}
+	
+	@Benchmark
+	public double interpretedEvaluate() {
+		return interpreted.evaluate(vars);
+	}
+	
+}
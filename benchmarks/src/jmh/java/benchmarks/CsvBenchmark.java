@@ -0,0 +1,84 @@
+package benchmarks;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.Writer;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import parser.Expression;
+import parser.io.CsvPipeline;
+
+/**
+ * Measures the evaluation of two formulas over the rows of CSV data: line by line with {@link String#split(String)},
+ * {@link Double#parseDouble(String)} and {@link Expression#setVariable(String, double)}, and with the {@link CsvPipeline}.
+ * The data has an additional text column that is not used by the formulas.
+ * @author MiKa
+ * @version 1.0 (18.10.2026)
+ * @since ALPHA
+ */
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class CsvBenchmark {
+
+	@Param({"100000"})
+	public int rows;
+	
+	private String csv;
+	private Expression first, second;
+	private CsvPipeline pipeline;
+	
+	@Setup
+	public void setup() {
+		Random random = new Random(42);
+		StringBuilder builder = new StringBuilder("id,x,y,t\n");
+		for(int i = 0; i < rows; i++) {
+			builder.append("row").append(i).append(',')
+				.append(random.nextInt(1000)).append(',')
+				.append(Math.round(random.nextDouble() * 1e6) / 100.0).append(',')
+				.append(Math.round(random.nextDouble() * 1e6) / 1e6).append('\n');
+		}
+		csv = builder.toString();
+		first = Expression.parse(Formulas.MEDIUM, true);
+		second = Expression.parse("x * y - t", true);
+		pipeline = new CsvPipeline(first, second);
+	}
+	
+	@Benchmark
+	public long lineByLine() throws IOException {
+		BufferedReader reader = new BufferedReader(new StringReader(csv));
+		Writer writer = Writer.nullWriter();
+		String[] header = reader.readLine().split(",");
+		long count = 0;
+		String line;
+		while((line = reader.readLine()) != null) {
+			String[] cells = line.split(",");
+			for(int i = 1; i < header.length; i++) {
+				double value = Double.parseDouble(cells[i]);
+				first.setVariable(header[i], value);
+				second.setVariable(header[i], value);
+			}
+			writer.write(first.computeDouble()+","+second.computeDouble()+"\n");
+			count++;
+		}
+		return count;
+	}
+	
+	@Benchmark
+	public long pipeline() throws IOException {
+		return pipeline.run(new StringReader(csv), Writer.nullWriter()).rows();
+	}
+	
+}
@@ -0,0 +1,127 @@
+package benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * The corpus of expressions that every benchmark runs against. The formulas are grouped by size,
+ * so that changes to the parser or the evaluator can be compared for short, medium and very long inputs.
+ * All formulas use the variables x, y and t.
+ * @author MiKa
+ * @version 1.0 (18.10.2026)
+ * @since ALPHA
+ */
+
+public final class Formulas {
+
+	/**
+	 * A single operator, as used for most layout constraints.
+	 */
+	public static final String SHORT = "x+1";
+	
+	/**
+	 * A typical formula of the ui library with functions, brackets and constants.
+	 */
+	public static final String MEDIUM = "clamp(0, 10, (pow(2,2)*cos(t)+3)*x)";
+	
+	/**
+	 * A generated formula with a few hundred terms.
+	 */
+	public static final String LONG = generate(400);
+	
+	private static final String[] TERMS = {"price * amount", "clamp(0, limit, x)", "pow(rate, 2)", "sin(t) * 0.5", "abs(a - b)", "x / 100", "root(area, 2)", "(x + 1) * (y - 1)"};
+	
+	/**
+	 * The variables used by {@link #catalog(int)}.
+	 */
+	public static final String[] CATALOG_VARIABLES = {"price", "amount", "limit", "x", "y", "rate", "t", "a", "b", "area"};
+	
+	private Formulas() {}
+	
+	/**
+	 * @param size One of "SHORT", "MEDIUM" or "LONG".
+	 * @return The formula of the given size.
+	 */
+	public static String get(String size) {
+		return switch(size) {
+			case "SHORT" -> SHORT;
+			case "MEDIUM" -> MEDIUM;
+			case "LONG" -> LONG;
+			default -> throw new IllegalArgumentException("Unknown formula size \""+size+"\"");
+		};
+	}
+	
+	/**
+	 * Generates a formula that uses the given number of variables, named v0, v1, ...
+	 * @param variables The number of variables.
+	 * @return The generated formula.
+	 */
+	public static String generateVariables(int variables) {
+		StringBuilder builder = new StringBuilder();
+		for(int i = 0; i < variables; i++) {
+			if(i > 0) {
+				builder.append(i % 2 == 0 ? '+' : '*');
+			}
+			builder.append('v').append(i);
+		}
+		return builder.toString();
+	}
+	
+	/**
+	 * @param variables The number of variables.
+	 * @return The names of the variables used by {@link #generateVariables(int)}.
+	 */
+	public static String[] variableNames(int variables) {
+		String[] names = new String[variables];
+		for(int i = 0; i < variables; i++) {
+			names[i] = "v"+i;
+		}
+		return names;
+	}
+	
+	/**
+	 * Generates a formula that sums up the given number of mixed terms.
+	 * @param terms The number of terms in the formula.
+	 * @return The generated formula.
+	 */
+	public static String generate(int terms) {
+		StringBuilder builder = new StringBuilder();
+		for(int i = 0; i < terms; i++) {
+			if(i > 0) {
+				builder.append(i % 3 == 0 ? '-' : '+');
+			}
+			switch(i % 4) {
+				case 0 -> builder.append("x*").append(i + 1);
+				case 1 -> builder.append("sin(t*").append(i).append(')');
+				case 2 -> builder.append("y/").append(i + 1);
+				default -> builder.append("cos(x)^2");
+			}
+		}
+		return builder.toString();
+	}
+	
+	/**
+	 * Generates a catalog of rules, that are built from a small set of variables, constants and terms, like a real catalog.
+	 * The rules use the {@link #CATALOG_VARIABLES}.
+	 * @param rules The number of rules.
+	 * @return The rules, always the same ones for the same number.
+	 */
+	public static List<String> catalog(int rules) {
+		Random random = new Random(42);
+		List<String> catalog = new ArrayList<>(rules);
+		for(int i = 0; i < rules; i++) {
+			StringBuilder builder = new StringBuilder();
+			int terms = 2 + random.nextInt(6);
+			for(int j = 0; j < terms; j++) {
+				if(j > 0) {
+					builder.append(random.nextBoolean() ? " + " : " * ");
+				}
+				builder.append('(').append(TERMS[random.nextInt(TERMS.length)]).append(" + ").append(random.nextInt(20)).append(')');
+			}
+			catalog.add(builder.toString());
+		}
+		return catalog;
+	}
+	
+}
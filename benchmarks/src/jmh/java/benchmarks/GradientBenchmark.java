@@ -0,0 +1,89 @@
+package benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import parser.Expression;
+import parser.calculus.Derivative;
+import parser.compiler.BytecodeCompiler;
+import parser.compiler.CompiledExpression;
+import parser.compiler.GradientTape;
+
+/**
+ * Compares a gradient estimated by central finite differences (2N evaluations) with the {@link Derivative symbolic} gradient
+ * and the {@link GradientTape reverse-mode} gradient.
+ * @author MiKa
+ * @version 1.0 (18.10.2026)
+ * @since ALPHA
+ */
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class GradientBenchmark {
+
+	private static final double H = 1e-6;
+
+	@Param({"5", "20", "50"})
+	public int variables;
+
+	private CompiledExpression function;
+	private CompiledExpression[] derivatives;
+	private GradientTape tape;
+	private double[] values, gradient;
+
+	@Setup
+	public void setup() {
+		String[] names = Formulas.variableNames(variables);
+		Expression expression = Expression.parse(Formulas.generateVariables(variables), true);
+		function = BytecodeCompiler.compile(expression, names);
+		Expression[] symbolic = Derivative.gradient(expression, names);
+		derivatives = new CompiledExpression[variables];
+		for(int i = 0; i < variables; i++) {
+			derivatives[i] = BytecodeCompiler.compile(symbolic[i], names);
+		}
+		tape = GradientTape.of(expression, names);
+		values = new double[variables];
+		gradient = new double[variables];
+		for(int i = 0; i < variables; i++) {
+			values[i] = i + 0.5;
+		}
+	}
+
+	@Benchmark
+	public double[] finiteDifferences() {
+		for(int i = 0; i < values.length; i++) {
+			double value = values[i];
+			values[i] = value + H;
+			double upper = function.evaluate(values);
+			values[i] = value - H;
+			double lower = function.evaluate(values);
+			values[i] = value;
+			gradient[i] = (upper - lower) / (2 * H);
+		}
+		return gradient;
+	}
+
+	@Benchmark
+	public double[] symbolic() {
+		for(int i = 0; i < derivatives.length; i++) {
+			gradient[i] = derivatives[i].evaluate(values);
+		}
+		return gradient;
+	}
+
+	@Benchmark
+	public double[] tape() {
+		tape.evaluate(values, gradient);
+		return gradient;
+	}
+
+}
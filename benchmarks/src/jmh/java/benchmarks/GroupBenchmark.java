@@ -0,0 +1,117 @@
+package benchmarks;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import parser.Expression;
+import parser.compiler.BatchEvaluator;
+import parser.compiler.BytecodeCompiler;
+import parser.compiler.CompiledExpression;
+import parser.compiler.ExpressionGroup;
+
+/**
+ * Evaluates the formulas of one element of the ui library (position, size, colors...), which share many subexpressions.
+ * Compares one compiled expression per formula with one {@link ExpressionGroup} for all of them, for a single evaluation and for a batch of rows.
+ * @author MiKa
+ * @version 1.0 (18.10.2026)
+ * @since ALPHA
+ */
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class GroupBenchmark {
+
+	private static final String[] VARIABLES = {"parentWidth", "parentHeight", "margin", "t"};
+	private static final String INNER_WIDTH = "(parentWidth - margin * 2)", INNER_HEIGHT = "(parentHeight - margin * 2)", PULSE = "(sin(t * 3) * 0.5 + 0.5)";
+	private static final String[] FORMULAS = {
+		"margin + " + INNER_WIDTH + " * 0.1",
+		"margin + " + INNER_HEIGHT + " * 0.1",
+		INNER_WIDTH + " * 0.8",
+		INNER_HEIGHT + " * 0.8",
+		"margin + " + INNER_WIDTH + " * 0.1 + " + INNER_WIDTH + " * 0.8 / 2",
+		"margin + " + INNER_HEIGHT + " * 0.1 + " + INNER_HEIGHT + " * 0.8 / 2",
+		"clamp(0, " + INNER_WIDTH + ", " + INNER_HEIGHT + ") * 0.05",
+		"clamp(0, 255, 200 + 55 * " + PULSE + ")",
+		"clamp(0, 255, 120 * " + PULSE + ")",
+		"clamp(0, 255, 60 + 30 * " + PULSE + ")",
+		"clamp(0, 1, 0.6 + 0.4 * " + PULSE + ")",
+		"root(" + INNER_WIDTH + "^2 + " + INNER_HEIGHT + "^2, 2)",
+		"atan(" + INNER_HEIGHT + " / " + INNER_WIDTH + ")",
+		INNER_WIDTH + " * 0.8 * " + PULSE,
+		INNER_HEIGHT + " * 0.8 * " + PULSE,
+		"abs(" + INNER_WIDTH + " - " + INNER_HEIGHT + ") / 2",
+		"margin * 2 + " + PULSE,
+		"(" + INNER_WIDTH + " * 0.8) / (" + INNER_HEIGHT + " * 0.8)",
+		"toDegree(t) % 360",
+		"cos(t * 3) * " + INNER_WIDTH + " * 0.02",
+	};
+	private static final int ROWS = 4096;
+	
+	private CompiledExpression[] separate;
+	private BatchEvaluator[] separateBatch;
+	private ExpressionGroup group;
+	private double[] vars, out;
+	private double[][] columns, outColumns;
+	
+	@Setup
+	public void setup() {
+		Expression[] expressions = new Expression[FORMULAS.length];
+		separate = new CompiledExpression[FORMULAS.length];
+		separateBatch = new BatchEvaluator[FORMULAS.length];
+		for(int i = 0; i < FORMULAS.length; i++) {
+			expressions[i] = Expression.parse(FORMULAS[i], true);
+			separate[i] = BytecodeCompiler.compile(expressions[i], VARIABLES);
+			separateBatch[i] = BatchEvaluator.of(expressions[i], VARIABLES);
+		}
+		group = new ExpressionGroup(expressions, VARIABLES);
+		vars = new double[] {800, 600, 12, 0.25};
+		out = new double[FORMULAS.length];
+		
+		Random random = new Random(42);
+		columns = new double[VARIABLES.length][ROWS];
+		for(double[] column : columns) {
+			for(int i = 0; i < ROWS; i++) {
+				column[i] = random.nextDouble() * 1000;
+			}
+		}
+		outColumns = new double[FORMULAS.length][ROWS];
+	}
+	
+	@Benchmark
+	public double[] separate() {
+		for(int i = 0; i < separate.length; i++) {
+			out[i] = separate[i].evaluate(vars);
+		}
+		return out;
+	}
+	
+	@Benchmark
+	public double[] group() {
+		group.evaluate(vars, out);
+		return out;
+	}
+	
+	@Benchmark
+	public double[][] separateBatch() {
+		for(int i = 0; i < separateBatch.length; i++) {
+			separateBatch[i].evaluate(columns, outColumns[i]);
+		}
+		return outColumns;
+	}
+	
+	@Benchmark
+	public double[][] groupBatch() {
+		group.evaluate(columns, outColumns);
+		return outColumns;
+	}
+	
+}
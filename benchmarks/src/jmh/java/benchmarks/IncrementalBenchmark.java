@@ -0,0 +1,79 @@
+package benchmarks;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import parser.Expression;
+import parser.compiler.IncrementalEvaluator;
+import parser.compiler.Interpreter;
+import parser.compiler.Program;
+
+/**
+ * Changes one variable per evaluation, like a formula of the ui library that is evaluated every frame while only the time changes.
+ * Compares the {@link Interpreter}, which computes the whole program, with the {@link IncrementalEvaluator}, which only computes the values that depend on the variable.
+ * MEDIUM changes t, WIDE is a chain of 256 variables of which one changes per evaluation, round robin.
+ * @author MiKa
+ * @version 1.0 (18.10.2026)
+ * @since ALPHA
+ */
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class IncrementalBenchmark {
+
+	@Param({"MEDIUM", "WIDE"})
+	public String size;
+	
+	private Interpreter interpreter;
+	private IncrementalEvaluator incremental;
+	private double[] vars;
+	private int next;
+	
+	@Setup
+	public void setup() {
+		Program program;
+		if(size.equals("WIDE")) {
+			program = Expression.parse(Formulas.generateVariables(256), true).compile(Formulas.variableNames(256));
+		}else {
+			program = Expression.parse(Formulas.MEDIUM, true).compile("t", "x");
+		}
+		interpreter = new Interpreter(program);
+		incremental = new IncrementalEvaluator(program);
+		vars = new double[program.getVariables().length];
+		Arrays.fill(vars, 1.5);
+		incremental.evaluate(vars);
+	}
+	
+	/**
+	 * Changes the next variable, so that every evaluation has something to compute.
+	 */
+	private int change() {
+		int variable = size.equals("WIDE") ? next++ & 255 : 0;
+		vars[variable] += 0.01;
+		return variable;
+	}
+	
+	@Benchmark
+	public double interpreter() {
+		change();
+		return interpreter.evaluate(vars);
+	}
+	
+	@Benchmark
+	public double incremental() {
+		int v = change();
+		incremental.set(v, vars[v]);
+		return incremental.evaluate();
+	}
+	
+}
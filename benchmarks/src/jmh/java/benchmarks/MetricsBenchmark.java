@@ -0,0 +1,56 @@
+package benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import parser.Expression;
+import parser.compiler.CompiledExpression;
+import parser.monitoring.Metrics;
+
+/**
+ * Measures the overhead of {@link Metrics} on a single evaluation: the plain compiled expression,
+ * the tracked expression while the metrics are disabled and while they are enabled.
+ * @author MiKa
+ * @version 1.0 (18.10.2026)
+ * @since ALPHA
+ */
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class MetricsBenchmark {
+
+	private CompiledExpression plain, disabled, enabled;
+	private double[] vars;
+	
+	@Setup
+	public void setup() {
+		plain = Expression.parse(Formulas.MEDIUM, true).bind("x", "y", "t");
+		disabled = new Metrics(false).track("medium", plain);
+		enabled = new Metrics(true).track("medium", plain);
+		vars = new double[] {2.5, 7, 0.25};
+	}
+	
+	@Benchmark
+	public double plain() {
+		return plain.evaluate(vars);
+	}
+	
+	@Benchmark
+	public double disabled() {
+		return disabled.evaluate(vars);
+	}
+	
+	@Benchmark
+	public double enabled() {
+		return enabled.evaluate(vars);
+	}
+	
+}
@@ -0,0 +1,55 @@
+package benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import parser.Expression;
+import parser.ParseCache;
+
+/**
+ * Measures {@link Expression#parse(String, boolean)} with and without simplification, and the same calls
+ * answered by a {@link ParseCache}.
+ * @author MiKa
+ * @version 1.0 (18.10.2026)
+ * @since ALPHA
+ */
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ParseBenchmark {
+
+	@Param({"SHORT", "MEDIUM", "LONG"})
+	public String size;
+	
+	@Param({"false", "true"})
+	public boolean simplify;
+	
+	private String formula;
+	private ParseCache cache;
+	
+	@Setup
+	public void setup() {
+		formula = Formulas.get(size);
+		cache = new ParseCache(16);
+	}
+	
+	@Benchmark
+	public Expression parse() {
+		return Expression.parse(formula, simplify);
+	}
+	
+	@Benchmark
+	public Expression parseCached() {
+		return cache.parse(formula, simplify);
+	}
+	
+}
@@ -0,0 +1,44 @@
+package benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import parser.Expression;
+
+/**
+ * Measures how the time of {@link Expression#parse(String, boolean)} grows with the number of terms in a generated formula.
+ * The time per term (score divided by terms) should stay the same for all sizes.
+ * @author MiKa
+ * @version 1.0 (18.10.2026)
+ * @since ALPHA
+ */
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ParseScalingBenchmark {
+
+	@Param({"1000", "10000", "40000"})
+	public int terms;
+	
+	private String formula;
+	
+	@Setup
+	public void setup() {
+		formula = Formulas.generate(terms);
+	}
+	
+	@Benchmark
+	public Expression parse() {
+		return Expression.parse(formula, false);
+	}
+	
+}
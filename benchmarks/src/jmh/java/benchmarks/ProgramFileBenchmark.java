@@ -0,0 +1,68 @@
+package benchmarks;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import parser.Expression;
+import parser.compiler.Program;
+import parser.compiler.ProgramFile;
+
+/**
+ * Measures the startup of a catalog of rules: parsing and compiling every rule, compared with loading the compiled
+ * programs from a {@link ProgramFile}.
+ * @author MiKa
+ * @version 1.0 (18.10.2026)
+ * @since ALPHA
+ */
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class ProgramFileBenchmark {
+
+	@Param({"20000"})
+	public int rules;
+	
+	private List<String> catalog;
+	private Path file;
+	
+	@Setup
+	public void setup() throws IOException {
+		catalog = Formulas.catalog(rules);
+		file = Files.createTempFile("rules", ".bin");
+		ProgramFile.write(file, parseAndCompile());
+	}
+	
+	@TearDown
+	public void tearDown() throws IOException {
+		Files.deleteIfExists(file);
+	}
+	
+	@Benchmark
+	public Program[] parseAndCompile() {
+		Program[] programs = new Program[catalog.size()];
+		for(int i = 0; i < programs.length; i++) {
+			programs[i] = Expression.parse(catalog.get(i), true).compile(Formulas.CATALOG_VARIABLES);
+		}
+		return programs;
+	}
+	
+	@Benchmark
+	public Program[] load() throws IOException {
+		return ProgramFile.read(file);
+	}
+	
+}
@@ -0,0 +1,55 @@
+package benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import parser.Expression;
+
+/**
+ * Renders a parsed formula into text. {@link #render()} appends the whole tree to one reused builder, {@link #cached()} calls toString() on a tree
+ * whose text has been cached, like a formula that is rendered again and again without changing.
+ * @author MiKa
+ * @version 1.0 (18.10.2026)
+ * @since ALPHA
+ */
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class RenderBenchmark {
+
+	@Param({"MEDIUM", "LONG"})
+	public String size;
+	
+	private Expression uncached, cached;
+	private StringBuilder builder;
+	
+	@Setup
+	public void setup() {
+		uncached = Expression.parse(Formulas.get(size), false);
+		cached = Expression.parse(Formulas.get(size), false);
+		cached.toString();
+		builder = new StringBuilder();
+	}
+	
+	@Benchmark
+	public StringBuilder render() {
+		builder.setLength(0);
+		uncached.appendTo(builder);
+		return builder;
+	}
+	
+	@Benchmark
+	public String cached() {
+		return cached.toString();
+	}
+	
+}
@@ -0,0 +1,61 @@
+package benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import parser.Expression;
+import parser.compiler.EvaluationContext;
+import parser.compiler.Program;
+
+/**
+ * Measures one {@link Program} that is shared by all benchmark threads, where every thread evaluates it with its own {@link EvaluationContext}.
+ * Run it with multiple threads (-t) to see how it scales.
+ * @author MiKa
+ * @version 1.0 (18.10.2026)
+ * @since ALPHA
+ */
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class SharedProgramBenchmark {
+
+	@State(Scope.Benchmark)
+	public static class Shared {
+		
+		@Param({"SHORT", "MEDIUM", "LONG"})
+		public String size;
+		
+		public Program program;
+		
+		@Setup
+		public void setup() {
+			program = Expression.parse(Formulas.get(size), true).compile("x", "y", "t");
+		}
+	}
+	
+	@State(Scope.Thread)
+	public static class Context {
+		
+		public EvaluationContext context;
+		
+		@Setup
+		public void setup(Shared shared) {
+			context = shared.program.newContext();
+			context.setVariables(2.5, 7, 0.25);
+		}
+	}
+	
+	@Benchmark
+	public double evaluate(Shared shared, Context context) {
+		return shared.program.evaluate(context.context);
+	}
+	
+}
@@ -0,0 +1,54 @@
+package benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import parser.Expression;
+import parser.optimizer.Optimizer;
+
+/**
+ * Measures {@link Expression#simplify()} and the {@link Optimizer} on freshly parsed trees.
+ * @author MiKa
+ * @version 1.0 (18.10.2026)
+ * @since ALPHA
+ */
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SimplifyBenchmark {
+
+	@Param({"SHORT", "MEDIUM", "LONG"})
+	public String size;
+	
+	private Expression expression;
+	
+	/**
+	 * Simplifying replaces the children of a tree, so every invocation needs its own tree.
+	 * Level.Invocation adds a small timing overhead, which is why the SHORT numbers should only be compared relative to each other.
+	 */
+	@Setup(Level.Invocation)
+	public void setup() {
+		expression = Expression.parse(Formulas.get(size), false);
+	}
+	
+	@Benchmark
+	public Expression simplify() {
+		return expression.simplify();
+	}
+	
+	@Benchmark
+	public Expression optimize() {
+		return Optimizer.optimize(expression);
+	}
+	
+}
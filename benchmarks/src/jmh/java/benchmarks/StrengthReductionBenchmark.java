@@ -0,0 +1,91 @@
+package benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import parser.Expression;
+import parser.compiler.BytecodeCompiler;
+import parser.compiler.CompiledExpression;
+import parser.optimizer.StrengthReducer;
+
+/**
+ * Measures a formula full of powers, roots and divisions by constants before and after {@link StrengthReducer strength reduction}.
+ * @author MiKa
+ * @version 1.0 (18.10.2026)
+ * @since ALPHA
+ */
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class StrengthReductionBenchmark {
+
+	private static final String FORMULA = "pow(x, 2) + pow(y, 3) / 3 + root(x*x + y*y, 2) + root(x - y, 3) / 7 + x^5";
+
+	private Expression original, reduced, fastMath;
+	private CompiledExpression originalCompiled, reducedCompiled, fastMathCompiled;
+	private final double[] values = {0, 2.5};
+	private int frame;
+
+	@Setup
+	public void setup() {
+		original = Expression.parse(FORMULA, false);
+		reduced = StrengthReducer.reduce(original);
+		fastMath = StrengthReducer.reduce(original, true);
+		original.setVariable("y", values[1]);
+		originalCompiled = BytecodeCompiler.compile(original, "x", "y");
+		reducedCompiled = BytecodeCompiler.compile(reduced, "x", "y");
+		fastMathCompiled = BytecodeCompiler.compile(fastMath, "x", "y");
+	}
+
+	/**
+	 * @return The next value of x, which stays in a small range so that the powers neither overflow nor become constant.
+	 */
+	private double next() {
+		return (++frame & 1023) * 0.01;
+	}
+
+	@Benchmark
+	public double original() {
+		original.setVariable("x", next());
+		return original.computeDouble();
+	}
+
+	@Benchmark
+	public double reduced() {
+		reduced.setVariable("x", next());
+		return reduced.computeDouble();
+	}
+
+	@Benchmark
+	public double fastMath() {
+		fastMath.setVariable("x", next());
+		return fastMath.computeDouble();
+	}
+
+	@Benchmark
+	public double originalCompiled() {
+		values[0] = next();
+		return originalCompiled.evaluate(values);
+	}
+
+	@Benchmark
+	public double reducedCompiled() {
+		values[0] = next();
+		return reducedCompiled.evaluate(values);
+	}
+
+	@Benchmark
+	public double fastMathCompiled() {
+		values[0] = next();
+		return fastMathCompiled.evaluate(values);
+	}
+
+}
@@ -0,0 +1,38 @@
+package benchmarks;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the benchmarks once for every thread count from 1 up to N, always with the gc profiler.
+ * Usage: <code>ThreadSweep [N] [benchmark regex]</code>. N defaults to the number of available processors.
+ * @author MiKa
+ * @version 1.0 (18.10.2026)
+ * @since ALPHA
+ */
+
+public class ThreadSweep {
+
+	public static void main(String[] args) throws RunnerException {
+		int maxThreads = args.length > 0 ? Integer.parseInt(args[0]) : Runtime.getRuntime().availableProcessors();
+		String include = args.length > 1 ? args[1] : "benchmarks\\..*Benchmark";
+		
+		// Powers of two below N, and N itself.
+		for(int threads = 1; threads <= maxThreads; threads = threads * 2 < maxThreads ? threads * 2 : (threads == maxThreads ? threads + 1 : maxThreads)) {
+			Options options = new OptionsBuilder()
+					.include(include)
+					.threads(threads)
+					.addProfiler(GCProfiler.class)
+					.forks(1)
+					.jvmArgsAppend("--add-modules=jdk.incubator.vector")
+					.warmupIterations(3)
+					.measurementIterations(5)
+					.build();
+			new Runner(options).run();
+		}
+	}
+	
+}
@@ -0,0 +1,65 @@
+package benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import parser.Expression;
+import parser.compiler.CompiledExpression;
+
+/**
+ * Measures a frame update, where every variable of a formula changes before it is evaluated again.
+ * Compares {@link Expression#setVariable(String, double)} with {@link Expression#bind(String...) bound} variables.
+ * @author MiKa
+ * @version 1.0 (18.10.2026)
+ * @since ALPHA
+ */
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class VariableBenchmark {
+
+	@Param({"5", "20"})
+	public int variables;
+	
+	private String[] names;
+	private Expression expression;
+	private CompiledExpression bound;
+	private double[] values;
+	private int frame;
+	
+	@Setup
+	public void setup() {
+		names = Formulas.variableNames(variables);
+		expression = Expression.parse(Formulas.generateVariables(variables), true);
+		bound = expression.bind(names);
+		values = new double[variables];
+	}
+	
+	@Benchmark
+	public double setVariable() {
+		frame++;
+		for(int i = 0; i < names.length; i++) {
+			expression.setVariable(names[i], frame + i);
+		}
+		return expression.computeDouble();
+	}
+	
+	@Benchmark
+	public double bound() {
+		frame++;
+		for(int i = 0; i < values.length; i++) {
+			values[i] = frame + i;
+		}
+		return bound.evaluate(values);
+	}
+	
+}
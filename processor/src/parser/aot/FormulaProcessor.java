@@ -0,0 +1,83 @@
+package parser.aot;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.TypeElement;
+import javax.tools.Diagnostic;
+
+import parser.Expression;
+import parser.compiler.JavaSourceGenerator;
+import parser.optimizer.Optimizer;
+import parser.optimizer.StrengthReducer;
+import parser.optimizer.SubexpressionEliminator;
+
+/**
+ * Compiles the {@link Formula Formulas} of every annotated type into the class <code>&lt;Type&gt;Formulas</code>, which is generated in the same package.
+ * Every formula is parsed and optimized the same way as by {@link Expression#parse(String, boolean)}, its common subexpressions are merged
+ * by a {@link SubexpressionEliminator}, and it is then turned into Java source by the
+ * {@link JavaSourceGenerator}. A formula that cannot be parsed or compiled is reported as an error on the annotated type, and no class is generated for it.
+ * <br><br>
+ * With Gradle, the processor is added with <code>annotationProcessor project(':processor')</code>.
+ * @author MiKa
+ * @version 1.0 (18.10.2026)
+ * @since ALPHA
+ */
+
+@SupportedAnnotationTypes({"parser.aot.Formula", "parser.aot.Formula.List"})
+public class FormulaProcessor extends AbstractProcessor {
+
+	@Override
+	public SourceVersion getSupportedSourceVersion() {
+		return SourceVersion.latestSupported();
+	}
+
+	@Override
+	public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment round) {
+		Set<Element> types = new LinkedHashSet<>(round.getElementsAnnotatedWith(Formula.class));
+		types.addAll(round.getElementsAnnotatedWith(Formula.List.class));
+
+		for(Element element : types) {
+			generate((TypeElement) element);
+		}
+		return true;
+	}
+
+	private void generate(TypeElement type) {
+		String packageName = processingEnv.getElementUtils().getPackageOf(type).getQualifiedName().toString();
+		String className = type.getSimpleName()+"Formulas";
+		JavaSourceGenerator generator = new JavaSourceGenerator(packageName, className);
+
+		boolean valid = true;
+		for(Formula formula : type.getAnnotationsByType(Formula.class)) {
+			try {
+				Expression expression = Expression.parse(formula.value(), false);
+				expression = StrengthReducer.reduce(Optimizer.optimize(expression), formula.fastMath());
+				expression = new SubexpressionEliminator().eliminate(expression);
+				String[] variables = formula.variables().length == 0 ? JavaSourceGenerator.variablesOf(expression) : formula.variables();
+				generator.add(formula.name(), expression, variables);
+			}catch(RuntimeException e) {
+				processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, "Formula \""+formula.name()+"\": "+e.getMessage(), type);
+				valid = false;
+			}
+		}
+		if(!valid) {
+			return;
+		}
+
+		String name = packageName.isEmpty() ? className : packageName+"."+className;
+		try(Writer writer = processingEnv.getFiler().createSourceFile(name, type).openWriter()) {
+			writer.write(generator.generate());
+		}catch(IOException e) {
+			processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, "Math parser: The class "+name+" could not be written: "+e.getMessage(), type);
+		}
+	}
+
+}
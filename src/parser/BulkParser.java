@@ -0,0 +1,219 @@
+package parser;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import parser.optimizer.SubexpressionEliminator;
+
+/**
+ * Parses many expressions at once, on all cores of a {@link ForkJoinPool}.
+ * <br><br>
+ * Equal strings are parsed only once. Every parsed expression is passed through one shared {@link SubexpressionEliminator},
+ * so that equal constants and subexpressions of constants exist only once in the whole batch, no matter in how many expressions they are used.
+ * The variables, and all nodes that depend on them, are only shared within one expression, so every expression of the batch
+ * (even if its string occurs multiple times) has its own variables, and {@link Expression#setVariable(String, Number)} on it does not change the others.
+ * The names of the variables are interned across the batch, so all variables with the same name share one string.
+ * <br><br>
+ * An expression that cannot be parsed does not stop the batch, its error is reported in the {@link Result} instead.
+ * This includes expressions that are nested too deeply (see {@link Expression#parse(String, boolean)}).
+ * <pre>
+ * BulkParser.Result result = BulkParser.parseAll(formulas, true);
+ * for(int i = 0; i < result.size(); i++) {
+ * 	if(result.getError(i) != null) {
+ * 		System.err.println("Rule "+i+": "+result.getError(i).getMessage());
+ * 	}
+ * }
+ * </pre>
+ * @author MiKa
+ * @version 1.0 (18.10.2026)
+ * @since ALPHA
+ * @see Expression#parseAll(Collection, boolean)
+ */
+
+public final class BulkParser {
+
+	/** The number of expressions that are parsed by one task. */
+	private static final int CHUNK_SIZE = 64;
+
+	private BulkParser() {}
+
+	/**
+	 * Parses all expressions on the {@link ForkJoinPool#commonPool() common pool}.
+	 * @param expressions The expressions that should be parsed.
+	 * @param simplify True if the parser should simplify the expressions, the same as in {@link Expression#parse(String, boolean)}.
+	 * @return The parsed expressions and the errors, in the order of the collection.
+	 */
+	public static Result parseAll(Collection<String> expressions, boolean simplify) {
+		return parseAll(expressions, simplify, ForkJoinPool.commonPool());
+	}
+
+	/**
+	 * Parses all expressions.
+	 * @param expressions The expressions that should be parsed.
+	 * @param simplify True if the parser should simplify the expressions, the same as in {@link Expression#parse(String, boolean)}.
+	 * @param pool The pool that parses the expressions.
+	 * @return The parsed expressions and the errors, in the order of the collection.
+	 */
+	public static Result parseAll(Collection<String> expressions, boolean simplify, ForkJoinPool pool) {
+		// Every distinct string is parsed once
+		HashMap<String, Integer> indices = new HashMap<>();
+		int[] distinct = new int[expressions.size()];
+		String[] strings = new String[expressions.size()];
+		int count = 0, i = 0;
+		for(String expression : expressions) {
+			Integer index = indices.putIfAbsent(expression, count);
+			if(index == null) {
+				index = count;
+				strings[count++] = expression;
+			}
+			distinct[i++] = index;
+		}
+
+		Expression[] parsed = new Expression[count];
+		RuntimeException[] failures = new RuntimeException[count];
+		SubexpressionEliminator eliminator = new SubexpressionEliminator();
+		pool.invoke(new Chunk(strings, simplify, new ConcurrentHashMap<>(), eliminator, parsed, failures, 0, count));
+
+		Expression[] results = new Expression[distinct.length];
+		RuntimeException[] errors = new RuntimeException[distinct.length];
+		int failed = 0;
+		boolean[] used = new boolean[count];
+		for(int j = 0; j < distinct.length; j++) {
+			Expression result = parsed[distinct[j]];
+			// Every further occurrence of a string gets its own variables
+			if(result != null && used[distinct[j]]) {
+				result = eliminator.eliminate(result, false);
+			}
+			used[distinct[j]] = true;
+			results[j] = result;
+			errors[j] = failures[distinct[j]];
+			if(errors[j] != null) {
+				failed++;
+			}
+		}
+		return new Result(results, errors, failed, eliminator.getCreatedNodes(), eliminator.getRemovedNodes());
+	}
+
+	/**
+	 * The outcome of a bulk parse.
+	 */
+	public static final class Result {
+
+		private final Expression[] expressions;
+		private final RuntimeException[] errors;
+		private final int failures;
+		private final long nodes, removedNodes;
+
+		private Result(Expression[] expressions, RuntimeException[] errors, int failures, long nodes, long removedNodes) {
+			this.expressions = expressions;
+			this.errors = errors;
+			this.failures = failures;
+			this.nodes = nodes;
+			this.removedNodes = removedNodes;
+		}
+
+		/**
+		 * @return The number of expressions in the batch.
+		 */
+		public int size() {
+			return expressions.length;
+		}
+
+		/**
+		 * @param index The index of the expression in the collection.
+		 * @return The parsed expression, or null if it could not be parsed.
+		 */
+		public Expression get(int index) {
+			return expressions[index];
+		}
+
+		/**
+		 * @param index The index of the expression in the collection.
+		 * @return The reason why the expression could not be parsed, or null if it was parsed.
+		 */
+		public RuntimeException getError(int index) {
+			return errors[index];
+		}
+
+		/**
+		 * @return All parsed expressions, in the order of the collection. Contains null for every expression that could not be parsed.
+		 */
+		public Expression[] getExpressions() {
+			return expressions.clone();
+		}
+
+		/**
+		 * @return The number of expressions that could not be parsed.
+		 */
+		public int getFailures() {
+			return failures;
+		}
+
+		/**
+		 * @return The number of distinct nodes of all expressions of the batch.
+		 */
+		public long getNodeCount() {
+			return nodes;
+		}
+
+		/**
+		 * @return The number of parsed nodes that were replaced by a shared node.
+		 */
+		public long getRemovedNodes() {
+			return removedNodes;
+		}
+
+		@Override
+		public String toString() {
+			return "BulkParser.Result[size = "+size()+", failures = "+failures+", nodes = "+nodes+", removed nodes = "+removedNodes+"]";
+		}
+
+	}
+
+	/**
+	 * A range of expressions, that is split in half until it is not larger than the chunk size.
+	 */
+	private static class Chunk extends RecursiveAction {
+		private static final long serialVersionUID = 1L;
+
+		private final String[] strings;
+		private final boolean simplify;
+		/** The canonical names of the variables of the batch. */
+		private final ConcurrentHashMap<String, String> names;
+		private final SubexpressionEliminator eliminator;
+		private final Expression[] parsed;
+		private final RuntimeException[] failures;
+		private final int from, to;
+
+		Chunk(String[] strings, boolean simplify, ConcurrentHashMap<String, String> names, SubexpressionEliminator eliminator, Expression[] parsed, RuntimeException[] failures, int from, int to) {
+			this.strings = strings;
+			this.simplify = simplify;
+			this.names = names;
+			this.eliminator = eliminator;
+			this.parsed = parsed;
+			this.failures = failures;
+			this.from = from;
+			this.to = to;
+		}
+
+		@Override
+		protected void compute() {
+			if(to - from <= CHUNK_SIZE) {
+				for(int i = from; i < to; i++) {
+					try {
+						parsed[i] = eliminator.eliminate(ExpressionParser.parse(strings[i], simplify, names), false);
+					}catch(RuntimeException e) {
+						failures[i] = e;
+					}
+				}
+			}else {
+				int middle = (from + to) >>> 1;
+				invokeAll(new Chunk(strings, simplify, names, eliminator, parsed, failures, from, middle), new Chunk(strings, simplify, names, eliminator, parsed, failures, middle, to));
+			}
+		}
+	}
+
+}
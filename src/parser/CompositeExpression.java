@@ -0,0 +1,272 @@
+package parser;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+
+/**
+ * An expression that is computed from other expressions. Caches the values that depend on its whole subtree, like its hash code and its text,
+ * and drops them as soon as a node of the subtree changes.
+ * <br><br>
+ * The children of a node are replaced in place by {@link #simplify()}, also when the node is a part of larger expressions. To find the cached values
+ * that depend on a node, every node remembers the node that has cached a value computed from it (its parent). When the children of a node change,
+ * the caches of the node and of its parents, up to the first node without caches, are dropped, so the caches of unrelated expressions stay valid.
+ * A node that is shared by multiple parents (see {@link parser.optimizer.SubexpressionEliminator}) does not know all of them:
+ * when it changes, the caches of all expressions are dropped instead (see {@link ExpressionStructure#changed()}).
+ * <br><br>
+ * A whole expression is rendered into one builder in a single pass with an explicit stack (see {@link #appendTo(StringBuilder)}), and every node that is rendered
+ * keeps its part of the text, so a node whose subtree has not changed is appended from its cache instead of being rendered again.
+ * The cached texts of all nodes of an expression are parts of the same string, so caching them does not copy the text of a subtree for every node.
+ * <br><br>
+ * Deep expressions are copied without recursion as well (see {@link ExpressionStructure#copy(Expression)}).
+ * <br><br>
+ * Subclasses must replace their children only through {@link #simplifyChild(Expression)}, or call {@link #changed()} after they did.
+ * @author MiKa
+ * @version 1.0 (18.10.2026)
+ * @since ALPHA
+ */
+
+public abstract class CompositeExpression implements Expression {
+
+	/** The parent of a node that has been cached by more than one parent. */
+	private static final Object MULTIPLE_PARENTS = new Object();
+	private static final VarHandle PARENT;
+
+	static {
+		try {
+			PARENT = MethodHandles.lookup().findVarHandle(CompositeExpression.class, "parent", Object.class);
+		}catch(ReflectiveOperationException e) {
+			throw new ExceptionInInitializerError(e);
+		}
+	}
+
+	/** The node that has cached a value computed from this node, {@link #MULTIPLE_PARENTS}, or null. */
+	private volatile Object parent;
+	/** The hash code of this expression. Also marks that the whole subtree reports its changes to this node. */
+	private int hash;
+	private volatile long hashVersion = -1;
+	/** The text of this expression, cached when it is rendered, or null. */
+	private volatile Text text;
+
+	/**
+	 * Simplifies a child of this expression, and drops the caches of this expression if the child is replaced.
+	 * @param child The child.
+	 * @return The simplified child, which should replace the child.
+	 */
+	protected final Expression simplifyChild(Expression child) {
+		Expression simplified = child.simplify();
+		if(simplified != child) {
+			changed();
+		}
+		return simplified;
+	}
+
+	/**
+	 * Drops the cached values of this expression and of all expressions that have cached values computed from it.
+	 * Must be called whenever the children of this expression change.
+	 */
+	protected final void changed() {
+		CompositeExpression node = this;
+		while(node != null) {
+			// Nothing has been cached from a node without a hash code
+			if(!node.isHashed(ExpressionStructure.version())) {
+				return;
+			}
+			node.hashVersion = -1;
+			node.text = null;
+			Object parent = PARENT.getAndSet(node, null);
+			if(parent == MULTIPLE_PARENTS) {
+				ExpressionStructure.changed();
+				return;
+			}
+			node = (CompositeExpression) parent;
+		}
+	}
+
+	/**
+	 * Remembers a node that has cached a value computed from this node.
+	 * @param node The parent.
+	 */
+	final void addParent(CompositeExpression node) {
+		Object current = parent;
+		while(current != node && current != MULTIPLE_PARENTS) {
+			if(PARENT.compareAndSet(this, current, current == null ? node : MULTIPLE_PARENTS)) {
+				return;
+			}
+			current = parent;
+		}
+	}
+
+	/**
+	 * @param version The current version of {@link ExpressionStructure}.
+	 * @return True if the hash code of this expression is cached.
+	 */
+	final boolean isHashed(long version) {
+		return hashVersion == version;
+	}
+
+	/**
+	 * @return The cached hash code, only valid if {@link #isHashed(long)}.
+	 */
+	final int getHash() {
+		return hash;
+	}
+
+	/**
+	 * @param hash The hash code of this expression.
+	 * @param version The version of {@link ExpressionStructure} the hash code has been computed in.
+	 */
+	final void setHash(int hash, long version) {
+		this.hash = hash;
+		hashVersion = version;
+	}
+
+	/**
+	 * Two expressions are equal if they are of the same type and their children are equal (see {@link ExpressionStructure#equal(Expression, Expression)}).
+	 */
+	@Override
+	public final boolean equals(Object obj) {
+		return obj instanceof Expression other && ExpressionStructure.equal(this, other);
+	}
+
+	@Override
+	public final int hashCode() {
+		if(!isHashed(ExpressionStructure.version())) {
+			ExpressionStructure.hashOf(this);
+		}
+		return hash;
+	}
+
+	/**
+	 * Copies this expression with {@link #withChildren(Expression...)} for every node, without recursion.
+	 */
+	@Override
+	public final Expression copy() {
+		return ExpressionStructure.copy(this);
+	}
+
+	/**
+	 * Appends the text of this expression that comes before one of its children, or after the last child.
+	 * The children themselves are appended by {@link #appendTo(StringBuilder)}, so that the nodes do not render their children recursively.
+	 * @param builder The builder.
+	 * @param index The index of the child that follows the text, or the number of children for the text after the last child.
+	 */
+	protected abstract void appendText(StringBuilder builder, int index);
+
+	/**
+	 * @param index The index of a child.
+	 * @return True if the child is put into brackets when it is a {@link FunctionalExpression}, like by {@link FunctionalExpression#appendOperand(StringBuilder, Expression)}.
+	 */
+	protected boolean isOperand(int index) {
+		return true;
+	}
+
+	/**
+	 * Renders this expression without recursion: the text of every node is appended by {@link #appendText(StringBuilder, int)} between its children,
+	 * and nodes with a cached text are appended from their cache. Caches the text of all nodes that had to be rendered.
+	 */
+	@Override
+	public void appendTo(StringBuilder builder) {
+		long version = ExpressionStructure.version();
+		Text cached = text;
+		if(cached != null && cached.version() == version) {
+			builder.append(cached.source(), cached.start(), cached.end());
+			return;
+		}
+		// Lets the subtree report its changes to the nodes whose text is cached
+		hashCode();
+
+		int begin = builder.length();
+		ArrayList<Rendering> rendered = new ArrayList<>();
+		// Either a node that should be rendered, or a node that is between its children
+		ArrayDeque<Object> work = new ArrayDeque<>();
+		work.push(this);
+		while(!work.isEmpty()) {
+			Object top = work.pop();
+			if(top instanceof Rendering rendering) {
+				CompositeExpression node = rendering.node;
+				Expression[] children = rendering.children;
+				int index = rendering.index;
+				if(index > 0 && isBracketed(node, children, index - 1)) {
+					builder.append(')');
+				}
+				node.appendText(builder, index);
+				if(index < children.length) {
+					rendering.index++;
+					work.push(rendering);
+					if(isBracketed(node, children, index)) {
+						builder.append('(');
+					}
+					work.push(children[index]);
+				}else {
+					rendering.end = builder.length();
+					rendered.add(rendering);
+				}
+			}else if(top instanceof CompositeExpression node) {
+				cached = node.text;
+				if(cached != null && cached.version() == version) {
+					builder.append(cached.source(), cached.start(), cached.end());
+				}else {
+					work.push(new Rendering(node, node.getChildren(), builder.length()));
+				}
+			}else {
+				((Expression) top).appendTo(builder);
+			}
+		}
+
+		String source = builder.substring(begin);
+		for(Rendering rendering : rendered) {
+			rendering.node.text = new Text(source, rendering.start - begin, rendering.end - begin, version);
+		}
+	}
+
+	private static boolean isBracketed(CompositeExpression node, Expression[] children, int index) {
+		return children[index] instanceof FunctionalExpression && node.isOperand(index);
+	}
+
+	@Override
+	public String toString() {
+		Text cached = text;
+		if(cached == null || cached.version() != ExpressionStructure.version()) {
+			StringBuilder builder = new StringBuilder();
+			appendTo(builder);
+			return builder.toString();
+		}
+		if(cached.start() != 0 || cached.end() != cached.source().length()) {
+			// The text of a node inside of a larger expression is copied once
+			String string = cached.source().substring(cached.start(), cached.end());
+			text = new Text(string, 0, string.length(), cached.version());
+			return string;
+		}
+		return cached.source();
+	}
+
+	/**
+	 * The cached text of a node: a part of the text of the expression it has been rendered in.
+	 * @param source The text of the expression.
+	 * @param start The index of the first character of the node.
+	 * @param end The index after the last character of the node.
+	 * @param version The version of {@link ExpressionStructure} the text has been rendered in.
+	 */
+	private record Text(String source, int start, int end, long version) {}
+
+	/**
+	 * A node that is being rendered.
+	 */
+	private static final class Rendering {
+		private final CompositeExpression node;
+		private final Expression[] children;
+		private final int start;
+		/** The index of the next child. */
+		private int index;
+		private int end;
+
+		private Rendering(CompositeExpression node, Expression[] children, int start) {
+			this.node = node;
+			this.children = children;
+			this.start = start;
+		}
+	}
+
+}
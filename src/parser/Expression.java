@@ -1,20 +1,36 @@
 package parser;
 
-import java.util.ArrayList;
-import java.util.Stack;
+import java.io.IOException;
+import java.util.Collection;
+import java.util.function.DoubleSupplier;
+import java.util.function.IntSupplier;
 
-import parser.functions.FunctionArgumentExpression;
-import utils.TextUtils;
+import parser.compiler.CompiledExpression;
+import parser.compiler.EvaluationContext;
+import parser.compiler.Interpreter;
+import parser.compiler.Program;
+import parser.compiler.ProgramCompiler;
+import parser.monitoring.ParseEvent;
+import parser.optimizer.Optimizer;
+import parser.optimizer.StrengthReducer;
 
 /**
  * A expression is a math equation structured as a tree. The base {@link Expression} class also
  * implements a method to {@link #parse(String, boolean) parse strings} containing math expressions.
+ * <br><br>
+ * Expressions are compared by their structure: two expressions are {@link Object#equals(Object) equal} if they
+ * are of the same type and their children are equal. Variables are equal if they have the same name.
  * @author MiKa
  * @version 1.0 (28.02.2023)
  * @since ALPHA
  */
 
-public interface Expression extends ExpressionElement{
+public interface Expression {
+
+	/**
+	 * The children of an expression that is not computed from other expressions, like a number or a variable.
+	 */
+	public static final Expression[] NO_CHILDREN = new Expression[0];
 
 	/**
 	 * Will the value of a specific variable.
@@ -23,6 +39,49 @@ public interface Expression extends ExpressionElement{
 	 */
 	public void setVariable(String name, Number number);
 	
+	/**
+	 * Will the value of a specific variable, without boxing it.
+	 * @param name The name of the variable.
+	 * @param value The value of the variable.
+	 */
+	public default void setVariable(String name, double value) {
+		for(Expression child : getChildren()) {
+			child.setVariable(name, value);
+		}
+	}
+	
+	/**
+	 * Will the value of a specific variable to a whole number. The number is passed on as an {@link Integer}, like before there was an overload for doubles,
+	 * so that {@link #getVariables()} still prints it without a fraction (<code>x = 10</code>). Use {@link #setVariable(String, double)} to avoid boxing.
+	 * @param name The name of the variable.
+	 * @param value The value of the variable.
+	 */
+	public default void setVariable(String name, int value) {
+		setVariable(name, (Number) value);
+	}
+	
+	/**
+	 * Lets a specific variable read its value from a source, every time it is computed.
+	 * @param name The name of the variable.
+	 * @param source The source of the value.
+	 */
+	public default void setVariable(String name, DoubleSupplier source) {
+		for(Expression child : getChildren()) {
+			child.setVariable(name, source);
+		}
+	}
+	
+	/**
+	 * Lets a specific variable read its value from a source, every time it is computed.
+	 * @param name The name of the variable.
+	 * @param source The source of the value.
+	 */
+	public default void setVariable(String name, IntSupplier source) {
+		for(Expression child : getChildren()) {
+			child.setVariable(name, source);
+		}
+	}
+	
 	/**
 	 * @return A string that holds all variable names and values.
 	 */
@@ -55,6 +114,27 @@ public interface Expression extends ExpressionElement{
 	 */
 	public Expression simplify();
 	
+	/**
+	 * Creates a deep copy of this expression. The copy can be changed (for example with {@link #setVariable(String, Number)}
+	 * or {@link #simplify()}) without affecting this expression. Variables keep their current values.
+	 * @return The copy of this expression.
+	 */
+	public Expression copy();
+	
+	/**
+	 * @return The expressions this expression is computed from, in the order in which they are computed.
+	 * Numbers and variables have no children. Changing the returned array does not change this expression.
+	 */
+	public Expression[] getChildren();
+	
+	/**
+	 * Creates a new expression of the same type, but computed from the given children. Only this node is
+	 * created anew, the children are used as they are. Expressions without children return themselves.
+	 * @param children The new children, in the same order as {@link #getChildren()}.
+	 * @return The new expression.
+	 */
+	public Expression withChildren(Expression... children);
+	
 	/**
 	 * @return A string that is formated to suit the {@link Text} format syntax system.
 	 */
@@ -62,6 +142,66 @@ public interface Expression extends ExpressionElement{
 		return toString();
 	}
 	
+	/**
+	 * Appends the same text as {@link #toString()} to a builder. All nodes append their text to the same builder,
+	 * so rendering a tree is a single pass that does not create a string for every node.
+	 * <br><br>
+	 * The text of every node that is rendered is cached, until the node or one of its descendants is changed by {@link #simplify()}.
+	 * A node whose text is cached appends the cached text, instead of rendering its children again (see {@link CompositeExpression}).
+	 * @param builder The builder.
+	 */
+	public default void appendTo(StringBuilder builder) {
+		builder.append(toString());
+	}
+	
+	/**
+	 * Appends the same text as {@link #toString()} to any {@link Appendable}, like a {@link java.io.Writer}.
+	 * @param out The output.
+	 * @throws IOException If the output cannot be written.
+	 * @see #appendTo(StringBuilder)
+	 */
+	public default void appendTo(Appendable out) throws IOException {
+		if(out instanceof StringBuilder builder) {
+			appendTo(builder);
+		}else {
+			StringBuilder builder = new StringBuilder();
+			appendTo(builder);
+			out.append(builder);
+		}
+	}
+	
+	/**
+	 * Appends the same text as {@link #toEngineString()} to a builder.
+	 * @param builder The builder.
+	 */
+	public default void appendEngineTo(StringBuilder builder) {
+		appendTo(builder);
+	}
+	
+	/**
+	 * Resolves the variable names to fixed slots. Instead of calling {@link #setVariable(String, Number)} for every variable
+	 * (which walks the whole tree each time), the values are then passed as a <code>double[]</code> to {@link CompiledExpression#evaluate(double[])},
+	 * where the value of a variable is at the same index as its name in names. The bound expression does not change
+	 * when this expression changes afterwards. It must not be evaluated by multiple threads at the same time.
+	 * @param names The names of all variables used in this expression.
+	 * @return The bound expression.
+	 * @throws IllegalArgumentException If this expression uses a variable that is not listed in names.
+	 */
+	public default CompiledExpression bind(String... names) {
+		return new Interpreter(ProgramCompiler.compile(this, names));
+	}
+	
+	/**
+	 * Compiles this expression into an immutable {@link Program}. Unlike the expression tree, a program can be shared between
+	 * threads: every thread evaluates it with its own {@link EvaluationContext}, that holds the values of the variables.
+	 * @param names The names of all variables used in this expression.
+	 * @return The compiled program.
+	 * @throws IllegalArgumentException If this expression uses a variable that is not listed in names.
+	 */
+	public default Program compile(String... names) {
+		return ProgramCompiler.compile(this, names);
+	}
+	
 	/**
 	 * Will parse a math expression. There are following operators and functions available:<br>
 	 * <h4>Operators:</h4>
@@ -83,389 +223,29 @@ public interface Expression extends ExpressionElement{
 	 *  <li>toDegree(a) - Convert a from radians to degree</li>
 	 *  <li>abs(a) - Returns the absolute value of a</li>
 	 *  <li>clamp(a,b,c) - Clamps c between a and b</li>
+	 *  <li>ln(a) - Returns the natural logarithm of a</li>
+	 *  <li>sign(a) - Returns -1, 0 or 1, depending on the sign of a</li>
 	 * </ul>
 	 * @param expression The expression that should be parsed.
-	 * @param simplify True if the parser should simplify everything that is not dependent on variables or resources.
+	 * @param simplify True if the parser should simplify the expression with the {@link Optimizer} and the {@link StrengthReducer} (without fast-math), which do not change any result.
 	 * @return The expression as a tree of math equations.
+	 * @throws IllegalArgumentException If the expression is empty, not a valid math expression, or if brackets, functions and negations are nested
+	 * more than {@value ExpressionParser#MAX_DEPTH} times.
+	 * @see ParseEvent
 	 */
 	public static Expression parse(String expression, boolean simplify) {
-		Expression out = null;
-		
-		// Delete all spaces, tabs and line breaks in the expression string for simplification.
-		expression = TextUtils.deleteTokens(expression, " ", System.lineSeparator(), "	");
-		
-		ExpressionIterator iterator = new ExpressionIterator(expression);
-		
-		out = parseE(iterator, simplify);
-		
-		if(out != null && simplify) {
-			out.simplify();
-		}
-		
-		return out;
+		return ExpressionParser.parse(expression, simplify, null);
 	}
 	
 	/**
-	 * Parses an expression using an {@link ExpressionIterator} to iterate over it. In a way, this method is not really parsing
-	 * the expression, but rather sorting the tokens.
-	 * @param iterator The iterator that holds the current expression tokens.
-	 * @param simplify True if the parser should simplify everything that is not dependent on variables or resources.
-	 * @return The expression as a tree of math equations.
-	 */
-	private static Expression parseE(ExpressionIterator iterator, boolean simplify) {
-		Expression out = null;
-		Stack<ExpressionElement> tokenStack = new Stack<>();
-		boolean isFunctionExpression = false;
-		
-//		System.out.println("parseE call -------------------------------------------------");
-		
-		// Loop through all tokens (a token is an operator, a number, a function or a variable)
-		while(iterator.hasNextToken() && iterator.nextToken().getType() != ExpressionToken.BRACKET_CLOSE) {
-			ExpressionToken token = iterator.currentToken();
-			
-//			System.out.println("TOKEN: "+token.toString()+"   "+isFunctionExpression);
-			
-			// If the current expression was not just closed (a closing bracket should not be part of an equation), add the token to the stack
-			if(token.getType() != ExpressionToken.BRACKET_CLOSE) {
-				
-				// If the current token suggests that a new sub part of this equation should be opened (it sees a opening bracket), open it
-				if(token.getType() == ExpressionToken.BRACKET_OPEN) {
-					tokenStack.add(parseE(iterator, simplify));
-				}else {
-					
-					// If the current token is a ",", than the current equation is a list of parameters for a function.
-					if(token.getType() == ExpressionToken.OPERATOR && token.getValue().contains(",")) {
-						isFunctionExpression = true;
-					}
-					// Save the current token
-					tokenStack.add(iterator.currentToken());
-				}
-			}
-		}
-		
-		// Convert the token stack to an array 
-		ExpressionElement[] tokens = tokenStack.toArray(new ExpressionElement[tokenStack.size()]);
-		
-		// If the current token array is a list of arguments for a function, the parser has to compute all parameters split from each other (as "," is not a real math operator)
-		if(isFunctionExpression) {
-			ArrayList<Expression> expressionList = new ArrayList<>();
-			
-			ArrayList<ExpressionElement> tokenSublist = new ArrayList<>();
-			
-			// Loop through all tokens and build separate equations separated by the "," operator.
-			for(int i = 0; i < tokens.length; i++) {
-				
-				if(tokens[i] instanceof ExpressionToken && ((ExpressionToken)tokens[i]).getValue().contains(",")) {
-					expressionList.add(convertTokensToExpression(tokenSublist.toArray(new ExpressionElement[tokenSublist.size()]), simplify));
-					tokenSublist.clear();
-				}else {
-					tokenSublist.add(tokens[i]);
-				}
-				
-			}
-			expressionList.add(convertTokensToExpression(tokenSublist.toArray(new ExpressionElement[tokenSublist.size()]), simplify));
-			
-			out = new FunctionArgumentExpression(expressionList.toArray(new Expression[expressionList.size()]));
-		
-		}else {
-			
-			// If the current tokens are not just a list of arguments, it can be parsed all together.
-			out = convertTokensToExpression(tokens, simplify);
-			
-		}
-		
-//		System.out.println("Exit parseE > result: "+out.toString()+"-----------------------------------------");
-		return out;
-	}
-	
-	/**
-	 * Converts an array of tokens into a expression. This method is where the real parsing happens.
-	 * @param tokens The tokens that should be parsed into a math expression.
-	 * @param simplify True if the parser should simplify everything that is not dependent on variables or resources.
-	 * @return The expression as a tree of math equations.
+	 * Parses many expressions in parallel. Equal constants and subexpressions of constants are shared by all expressions of the batch,
+	 * and expressions that cannot be parsed do not stop the batch. See {@link BulkParser} for details.
+	 * @param expressions The expressions that should be parsed.
+	 * @param simplify True if the parser should simplify the expressions.
+	 * @return The parsed expressions and the errors, in the order of the collection.
 	 */
-	private static Expression convertTokensToExpression(ExpressionElement[] tokens, boolean simplify) {
-		Expression out = null;
-//		System.out.println("Converter start >>>>>>>>>>>>>>>>>>>>>>>>>>>>>>>>>>>>>>>>>>>>>>>>>>>>>>>>>>>>>>>>>>>>>>>>>>>");
-		// If there is only one token, it can be directly parsed without other rules.
-		if(tokens.length == 1) {
-			
-			if(tokens[0] instanceof ExpressionToken) {
-				out = ((ExpressionToken)tokens[0]).toExpression();
-			}else {
-				out = (Expression)tokens[0];
-			}
-			
-		// If there are only two tokens, there are two destinct cases that have to be handled seperatly
-		}else if(tokens.length == 2){
-			
-			// First it should be tested, if the first token is a expression or not. If its not, something went wrong.
-			if(tokens[0] instanceof ExpressionToken) {
-				
-				ExpressionToken token = (ExpressionToken) tokens[0];
-				
-				// Second, it is checked if the first token is a function. The second token must be the arguments then
-				if(token.getType() == ExpressionToken.FUNCTION) {
-					
-					out = token.toExpression(tokens[1].toExpression()); 
-					
-				// If the first token is a negate symbol, the second token should be negated.
-				}else if(token.getValue().contains("-")) {
-					
-					out = new NegateExpression(tokens[1].toExpression());
-					
-				}else {
-					System.err.println("Math parser: Operand \"-\" expected, but got \""+token.getValue()+"\" instead!");
-				}
-				
-			}
-			
-		// If there are more than 2 tokens, the complex task of parsing the tokens begins.
-		}else {
-			
-			ArrayList<ExpressionElement> elements = new ArrayList<>();
-			
-			// First, the alogrithm sweeps over the tokens, resolving every function token it finds, so that no argument list token 
-			//is left over and every function token can be treated as one expression.
-			for(int i = 0; i < tokens.length; i++) {
-				
-				ExpressionElement current = tokens[i];
-				
-				if(current instanceof ExpressionToken) {
-						
-					ExpressionToken token = (ExpressionToken) current;
-					if(token.getType() == ExpressionToken.FUNCTION){
-						
-						if(i < tokens.length-1) {
-//							System.out.println("Function:"+token.toString()+"    "+token.getType()+"    "+tokens[i+1].toString());
-							elements.add(token.toExpression(tokens[i+1].toExpression()));
-							i++;
-						
-						}else {
-							System.err.println("Math parser: Wrong operator in function argument list (after \""+token.toString()+"\")!");
-						}
-						
-					}else {
-						elements.add(token);
-					}
-					
-				}else {
-					elements.add(current);
-				}
-			}
-			
-			// As a second step, all power ("^") operators should be resolved. For that, loop over
-			// all tokens and replace all value operator value triplet with the resulting expression
-			// that summarizes the three tokens.
-			int p = 0;
-			while(p < elements.size()) {
-				
-				ExpressionElement current = elements.get(p);
-				
-				if(current instanceof ExpressionToken) {
-					
-					ExpressionToken token = (ExpressionToken) current;
-					
-					if(token.getType() == ExpressionToken.OPERATOR && token.getValue().contains("^")) {
-						
-						if(p != 0 && p != elements.size()-1) {
-							
-							ExpressionElement left = elements.get(p-1);
-							ExpressionElement right = elements.get(p+1);
-							
-							elements.remove(p-1);
-							elements.remove(p-1);
-							elements.remove(p-1);
-							
-							elements.add(p-1, token.toExpression(left.toExpression(), right.toExpression()));
-							
-							p--;
-						}else {
-							System.err.println("Math parser: Operator \""+token.getValue()+"\" is misplaced!");
-						}
-						
-					}
-				}
-				
-				p++;
-				
-			}
-			
-			p = 0;
-			// Next, the multiplications, divisions and mod operators should be resolved. The technique is the
-			// same as above where the pow operators get resolved, but this time, the algorithm also looks for 
-			// negate symbols before the values, as this is important for the result of some equations.
-			while(p < elements.size()) {
-				
-				ExpressionElement current = elements.get(p);
-				
-				if(current instanceof ExpressionToken) {
-					
-					ExpressionToken token = (ExpressionToken) current;
-					
-					if(token.getType() == ExpressionToken.OPERATOR && !(token.getValue().contains("+") || token.getValue().contains("-"))) {
-						if(p != 0 && p != elements.size()-1) {
-							
-							int replaceBegin = p-1, replaceLenght = 3;
-							
-							ExpressionElement left = elements.get(p-1);
-							ExpressionElement right = elements.get(p+1);
-							
-							if(p > 1 && elements.get(p-2) instanceof ExpressionToken && ((ExpressionToken)elements.get(p-2)).getValue().equals("-") && (p == 2 && !(elements.get(p-3) instanceof ExpressionToken && ((ExpressionToken)elements.get(p-3)).getType() != ExpressionToken.OPERATOR))) {
-								left = new NegateExpression(elements.get(p-1).toExpression());
-								replaceBegin -= 1;
-								replaceLenght += 1;
-							}
-							
-							if(p < elements.size()-1) {
-								if(elements.get(p+1) instanceof ExpressionToken && ((ExpressionToken)elements.get(p+1)).getValue().equals("-") && p < elements.size()-2) {
-									right = new NegateExpression(elements.get(p+2).toExpression());
-									replaceLenght += 1;
-								}else {
-									replaceLenght += 1;
-								}
-							}
-							
-							for(int i = replaceBegin; i < replaceBegin + replaceLenght - 1; i++) {
-								elements.remove(replaceBegin);
-							}
-							
-							elements.add(replaceBegin, token.toExpression(left.toExpression(), right.toExpression()));
-							
-							p = replaceBegin;
-						}else {
-							System.err.println("Math parser: Operator \""+token.getValue()+"\" is misplaced!");
-						}
-					}
-				}
-				
-				p++;
-			}
-			
-			//Convert the dynamic token array created by sweeping over it and clearing functions while resolving other operators.
-			tokens = elements.toArray(new ExpressionElement[elements.size()]);
-			
-//			System.out.println("Token count: "+tokens.length);
-//			for(int i = 0; i < tokens.length; i++) {
-//				System.out.println(tokens[i].toString());
-//			}
-			
-			// If there is now only one token left (for example, when everything could be summarized in one functional expression,
-			// the output should be that token than.
-			if(tokens.length == 1) {
-				
-				out = tokens[0].toExpression();
-				
-			// If not, another look is running over all tokens.
-			}else {
-			
-				Expression leftExpression = null;
-				ExpressionElement left = null, operator = null, additionalR = null, additionalL = null, right = null;
-				
-				// In this loop, the parser collects all tokens until it ran into a left token, an operator and a right token.
-				for(int i = 0; i < tokens.length; i++) {
-					
-					ExpressionElement current = tokens[i];
-					
-					// If it finds a undefined token on the way, it will skip it. This could result in errors in the final expression.
-					if(current instanceof ExpressionToken) {
-						ExpressionToken token = (ExpressionToken) current;
-						if(token.getType() == ExpressionToken.UNDEFINED) {
-							
-							System.err.println("Math parser: Token \""+token.toString()+"\" is undefined and cannot be parsed! It will be skipped.");
-							continue;
-							
-						}
-					}
-					
-					// The first token could be a negate symbol. If it is, save this information to negate the left side of the first expression.
-					if(i == 0 && additionalL == null && current instanceof ExpressionToken && ((ExpressionToken)current).getType() == ExpressionToken.OPERATOR) {
-	
-						ExpressionToken token = (ExpressionToken) current;
-	
-						if(token.getValue().contains("-")) {
-	
-							additionalL = token;
-	
-						}else {
-							System.err.println("Math parser: Operand \"-\" expected, but got \""+token.getValue()+"\" instead!");
-						}
-					
-					// If there is no left side of the expression yet, it shall now be set.
-					}else if(left == null) {
-						
-						if(additionalL != null) {
-							left = new NegateExpression(current.toExpression());
-							additionalL = null;
-						}else {
-							left = current;
-						}
-						
-					// The operator should be directly after the left token and should therefore be set next.
-					}else if(operator == null) {
-						
-						if(current instanceof ExpressionToken && ((ExpressionToken)current).getType() == ExpressionToken.OPERATOR) {
-							
-							operator = (ExpressionToken)current;
-							
-						}else {
-							System.err.println("Math parser: Operand expected, but got \""+current.toString()+"\" instead!");
-						}
-						
-					// After the operator, there could be a negate token before the right side token. If there is, save this information to negate the right token afterwards.
-					}else if(additionalR == null && right == null && current instanceof ExpressionToken && ((ExpressionToken)current).getType() == ExpressionToken.OPERATOR) {
-						
-						ExpressionToken token = (ExpressionToken) current;
-						
-						if(token.getValue().contains("-")) {
-							
-							additionalR = token;
-							
-						}else {
-							System.err.println("Math parser: Operand \"-\" expected, but got \""+token.getValue()+"\" instead!");
-						}
-						
-					// If there is no right token yet, it should be set.
-					}else if(right == null) {
-						
-						if(additionalR != null) {
-							right = new NegateExpression(current.toExpression());
-						}else {
-							right = current;
-						}
-						
-					}
-	
-					// If at least a left token, an operator, and a right token has been found, the operator can now be used to build an expression.
-					if(left != null && right != null && operator != null){
-						
-						// This expression is then saved as the new left token, as you go from left to right to solve an equation.
-						leftExpression = ((ExpressionToken)operator).toExpression(left.toExpression(), right.toExpression());
-						
-						left = leftExpression;
-
-						// After the expression is built,the right side, and the operator (as well as the right negate info) is reset.
-						additionalR = null;
-						operator = null;
-						right = null;
-						
-					}
-					
-				}
-				
-				// Finally the output should equal the final expression that was created by the loop.
-				out = leftExpression;
-				
-			}
-			
-		}
-		
-		if(out != null && simplify) {
-			out.simplify();
-		}
-
-//		System.out.println("Converter end >>>>>>>>>>>>>>>>>>>>>>>>>>>>>>>>>>>>>>>>>>>>>>>>>>>>>>>>>>>>>>>>>>>>>>>>>>>");
-		return out;
+	public static BulkParser.Result parseAll(Collection<String> expressions, boolean simplify) {
+		return BulkParser.parseAll(expressions, simplify);
 	}
 	
 }
@@ -0,0 +1,328 @@
+package parser;
+
+import java.util.Arrays;
+
+/**
+ * The {@link ExpressionLexer} splits a raw expression into tokens in a single pass over its characters. Instead of
+ * creating an object or a string for every token, the lexer only remembers the type and the position (start and end index)
+ * of the current token. Numbers are converted directly while they are read.
+ * <br><br>
+ * Like the parser always did, whitespaces are ignored completely, also within numbers and names: <code>"1 2"</code> is 12, and <code>"si n(x)"</code> is sin(x).
+ * They are removed once when the lexer is created, and the positions of the tokens still refer to the original expression.
+ * <br><br>
+ * Every character is classified using a lookup table, so finding the end of a token never requires any string comparisons.
+ * @author MiKa
+ * @version 1.0 (18.10.2026)
+ * @since ALPHA
+ * @see Expression#parse(String, boolean)
+ */
+
+final class ExpressionLexer {
+	
+	/** The types of tokens. */
+	public static final int UNDEFINED = -1, NUMBER = 0, BRACKET_OPEN = 1, BRACKET_CLOSE = 2, FUNCTION = 3, OPERATOR = 4, VARIABLE = 5, END = 6;
+	
+	/** All function names. The index of a name is the value returned by {@link #getFunction()}. */
+	static final String[] FUNCTIONS = {"sin", "cos", "tan", "asin", "acos", "atan", "abs", "root", "mod", "pow", "clamp", "toRadians", "toDegree", "ln", "sign"};
+	
+	public static final int SIN = 0, COS = 1, TAN = 2, ASIN = 3, ACOS = 4, ATAN = 5, ABS = 6, ROOT = 7, MOD = 8, POW = 9, CLAMP = 10, RADIANS = 11, DEGREES = 12, LN = 13, SIGN = 14;
+	
+	/** The classes of characters. Every character that is not listed in the table is part of a variable name. */
+	private static final byte IDENTIFIER = 0, WHITESPACE = 1, DIGIT = 2, DOT = 3, OPERATOR_CHAR = 4, OPEN = 5, CLOSE = 6;
+	
+	private static final byte[] CLASSES = new byte[128];
+	
+	/** Powers of ten that can be represented exactly as a double. */
+	private static final double[] POWERS_OF_TEN = new double[23];
+	
+	static {
+		for(char c : " \t\n\r\f".toCharArray()) {
+			CLASSES[c] = WHITESPACE;
+		}
+		for(char c = '0'; c <= '9'; c++) {
+			CLASSES[c] = DIGIT;
+		}
+		for(char c : "+-*/^%,".toCharArray()) {
+			CLASSES[c] = OPERATOR_CHAR;
+		}
+		CLASSES['.'] = DOT;
+		CLASSES['('] = OPEN;
+		CLASSES[')'] = CLOSE;
+		
+		POWERS_OF_TEN[0] = 1;
+		for(int i = 1; i < POWERS_OF_TEN.length; i++) {
+			POWERS_OF_TEN[i] = POWERS_OF_TEN[i-1] * 10;
+		}
+	}
+	
+	private final char[] chars;
+	/** The index in the original expression of every character, and of the end. Null if the expression has no whitespaces. */
+	private final int[] positions;
+	private int pointer;
+	
+	private int type = UNDEFINED, start, end;
+	private double number;
+	private boolean integer;
+	private int function;
+	private int tokens;
+	
+	public ExpressionLexer(String expression) {
+		char[] chars = expression.toCharArray();
+		int length = 0;
+		int[] positions = null;
+		for(int i = 0; i < chars.length; i++) {
+			if(isWhitespace(chars[i])) {
+				if(positions == null) {
+					positions = new int[chars.length + 1];
+					for(int k = 0; k < i; k++) {
+						positions[k] = k;
+					}
+				}
+			}else {
+				if(positions != null) {
+					positions[length] = i;
+				}
+				chars[length++] = chars[i];
+			}
+		}
+		if(positions != null) {
+			positions[length] = chars.length;
+		}
+		
+		this.chars = length == chars.length ? chars : Arrays.copyOf(chars, length);
+		this.positions = positions;
+	}
+	
+	/**
+	 * @param c A character.
+	 * @return True if the character is a whitespace, that is ignored by the lexer.
+	 */
+	static boolean isWhitespace(char c) {
+		return classOf(c) == WHITESPACE;
+	}
+	
+	/**
+	 * @return True if there is another token left. Whitespaces at the end of the expression are not a token.
+	 */
+	public boolean hasNext() {
+		return pointer < chars.length;
+	}
+	
+	/**
+	 * Reads the next token.
+	 * @return The type of the token, {@link #END} if there are no tokens left.
+	 */
+	public int next() {
+		start = pointer;
+		
+		if(pointer >= chars.length) {
+			end = pointer;
+			return type = END;
+		}
+		
+		char c = chars[pointer];
+		switch(classOf(c)) {
+			case DIGIT -> readNumber();
+			case DOT -> {
+				if(pointer + 1 < chars.length && classOf(chars[pointer + 1]) == DIGIT) {
+					readNumber();
+				}else {
+					pointer++;
+					type = UNDEFINED;
+				}
+			}
+			case OPERATOR_CHAR -> {
+				pointer++;
+				type = OPERATOR;
+			}
+			case OPEN -> {
+				pointer++;
+				type = BRACKET_OPEN;
+			}
+			case CLOSE -> {
+				pointer++;
+				type = BRACKET_CLOSE;
+			}
+			default -> readIdentifier();
+		}
+		
+		end = pointer;
+		tokens++;
+		return type;
+	}
+	
+	/**
+	 * Reads a variable or a function name. The name is a function if it is one of the {@link #FUNCTIONS} and followed by an opening bracket.
+	 */
+	private void readIdentifier() {
+		pointer++;
+		while(pointer < chars.length) {
+			byte c = classOf(chars[pointer]);
+			if(c != IDENTIFIER && c != DIGIT && c != DOT) {
+				break;
+			}
+			pointer++;
+		}
+		
+		function = pointer < chars.length && chars[pointer] == '(' ? findFunction(start, pointer) : -1;
+		type = function < 0 ? VARIABLE : FUNCTION;
+	}
+	
+	private int findFunction(int from, int to) {
+		for(int f = 0; f < FUNCTIONS.length; f++) {
+			String name = FUNCTIONS[f];
+			if(name.length() != to - from) {
+				continue;
+			}
+			int i = 0;
+			while(i < name.length() && name.charAt(i) == chars[from + i]) {
+				i++;
+			}
+			if(i == name.length()) {
+				return f;
+			}
+		}
+		return -1;
+	}
+	
+	/**
+	 * Reads a number like <code>12</code>, <code>0.5</code>, <code>.5</code> or <code>1.5e-3</code>. The digits are collected in a long,
+	 * and as long as the number fits into the 53 bit mantissa of a double and the exponent is small, the value is computed exactly
+	 * without creating a string. Any other numbers are converted by {@link Double#parseDouble(String)}.
+	 */
+	private void readNumber() {
+		long mantissa = 0;
+		int digits = 0, exponent = 0;
+		boolean decimal = false;
+		
+		while(pointer < chars.length) {
+			char c = chars[pointer];
+			if(c >= '0' && c <= '9') {
+				if(digits < 18) {
+					mantissa = mantissa * 10 + (c - '0');
+					if(mantissa != 0) {
+						digits++;
+					}
+					if(decimal) {
+						exponent--;
+					}
+				}else {
+					// Digits that do not fit into the long anymore only change the exponent.
+					digits++;
+					if(!decimal) {
+						exponent++;
+					}
+				}
+			}else if(c == '.' && !decimal) {
+				decimal = true;
+			}else {
+				break;
+			}
+			pointer++;
+		}
+		
+		boolean hasExponent = false;
+		if(pointer < chars.length && (chars[pointer] == 'e' || chars[pointer] == 'E')) {
+			int p = pointer + 1;
+			boolean negative = false;
+			if(p < chars.length && (chars[p] == '+' || chars[p] == '-')) {
+				negative = chars[p] == '-';
+				p++;
+			}
+			
+			// Only an "e" that is followed by digits is part of the number. Otherwise it is the start of a variable (2e = 2*e is not supported though).
+			if(p < chars.length && chars[p] >= '0' && chars[p] <= '9') {
+				hasExponent = true;
+				int value = 0;
+				while(p < chars.length && chars[p] >= '0' && chars[p] <= '9') {
+					if(value < 100000) {
+						value = value * 10 + (chars[p] - '0');
+					}
+					p++;
+				}
+				exponent += negative ? -value : value;
+				pointer = p;
+			}
+		}
+		
+		type = NUMBER;
+		integer = !decimal && !hasExponent && mantissa <= Integer.MAX_VALUE && digits <= 10;
+		
+		if(digits <= 15 && exponent >= -22 && exponent <= 22) {
+			number = exponent < 0 ? mantissa / POWERS_OF_TEN[-exponent] : mantissa * POWERS_OF_TEN[exponent];
+		}else {
+			number = Double.parseDouble(new String(chars, start, pointer - start));
+		}
+	}
+	
+	private static byte classOf(char c) {
+		return c < 128 ? CLASSES[c] : IDENTIFIER;
+	}
+	
+	/**
+	 * @return The number of tokens that have been read so far, not counting {@link #END}.
+	 */
+	public int getTokenCount() {
+		return tokens;
+	}
+	
+	/**
+	 * @return The type of the current token.
+	 */
+	public int getType() {
+		return type;
+	}
+	
+	/**
+	 * @return The index of the first character of the current token in the original expression.
+	 */
+	public int getStart() {
+		return positions == null ? start : positions[start];
+	}
+	
+	/**
+	 * @return The index after the last character of the current token in the original expression.
+	 */
+	public int getEnd() {
+		if(positions == null) {
+			return end;
+		}
+		return end == start ? positions[start] : positions[end - 1] + 1;
+	}
+	
+	/**
+	 * @return The first character of the current token. For operators, this is the operator itself.
+	 */
+	public char getOperator() {
+		return chars[start];
+	}
+	
+	/**
+	 * @return The value of the current token, if it is a {@link #NUMBER}.
+	 */
+	public double getNumber() {
+		return number;
+	}
+	
+	/**
+	 * @return True if the current {@link #NUMBER} was written without a decimal point or exponent, and fits into an int.
+	 */
+	public boolean isInteger() {
+		return integer;
+	}
+	
+	/**
+	 * @return The index of the function in {@link #FUNCTIONS}, if the current token is a {@link #FUNCTION}.
+	 */
+	public int getFunction() {
+		return function;
+	}
+	
+	/**
+	 * @return The text of the current token, without whitespaces. Creates a new string, so it should only be used for variable names and error messages.
+	 */
+	public String getText() {
+		return new String(chars, start, end - start);
+	}
+	
+}
@@ -0,0 +1,299 @@
+package parser;
+
+import java.util.ArrayList;
+import java.util.Map;
+
+import parser.functions.AbsExpression;
+import parser.functions.ArcCosExpression;
+import parser.functions.ArcSinExpression;
+import parser.functions.ArcTanExpression;
+import parser.functions.ClampExpression;
+import parser.functions.CosExpression;
+import parser.functions.DegreeExpression;
+import parser.functions.LogExpression;
+import parser.functions.ModExpression;
+import parser.functions.PowExpression;
+import parser.functions.RadianExpression;
+import parser.functions.SignExpression;
+import parser.functions.SinExpression;
+import parser.functions.SqrtExpression;
+import parser.functions.TanExpression;
+import parser.monitoring.ParseEvent;
+import parser.optimizer.Optimizer;
+import parser.optimizer.StrengthReducer;
+
+/**
+ * A precedence climbing parser, that builds the expression tree in a single pass over the tokens of an {@link ExpressionLexer}.
+ * Every token is looked at exactly once, so the time needed to parse an expression grows linearly with its length.
+ * <br><br>
+ * The operators are resolved in the following order (from the strongest to the weakest binding):
+ * <ol>
+ * 	<li>^ - Is evaluated from left to right, so 2^3^2 = (2^3)^2</li>
+ * 	<li>- (negation)</li>
+ * 	<li>*, / and %</li>
+ * 	<li>+ and -</li>
+ * </ol>
+ * Brackets, function arguments and negations are parsed recursively, so they may be nested at most {@value #MAX_DEPTH} times.
+ * Deeper expressions are rejected, before they could overflow the stack of the parsing thread.
+ * @author MiKa
+ * @version 1.0 (18.10.2026)
+ * @since ALPHA
+ * @see Expression#parse(String, boolean)
+ */
+
+final class ExpressionParser {
+	
+	private static final int SUM = 1, PRODUCT = 2, POWER = 3;
+	
+	/** The maximum number of nested brackets, function calls and negations. */
+	public static final int MAX_DEPTH = 256;
+	
+	/** The number of arguments of every function in {@link ExpressionLexer#FUNCTIONS}. */
+	private static final int[] ARGUMENTS = {1, 1, 1, 1, 1, 1, 1, 2, 2, 2, 3, 1, 1, 1, 1};
+	
+	private final String expression;
+	private final ExpressionLexer lexer;
+	/** The canonical names of the variables, or null if the names are not interned. */
+	private final Map<String, String> names;
+	
+	/** The type of the token that has been read, but not yet consumed. */
+	private int type;
+	/** The number of brackets, function calls and negations around the current token. */
+	private int depth;
+	
+	/**
+	 * @param expression The expression that should be parsed.
+	 * @param names The canonical names of the variables, which may be shared by multiple parsers (see {@link BulkParser}), or null.
+	 * The variables of the expression use the names of the map, and new names are added to it. Must be thread-safe if it is shared between threads.
+	 */
+	public ExpressionParser(String expression, Map<String, String> names) {
+		this.expression = expression;
+		this.lexer = new ExpressionLexer(expression);
+		this.names = names;
+	}
+	
+	/**
+	 * Parses an expression and reports a {@link ParseEvent}, see {@link Expression#parse(String, boolean)}.
+	 * @param expression The expression that should be parsed.
+	 * @param simplify True if the parser should simplify the expression.
+	 * @param names The canonical names of the variables, or null if the names should not be interned (see {@link #ExpressionParser(String, Map)}).
+	 * @return The expression as a tree of math equations.
+	 * @throws IllegalArgumentException If the expression is empty, not a valid math expression or nested too deeply.
+	 */
+	static Expression parse(String expression, boolean simplify, Map<String, String> names) {
+		ParseEvent event = new ParseEvent();
+		event.begin();
+		
+		ExpressionParser parser = new ExpressionParser(expression, names);
+		Expression parsed = parser.parse(), out = parsed;
+		
+		if(simplify) {
+			out = StrengthReducer.reduce(Optimizer.optimize(out));
+		}
+		
+		event.end();
+		if(event.shouldCommit()) {
+			event.inputLength = expression.length();
+			event.tokens = parser.getTokenCount();
+			// The simplification does not change the parsed tree, it reports its own events
+			event.nodes = Optimizer.countNodes(parsed);
+			event.simplified = simplify;
+			event.commit();
+		}
+		return out;
+	}
+	
+	/**
+	 * Parses the whole expression.
+	 * @return The expression as a tree of math equations.
+	 * @throws IllegalArgumentException If the expression is empty, not a valid math expression or nested too deeply.
+	 */
+	public Expression parse() {
+		type = lexer.next();
+		if(type == ExpressionLexer.END) {
+			throw error("Expression is empty");
+		}
+		
+		Expression out = parseExpression(SUM);
+		
+		if(type != ExpressionLexer.END) {
+			throw error(type == ExpressionLexer.BRACKET_CLOSE ? "Unexpected \")\"" : "Operator expected, but got \""+lexer.getText()+"\"");
+		}
+		return out;
+	}
+	
+	/**
+	 * @return The number of tokens that have been read.
+	 */
+	public int getTokenCount() {
+		return lexer.getTokenCount();
+	}
+	
+	/**
+	 * Parses a chain of operators that bind at least as strong as the given precedence.
+	 * @param precedence The minimum precedence of the operators in this chain.
+	 * @return The parsed expression.
+	 */
+	private Expression parseExpression(int precedence) {
+		Expression left = parseOperand(precedence);
+		
+		while(type == ExpressionLexer.OPERATOR) {
+			char operator = lexer.getOperator();
+			int operatorPrecedence = precedenceOf(operator);
+			
+			if(operatorPrecedence < precedence) {
+				break;
+			}
+			
+			type = lexer.next();
+			// All operators are left associative, so the right side may only contain operators that bind stronger.
+			Expression right = parseExpression(operatorPrecedence + 1);
+			
+			left = switch(operator) {
+				case '+' -> new AddExpression(left, right);
+				case '-' -> new SubExpression(left, right);
+				case '*' -> new MulExpression(left, right);
+				case '/' -> new DivExpression(left, right);
+				case '%' -> new ModExpression(left, right);
+				default -> new PowExpression(left, right);
+			};
+		}
+		
+		return left;
+	}
+	
+	/**
+	 * Parses a single operand, including a leading negation.
+	 * @param precedence The precedence of the operator in front of the operand.
+	 * @return The parsed operand.
+	 */
+	private Expression parseOperand(int precedence) {
+		if(type == ExpressionLexer.OPERATOR && lexer.getOperator() == '-') {
+			type = lexer.next();
+			enter();
+			// The negation binds weaker than ^ (-x^2 = -(x^2)), but stronger than any other operator.
+			Expression out = new NegateExpression(parseExpression(Math.max(precedence, POWER)));
+			depth--;
+			return out;
+		}
+		
+		return parsePrimary();
+	}
+	
+	/**
+	 * Parses a number, a variable, a function or a term in brackets.
+	 * @return The parsed expression.
+	 */
+	private Expression parsePrimary() {
+		Expression out;
+		
+		switch(type) {
+			case ExpressionLexer.NUMBER -> {
+				out = lexer.isInteger() ? new NumberExpression((int) lexer.getNumber()) : new NumberExpression(lexer.getNumber());
+				type = lexer.next();
+			}
+			case ExpressionLexer.VARIABLE -> {
+				String name = lexer.getText();
+				out = new VariableExpression(names == null ? name : names.computeIfAbsent(name, key -> key));
+				type = lexer.next();
+			}
+			case ExpressionLexer.FUNCTION -> {
+				int function = lexer.getFunction();
+				type = lexer.next();
+				out = parseFunction(function);
+			}
+			case ExpressionLexer.BRACKET_OPEN -> {
+				type = lexer.next();
+				enter();
+				out = parseExpression(SUM);
+				expect(ExpressionLexer.BRACKET_CLOSE, "\")\"");
+				depth--;
+			}
+			case ExpressionLexer.END -> throw error("Unexpected end of the expression");
+			default -> throw error("Operand expected, but got \""+lexer.getText()+"\"");
+		}
+		
+		return out;
+	}
+	
+	/**
+	 * Parses the argument list of a function. The lexer only reports a function if its name is followed by an opening bracket.
+	 * @param function The index of the function in {@link ExpressionLexer#FUNCTIONS}.
+	 * @return The function expression.
+	 */
+	private Expression parseFunction(int function) {
+		expect(ExpressionLexer.BRACKET_OPEN, "\"(\"");
+		enter();
+		
+		ArrayList<Expression> args = new ArrayList<>(ARGUMENTS[function]);
+		args.add(parseExpression(SUM));
+		while(type == ExpressionLexer.OPERATOR && lexer.getOperator() == ',') {
+			type = lexer.next();
+			args.add(parseExpression(SUM));
+		}
+		expect(ExpressionLexer.BRACKET_CLOSE, "\")\"");
+		depth--;
+		
+		if(args.size() != ARGUMENTS[function]) {
+			throw error("Function \""+ExpressionLexer.FUNCTIONS[function]+"\" expects "+ARGUMENTS[function]+" argument(s), but got "+args.size());
+		}
+		
+		return switch(function) {
+			case ExpressionLexer.SIN -> new SinExpression(args.get(0));
+			case ExpressionLexer.COS -> new CosExpression(args.get(0));
+			case ExpressionLexer.TAN -> new TanExpression(args.get(0));
+			case ExpressionLexer.ASIN -> new ArcSinExpression(args.get(0));
+			case ExpressionLexer.ACOS -> new ArcCosExpression(args.get(0));
+			case ExpressionLexer.ATAN -> new ArcTanExpression(args.get(0));
+			case ExpressionLexer.ABS -> new AbsExpression(args.get(0));
+			case ExpressionLexer.ROOT -> new SqrtExpression(args.get(0), args.get(1));
+			case ExpressionLexer.MOD -> new ModExpression(args.get(0), args.get(1));
+			case ExpressionLexer.POW -> new PowExpression(args.get(0), args.get(1));
+			case ExpressionLexer.CLAMP -> new ClampExpression(args.get(0), args.get(1), args.get(2));
+			case ExpressionLexer.RADIANS -> new RadianExpression(args.get(0));
+			case ExpressionLexer.LN -> new LogExpression(args.get(0));
+			case ExpressionLexer.SIGN -> new SignExpression(args.get(0));
+			default -> new DegreeExpression(args.get(0));
+		};
+	}
+	
+	/**
+	 * Consumes the current token if it has the expected type.
+	 * @param expectedType The type of the token.
+	 * @param description A readable description of the token for the error message.
+	 */
+	private void expect(int expectedType, String description) {
+		if(type != expectedType) {
+			throw error(description+" expected, but got "+(type == ExpressionLexer.END ? "the end of the expression" : "\""+lexer.getText()+"\""));
+		}
+		type = lexer.next();
+	}
+	
+	/**
+	 * Enters a nested bracket, function call or negation.
+	 * @throws IllegalArgumentException If the expression is nested deeper than {@link #MAX_DEPTH}.
+	 */
+	private void enter() {
+		if(++depth > MAX_DEPTH) {
+			throw error("Expression is nested deeper than "+MAX_DEPTH+" levels");
+		}
+	}
+	
+	/**
+	 * @param operator An operator character.
+	 * @return The precedence of a binary operator, or -1 if the character does not continue an operator chain (",").
+	 */
+	private static int precedenceOf(char operator) {
+		return switch(operator) {
+			case '+', '-' -> SUM;
+			case '*', '/', '%' -> PRODUCT;
+			case '^' -> POWER;
+			default -> -1;
+		};
+	}
+	
+	private IllegalArgumentException error(String message) {
+		return new IllegalArgumentException("Math parser: "+message+" at position "+lexer.getStart()+" in \""+expression+"\"!");
+	}
+	
+}
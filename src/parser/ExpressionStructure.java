@@ -0,0 +1,220 @@
+package parser;
+
+import java.util.ArrayDeque;
+import java.util.IdentityHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import parser.functions.IntegerPowExpression;
+
+/**
+ * Walks the structure of expressions without recursion, so that deep expressions do not overflow the stack of the thread:
+ * computes their hash codes, compares them and copies them.
+ * <br><br>
+ * The hash codes of {@link CompositeExpression composite expressions} are cached in the nodes, and every node drops its cache when its subtree changes.
+ * Only when a node changes that is shared by multiple cached expressions, its parents are not known, and the {@link #version() version} of all caches
+ * is moved forward instead, which drops all cached values of all expressions.
+ * @author MiKa
+ * @version 1.0 (18.10.2026)
+ * @since ALPHA
+ */
+
+public final class ExpressionStructure {
+
+	private static final AtomicLong VERSION = new AtomicLong();
+
+	private ExpressionStructure() {}
+
+	/**
+	 * @return The current version of all caches. Never negative, so -1 can be used for values that have not been computed yet.
+	 */
+	public static long version() {
+		return VERSION.get();
+	}
+
+	/**
+	 * Invalidates all cached values of all expressions. Called by a node that changes, if it does not know all expressions that have cached values computed from it.
+	 */
+	public static void changed() {
+		VERSION.incrementAndGet();
+	}
+
+	/**
+	 * Computes the hash code of an expression from its type and the hash codes of its children, in the same way for every type of node.
+	 * Numbers and variables are hashed by their own {@link Object#hashCode()}.
+	 * <br><br>
+	 * The hash codes of all composite nodes below the expression are cached on the way, and nodes whose hash code is already cached are not walked again,
+	 * so hashing every node of an expression takes linear time in total.
+	 * @param expression The expression.
+	 * @return The hash code, which is the same for all {@link Object#equals(Object) equal} expressions.
+	 */
+	public static int hashOf(Expression expression) {
+		long version = version();
+		// The hash codes of other nodes with children, which cannot be cached in the nodes
+		IdentityHashMap<Expression, Integer> uncached = new IdentityHashMap<>(0);
+		// Either a node that should be hashed, or a node whose children are hashed before it
+		ArrayDeque<Object> work = new ArrayDeque<>();
+		work.push(expression);
+		while(!work.isEmpty()) {
+			Object top = work.pop();
+			if(top instanceof Expression node) {
+				if(!isHashed(node, version, uncached)) {
+					Expression[] children = node.getChildren();
+					work.push(new Parent(node, children));
+					for(int i = children.length - 1; i >= 0; i--) {
+						if(!isHashed(children[i], version, uncached)) {
+							work.push(children[i]);
+						}
+					}
+				}
+				continue;
+			}
+
+			Parent parent = (Parent) top;
+			Expression node = parent.node();
+			// A node that is used multiple times may have been hashed in the meantime
+			if(isHashed(node, version, uncached)) {
+				continue;
+			}
+			int hash = node.getClass().getName().hashCode();
+			if(node instanceof IntegerPowExpression power) {
+				hash = 31 * hash + power.getExponent();
+			}
+			for(Expression child : parent.children()) {
+				hash = 31 * hash + hashOf(child, uncached);
+			}
+			if(node instanceof CompositeExpression composite) {
+				for(Expression child : parent.children()) {
+					if(child instanceof CompositeExpression cached) {
+						cached.addParent(composite);
+					}
+				}
+				composite.setHash(hash, version);
+			}else {
+				uncached.put(node, hash);
+			}
+		}
+		return hashOf(expression, uncached);
+	}
+
+	/**
+	 * A node whose children have been pushed on the work stack.
+	 * @param node The node.
+	 * @param children The children of the node.
+	 */
+	private record Parent(Expression node, Expression[] children) {}
+
+	/**
+	 * @return True if the hash code of a node is known without walking its children.
+	 */
+	private static boolean isHashed(Expression node, long version, IdentityHashMap<Expression, Integer> uncached) {
+		if(node instanceof CompositeExpression composite) {
+			return composite.isHashed(version);
+		}
+		return isLeaf(node) || uncached.containsKey(node);
+	}
+
+	/**
+	 * @return The hash code of a node that {@link #isHashed(Expression, long, IdentityHashMap) is hashed}.
+	 */
+	private static int hashOf(Expression node, IdentityHashMap<Expression, Integer> uncached) {
+		if(node instanceof CompositeExpression composite) {
+			return composite.getHash();
+		}
+		return isLeaf(node) ? node.hashCode() : uncached.get(node);
+	}
+
+	private static boolean isLeaf(Expression node) {
+		return node instanceof NumberExpression || node instanceof VariableExpression;
+	}
+
+	/**
+	 * Compares two expressions by their structure: they are equal if they are of the same type and their children are equal.
+	 * Numbers and variables are compared by their own {@link Object#equals(Object)}.
+	 * <br><br>
+	 * The expressions are walked pair by pair with an explicit stack, and subexpressions with different (cached) hash codes are not walked at all.
+	 * @param a The first expression.
+	 * @param b The second expression.
+	 * @return True if the expressions are equal.
+	 */
+	public static boolean equal(Expression a, Expression b) {
+		ArrayDeque<Expression> work = new ArrayDeque<>();
+		work.push(b);
+		work.push(a);
+		while(!work.isEmpty()) {
+			Expression first = work.pop(), second = work.pop();
+			if(first == second) {
+				continue;
+			}
+			if(first.getClass() != second.getClass()) {
+				return false;
+			}
+			if(isLeaf(first)) {
+				if(!first.equals(second)) {
+					return false;
+				}
+				continue;
+			}
+			if(first instanceof CompositeExpression && first.hashCode() != second.hashCode()) {
+				return false;
+			}
+			if(first instanceof IntegerPowExpression power && power.getExponent() != ((IntegerPowExpression) second).getExponent()) {
+				return false;
+			}
+
+			Expression[] firstChildren = first.getChildren(), secondChildren = second.getChildren();
+			if(firstChildren.length != secondChildren.length) {
+				return false;
+			}
+			for(int i = firstChildren.length - 1; i >= 0; i--) {
+				work.push(secondChildren[i]);
+				work.push(firstChildren[i]);
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Copies an expression: every node with children is copied with the copies of its children (see {@link Expression#withChildren(Expression...)}),
+	 * and every other node by its own {@link Expression#copy()}. A node that is used multiple times is copied once, so the copy of a graph is a graph as well.
+	 * @param expression The expression. Will not be changed.
+	 * @return The copy, which does not share any node with the expression.
+	 */
+	public static Expression copy(Expression expression) {
+		IdentityHashMap<Expression, Expression> copies = new IdentityHashMap<>();
+		// Either a node that should be copied, or a node whose children are copied before it
+		ArrayDeque<Object> work = new ArrayDeque<>();
+		work.push(expression);
+		while(!work.isEmpty()) {
+			Object top = work.pop();
+			if(top instanceof Expression node) {
+				if(copies.containsKey(node)) {
+					continue;
+				}
+				Expression[] children = node.getChildren();
+				if(children.length == 0) {
+					copies.put(node, node.copy());
+					continue;
+				}
+				work.push(new Parent(node, children));
+				for(int i = children.length - 1; i >= 0; i--) {
+					if(!copies.containsKey(children[i])) {
+						work.push(children[i]);
+					}
+				}
+				continue;
+			}
+
+			Parent parent = (Parent) top;
+			// A node that is used multiple times may have been copied in the meantime
+			if(!copies.containsKey(parent.node())) {
+				Expression[] children = parent.children();
+				for(int i = 0; i < children.length; i++) {
+					children[i] = copies.get(children[i]);
+				}
+				copies.put(parent.node(), parent.node().withChildren(children));
+			}
+		}
+		return copies.get(expression);
+	}
+
+}
@@ -8,4 +8,21 @@ package parser;
  * @since ALPHA
  */
 
-public interface FunctionalExpression extends Expression{}
+public interface FunctionalExpression extends Expression{
+	
+	/**
+	 * Appends an operand of an expression to a builder. Functional expressions are put into brackets.
+	 * @param builder The builder.
+	 * @param operand The operand.
+	 */
+	public static void appendOperand(StringBuilder builder, Expression operand) {
+		if(operand instanceof FunctionalExpression) {
+			builder.append('(');
+			operand.appendTo(builder);
+			builder.append(')');
+		}else {
+			operand.appendTo(builder);
+		}
+	}
+	
+}
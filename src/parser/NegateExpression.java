@@ -7,7 +7,7 @@ package parser;
  * @since ALPHA
  */
 
-public class NegateExpression implements Expression {
+public class NegateExpression extends CompositeExpression {
 
 	private Expression toNegate;
 	
@@ -15,6 +15,10 @@ public class NegateExpression implements Expression {
 		this.toNegate = toNegate;
 	}
 	
+	public Expression getExpression() {
+		return toNegate;
+	}
+	
 	@Override
 	public float computeFloat() {
 		return -toNegate.computeFloat();
@@ -32,7 +36,7 @@ public class NegateExpression implements Expression {
 
 	@Override
 	public Expression simplify() {
-		toNegate = toNegate.simplify();
+		toNegate = simplifyChild(toNegate);
 		if(toNegate instanceof NumberExpression) {
 			return new NumberExpression(-toNegate.computeDouble());
 		}else {
@@ -41,15 +45,37 @@ public class NegateExpression implements Expression {
 	}
 	
 	@Override
-	public String toString() {
-		return "-"+toNegate.toString();
+	public Expression[] getChildren() {
+		return new Expression[] {toNegate};
 	}
-
+	
+	@Override
+	public Expression withChildren(Expression... children) {
+		return new NegateExpression(children[0]);
+	}
+	
+	@Override
+	protected void appendText(StringBuilder builder, int index) {
+		if(index == 0) {
+			builder.append('-');
+		}
+	}
+	
+	@Override
+	protected boolean isOperand(int index) {
+		return false;
+	}
+	
 	@Override
 	public void setVariable(String name, Number number) {
 		toNegate.setVariable(name, number);
 	}
 	
+	@Override
+	public void setVariable(String name, double value) {
+		toNegate.setVariable(name, value);
+	}
+	
 	@Override
 	public String getVariables() {
 		return toNegate.getVariables();
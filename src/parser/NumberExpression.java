@@ -3,6 +3,8 @@ package parser;
 /**
  * A {@link NumberExpression} is a simple number that is plugged into an expression.
  * It cannot be simplified.
+ * <br><br>
+ * The value is converted once, when the number is created, so computing it only reads a field.
  * @author MiKa
  * @version 1.0 (28.02.2023)
  * @since ALPHA
@@ -10,25 +12,43 @@ package parser;
 
 public class NumberExpression implements Expression {
 
-	private Number number;
+	private final Number number;
+	private final double value;
+	private final float floatValue;
+	private final int intValue;
 	
 	public NumberExpression(Number number) {
 		this.number = number;
+		this.value = number.doubleValue();
+		this.floatValue = number.floatValue();
+		this.intValue = number.intValue();
+	}
+	
+	public NumberExpression(double value) {
+		this((Number) value);
+	}
+	
+	public NumberExpression(int value) {
+		this((Number) value);
+	}
+	
+	public Number getNumber() {
+		return number;
 	}
 	
 	@Override
 	public float computeFloat() {
-		return number.floatValue();
+		return floatValue;
 	}
 
 	@Override
 	public int computeInt() {
-		return number.intValue();
+		return intValue;
 	}
 
 	@Override
 	public double computeDouble() {
-		return number.doubleValue();
+		return value;
 	}
 
 	@Override
@@ -36,6 +56,50 @@ public class NumberExpression implements Expression {
 		return this;
 	}
 	
+	@Override
+	public Expression copy() {
+		return new NumberExpression(number);
+	}
+	
+	@Override
+	public Expression[] getChildren() {
+		return NO_CHILDREN;
+	}
+	
+	@Override
+	public Expression withChildren(Expression... children) {
+		return this;
+	}
+	
+	/**
+	 * Two numbers are equal if they have the same value, no matter if they are stored as an int or a double.
+	 */
+	@Override
+	public boolean equals(Object obj) {
+		return obj instanceof NumberExpression other && Double.compare(value, other.value) == 0;
+	}
+	
+	@Override
+	public int hashCode() {
+		return Double.hashCode(value);
+	}
+	
+	@Override
+	public void appendTo(StringBuilder builder) {
+		// The same text as the toString() of the boxed number, without creating it
+		if(number instanceof Integer) {
+			builder.append(intValue);
+		}else if(number instanceof Double) {
+			builder.append(value);
+		}else if(number instanceof Float) {
+			builder.append(floatValue);
+		}else if(number instanceof Long l) {
+			builder.append(l.longValue());
+		}else {
+			builder.append(number);
+		}
+	}
+	
 	@Override
 	public String toString() {
 		return number.toString();
@@ -46,6 +110,11 @@ public class NumberExpression implements Expression {
 		
 	}
 	
+	@Override
+	public void setVariable(String name, double value) {
+		
+	}
+	
 	@Override
 	public String getVariables() {
 		return "";
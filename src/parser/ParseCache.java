@@ -0,0 +1,176 @@
+package parser;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * A thread-safe cache in front of {@link Expression#parse(String, boolean)}. Parsed expressions are kept
+ * in a least recently used order, and the least recently used expression is evicted as soon as the cache is full.
+ * <br><br>
+ * Expressions can be changed (by {@link Expression#setVariable(String, Number)} or {@link Expression#simplify()}), therefore
+ * the cache never hands out the cached tree itself. Every call returns a {@link Expression#copy() copy}, so two callers
+ * that parse the same string never share any variables.
+ * <br><br>
+ * Hits are read from a concurrent map without any lock. Only the order of use is guarded by a lock, and a hit skips the update of the order
+ * if another thread holds the lock at the same time, so under heavy contention the evicted expression is only approximately the least recently used one.
+ * @author MiKa
+ * @version 1.0 (18.10.2026)
+ * @since ALPHA
+ */
+
+public class ParseCache {
+
+	private final int maximumSize;
+	/** The cached expressions, which are read without locking. */
+	private final ConcurrentHashMap<Key, Expression> entries = new ConcurrentHashMap<>();
+	/** The keys of all entries, from the least to the most recently used one. Guarded by the lock. */
+	private final LinkedHashMap<Key, Boolean> order;
+	private final ReentrantLock lock = new ReentrantLock();
+	
+	private final LongAdder hits = new LongAdder(), misses = new LongAdder(), evictions = new LongAdder();
+	
+	/**
+	 * @param maximumSize The maximum number of expressions that are kept in the cache.
+	 */
+	public ParseCache(int maximumSize) {
+		if(maximumSize <= 0) {
+			throw new IllegalArgumentException("Math parser: The size of a parse cache must be positive, but was "+maximumSize+"!");
+		}
+		this.maximumSize = maximumSize;
+		this.order = new LinkedHashMap<>(16, 0.75f, true) {
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<Key, Boolean> eldest) {
+				if(size() > ParseCache.this.maximumSize) {
+					entries.remove(eldest.getKey());
+					evictions.increment();
+					return true;
+				}
+				return false;
+			}
+		};
+	}
+	
+	/**
+	 * Parses a math expression, or copies it from the cache if the same expression has been parsed before.
+	 * Whitespaces are not part of the cache key, so <code>"x+1"</code> and <code>"x + 1"</code> share the same entry.
+	 * @param expression The expression that should be parsed.
+	 * @param simplify True if the parser should simplify the expression with the {@link parser.optimizer.Optimizer}.
+	 * @return The expression as a tree of math equations. Belongs only to the caller.
+	 * @see Expression#parse(String, boolean)
+	 */
+	public Expression parse(String expression, boolean simplify) {
+		Key key = new Key(normalize(expression), simplify);
+		
+		Expression cached = entries.get(key);
+		if(cached != null) {
+			hits.increment();
+			// A hit does not wait for other threads, it only moves the entry to the end of the order if the lock is free
+			if(lock.tryLock()) {
+				try {
+					order.get(key);
+				}finally {
+					lock.unlock();
+				}
+			}
+			return cached.copy();
+		}
+		
+		misses.increment();
+		
+		// Parse outside of the lock, so that other threads can still read the cache in the meantime.
+		// The original expression is parsed, so that the positions of errors refer to the string of the caller.
+		Expression parsed = Expression.parse(expression, simplify);
+		if(parsed == null) {
+			return null;
+		}
+		
+		lock.lock();
+		try {
+			if(order.putIfAbsent(key, Boolean.TRUE) == null) {
+				entries.put(key, parsed);
+			}
+		}finally {
+			lock.unlock();
+		}
+		return parsed.copy();
+	}
+	
+	/**
+	 * Removes all expressions from the cache. The counters are not reset.
+	 */
+	public void clear() {
+		lock.lock();
+		try {
+			order.clear();
+			entries.clear();
+		}finally {
+			lock.unlock();
+		}
+	}
+	
+	/**
+	 * @return The number of expressions that are currently cached.
+	 */
+	public int size() {
+		return entries.size();
+	}
+	
+	public int getMaximumSize() {
+		return maximumSize;
+	}
+	
+	/**
+	 * @return The number of calls to {@link #parse(String, boolean)} that could be answered from the cache.
+	 */
+	public long getHits() {
+		return hits.sum();
+	}
+	
+	/**
+	 * @return The number of calls to {@link #parse(String, boolean)} that had to parse the expression.
+	 */
+	public long getMisses() {
+		return misses.sum();
+	}
+	
+	/**
+	 * @return The number of expressions that were removed because the cache was full.
+	 */
+	public long getEvictions() {
+		return evictions.sum();
+	}
+	
+	@Override
+	public String toString() {
+		return "ParseCache[size = "+size()+"/"+maximumSize+", hits = "+getHits()+", misses = "+getMisses()+", evictions = "+getEvictions()+"]";
+	}
+	
+	/**
+	 * Removes all whitespaces from an expression. These are the same whitespaces that {@link Expression#parse(String, boolean)} ignores,
+	 * so the normalized expression is parsed to the same tree.
+	 * @param expression The expression string.
+	 * @return The expression without whitespaces.
+	 */
+	private static String normalize(String expression) {
+		StringBuilder builder = null;
+		for(int i = 0; i < expression.length(); i++) {
+			char c = expression.charAt(i);
+			boolean whitespace = ExpressionLexer.isWhitespace(c);
+			if(whitespace && builder == null) {
+				builder = new StringBuilder(expression.length());
+				builder.append(expression, 0, i);
+			}else if(!whitespace && builder != null) {
+				builder.append(c);
+			}
+		}
+		return builder == null ? expression : builder.toString();
+	}
+	
+	private record Key(String expression, boolean simplify) {}
+	
+}
@@ -6,7 +6,7 @@ package parser;
  * @version 1.0 (28.02.2023)
  * @since ALPHA
  */
-public class SubExpression implements FunctionalExpression {
+public class SubExpression extends CompositeExpression implements FunctionalExpression {
 
 	private Expression first, sec;
 	
@@ -15,6 +15,14 @@ public class SubExpression implements FunctionalExpression {
 		this.sec = sec;
 	}
 	
+	public Expression getFirst() {
+		return first;
+	}
+	
+	public Expression getSecond() {
+		return sec;
+	}
+	
 	@Override
 	public float computeFloat() {
 		return first.computeFloat() - sec.computeFloat();
@@ -32,8 +40,8 @@ public class SubExpression implements FunctionalExpression {
 
 	@Override
 	public Expression simplify() {
-		first = first.simplify();
-		sec = sec.simplify();
+		first = simplifyChild(first);
+		sec = simplifyChild(sec);
 		if(first instanceof NumberExpression && sec instanceof NumberExpression) {
 			return new NumberExpression(first.computeDouble() - sec.computeDouble());
 		}else {
@@ -42,25 +50,33 @@ public class SubExpression implements FunctionalExpression {
 	}
 	
 	@Override
-	public String toString() {
-		String a = first.toString(), b = sec.toString();
-		
-		if(first instanceof FunctionalExpression) {
-			a = "("+a+")";
-		}
-		
-		if(sec instanceof FunctionalExpression) {
-			b = "("+b+")";
+	public Expression[] getChildren() {
+		return new Expression[] {first, sec};
+	}
+	
+	@Override
+	public Expression withChildren(Expression... children) {
+		return new SubExpression(children[0], children[1]);
+	}
+	
+	@Override
+	protected void appendText(StringBuilder builder, int index) {
+		if(index == 1) {
+			builder.append(" - ");
 		}
-		
-		return a + " - " + b;
 	}
-
+	
 	@Override
 	public void setVariable(String name, Number number) {
 		first.setVariable(name, number);
 		sec.setVariable(name, number);
 	}
+	
+	@Override
+	public void setVariable(String name, double value) {
+		first.setVariable(name, value);
+		sec.setVariable(name, value);
+	}
 
 	@Override
 	public String getVariables() {
@@ -1,10 +1,16 @@
 package parser;
 
+import java.util.function.DoubleSupplier;
+import java.util.function.IntSupplier;
 import java.util.function.Supplier;
 
 /**
  * Is a flexible number, that can change over time.
  * It cannot be simplified.
+ * <br><br>
+ * The value is either a fixed <code>double</code>, which is read without any calls, or a source that is asked for the value every time
+ * the variable is computed. Sources should be {@link DoubleSupplier DoubleSuppliers} or {@link IntSupplier IntSuppliers}: a {@link Supplier Supplier&lt;Number&gt;}
+ * creates a new boxed number on every read.
  * @author MiKa
  * @version 1.0 (28.02.2023)
  * @since ALPHA
@@ -13,39 +19,91 @@ import java.util.function.Supplier;
 public class VariableExpression implements Expression {
 
 	private String name;
-	private Supplier<Number> varSupplier;
+	private double value;
+	/** The source of the value, or null if the variable has a fixed value. */
+	private DoubleSupplier source;
+	/** The {@link Number}, {@link IntSupplier} or {@link Supplier Supplier&lt;Number&gt;} the value has been set with, which {@link #getVariables()} prints, or null. */
+	private Object original;
 	
 	public VariableExpression(String name) {
 		this.name = name;
-		this.varSupplier = () -> 0;
+	}
+	
+	public VariableExpression(String name, double value) {
+		this.name = name;
+		this.value = value;
+	}
+	
+	public VariableExpression(String name, DoubleSupplier source) {
+		this.name = name;
+		this.source = source;
+	}
+	
+	public VariableExpression(String name, IntSupplier source) {
+		this(name, (DoubleSupplier) source::getAsInt);
+		this.original = source;
 	}
 	
 	public VariableExpression(String name, Supplier<Number> varSupplier) {
+		this(name, (DoubleSupplier) () -> varSupplier.get().doubleValue());
+		this.original = varSupplier;
+	}
+	
+	private VariableExpression(String name, double value, DoubleSupplier source, Object original) {
 		this.name = name;
-		this.varSupplier = varSupplier;
+		this.value = value;
+		this.source = source;
+		this.original = original;
 	}
 	
 	public String getName() {
 		return name;
 	}
 	
+	public void setValue(double value) {
+		this.value = value;
+		this.source = null;
+		this.original = null;
+	}
+	
+	/**
+	 * Sets a fixed value, which {@link #getVariables()} prints like the given number (<code>10</code> for an integer, <code>10.0</code> for a double).
+	 * @param number The value.
+	 */
+	public void setValue(Number number) {
+		setValue(number.doubleValue());
+		this.original = number;
+	}
+	
+	public void setValue(DoubleSupplier source) {
+		this.source = source;
+		this.original = null;
+	}
+	
+	public void setValue(IntSupplier source) {
+		this.source = source::getAsInt;
+		this.original = source;
+	}
+	
 	public void setValue(Supplier<Number> value) {
-		this.varSupplier = value;
+		this.source = () -> value.get().doubleValue();
+		this.original = value;
 	}
 	
 	@Override
 	public float computeFloat() {
-		return varSupplier.get().floatValue();
+		return (float) computeDouble();
 	}
 
 	@Override
 	public int computeInt() {
-		return varSupplier.get().intValue();
+		return (int) computeDouble();
 	}
 
 	@Override
 	public double computeDouble() {
-		return varSupplier.get().doubleValue();
+		DoubleSupplier source = this.source;
+		return source == null ? value : source.getAsDouble();
 	}
 
 	@Override
@@ -53,6 +111,39 @@ public class VariableExpression implements Expression {
 		return this;
 	}
 	
+	@Override
+	public Expression copy() {
+		return new VariableExpression(name, value, source, original);
+	}
+	
+	@Override
+	public Expression[] getChildren() {
+		return NO_CHILDREN;
+	}
+	
+	@Override
+	public Expression withChildren(Expression... children) {
+		return this;
+	}
+	
+	/**
+	 * Two variables are equal if they have the same name. Their current values are not compared.
+	 */
+	@Override
+	public boolean equals(Object obj) {
+		return obj instanceof VariableExpression other && name.equals(other.name);
+	}
+	
+	@Override
+	public int hashCode() {
+		return name.hashCode();
+	}
+	
+	@Override
+	public void appendTo(StringBuilder builder) {
+		builder.append(name);
+	}
+	
 	@Override
 	public String toString() {
 		return name;
@@ -61,13 +152,46 @@ public class VariableExpression implements Expression {
 	@Override
 	public void setVariable(String name, Number number) {
 		if(name.equals(this.name)) {
-			varSupplier = () -> number;
+			setValue(number);
+		}
+	}
+	
+	@Override
+	public void setVariable(String name, double value) {
+		if(name.equals(this.name)) {
+			setValue(value);
+		}
+	}
+	
+	@Override
+	public void setVariable(String name, DoubleSupplier source) {
+		if(name.equals(this.name)) {
+			setValue(source);
 		}
 	}
 	
+	@Override
+	public void setVariable(String name, IntSupplier source) {
+		if(name.equals(this.name)) {
+			setValue(source);
+		}
+	}
+	
+	/**
+	 * Prints the value like the number it has been set with, so a variable that has been set to the integer 10 prints <code>x = 10</code>.
+	 * A value that has been set as a double prints <code>x = 10.0</code>.
+	 */
 	@Override
 	public String getVariables() {
-		return name+" = "+varSupplier.get()+", ";
+		Object value = original;
+		if(value instanceof Supplier<?> supplier) {
+			value = supplier.get();
+		}else if(value instanceof IntSupplier supplier) {
+			value = supplier.getAsInt();
+		}else if(value == null) {
+			value = computeDouble();
+		}
+		return name+" = "+value+", ";
 	}
 
 }
@@ -0,0 +1,64 @@
+package parser.aot;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Repeatable;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Declares a formula that is compiled at build time. The annotation processor <code>parser.aot.FormulaProcessor</code> (module <code>processor</code>)
+ * parses and optimizes the formulas of every annotated type and generates the class <code>&lt;Type&gt;Formulas</code> in the same package,
+ * with one static method per formula (see {@link parser.compiler.JavaSourceGenerator}). Errors in a formula are reported as compile errors.
+ * <pre>
+ * &#64;Formula(name = "area", value = "w * h")
+ * &#64;Formula(name = "diagonal", value = "root(w^2 + h^2, 2)", variables = {"w", "h"})
+ * interface Shapes {}
+ *
+ * double area = ShapesFormulas.area(2, 3);
+ * double diagonal = ShapesFormulas.DIAGONAL.evaluate(new double[] {2, 3});
+ * </pre>
+ * The annotation is only needed while compiling, it is not kept in the class files.
+ * @author MiKa
+ * @version 1.0 (18.10.2026)
+ * @since ALPHA
+ */
+
+@Documented
+@Retention(RetentionPolicy.SOURCE)
+@Target(ElementType.TYPE)
+@Repeatable(Formula.List.class)
+public @interface Formula {
+
+	/**
+	 * @return The name of the generated method. Must be a valid Java name.
+	 */
+	String name();
+
+	/**
+	 * @return The formula, in the syntax of {@link parser.Expression#parse(String, boolean)}.
+	 */
+	String value();
+
+	/**
+	 * @return The names of the variables, in the order of the parameters. If empty, the variables are ordered by their first appearance in the formula.
+	 */
+	String[] variables() default {};
+
+	/**
+	 * @return True if powers, roots and divisions by constants may be replaced by cheaper operations that may round differently (see {@link parser.optimizer.StrengthReducer#reduce(parser.Expression, boolean)}).
+	 */
+	boolean fastMath() default false;
+
+	/**
+	 * Holds multiple formulas on the same type.
+	 */
+	@Documented
+	@Retention(RetentionPolicy.SOURCE)
+	@Target(ElementType.TYPE)
+	@interface List {
+		Formula[] value();
+	}
+
+}
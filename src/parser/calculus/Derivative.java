@@ -0,0 +1,282 @@
+package parser.calculus;
+
+import java.util.ArrayDeque;
+import java.util.IdentityHashMap;
+
+import parser.AddExpression;
+import parser.DivExpression;
+import parser.Expression;
+import parser.MulExpression;
+import parser.NegateExpression;
+import parser.NumberExpression;
+import parser.SubExpression;
+import parser.VariableExpression;
+import parser.functions.AbsExpression;
+import parser.functions.ArcCosExpression;
+import parser.functions.ArcSinExpression;
+import parser.functions.ArcTanExpression;
+import parser.functions.ClampExpression;
+import parser.functions.CosExpression;
+import parser.functions.CubeRootExpression;
+import parser.functions.DegreeExpression;
+import parser.functions.IntegerPowExpression;
+import parser.functions.LogExpression;
+import parser.functions.ModExpression;
+import parser.functions.PowExpression;
+import parser.functions.RadianExpression;
+import parser.functions.SignExpression;
+import parser.functions.SinExpression;
+import parser.functions.SqrtExpression;
+import parser.functions.SquareRootExpression;
+import parser.functions.TanExpression;
+import parser.optimizer.Optimizer;
+import parser.optimizer.StrengthReducer;
+
+/**
+ * Computes the derivatives of an {@link Expression} symbolically. The derivative is a new expression, which is
+ * simplified by the {@link Optimizer} and the {@link StrengthReducer}, just like a parsed expression.
+ * <br><br>
+ * The derivative does not copy the expression, it uses the nodes of the expression wherever it needs a value of the original function
+ * (e.g. <code>cos(a)</code> in the derivative of <code>sin(a)</code> refers to the same node <code>a</code>, and the derivative of
+ * <code>tan(a)</code> refers to the node <code>tan(a)</code> itself). Therefore, the variables of the derivative are set together with the variables
+ * of the expression, and the expression and all of its derivatives can be compiled into one program that computes every shared node once.
+ * This works best if the expression has already been simplified (see {@link Expression#parse(String, boolean)}), as the nodes of a simplified
+ * expression are not changed again by the optimizer.
+ * <br><br>
+ * Where a function has no derivative (like <code>abs(a)</code> at 0, or <code>clamp(a, b, c)</code> at a and b), the derivative is the average of
+ * the derivatives on both sides. The derivative of a clamp assumes that the minimum is not larger than the maximum.
+ * @author MiKa
+ * @version 1.0 (18.10.2026)
+ * @since ALPHA
+ */
+
+public class Derivative {
+
+	private static final NumberExpression ZERO = new NumberExpression(0), ONE = new NumberExpression(1), HALF = new NumberExpression(0.5);
+
+	private final String variable;
+
+	/** The derivatives of the nodes that have already been visited, so that shared nodes are only derived once. */
+	private final IdentityHashMap<Expression, Expression> done = new IdentityHashMap<>();
+
+	private Derivative(String variable) {
+		this.variable = variable;
+	}
+
+	/**
+	 * Derives an expression.
+	 * @param expression The expression. Will not be changed.
+	 * @param variable The name of the variable.
+	 * @return The simplified derivative of the expression with respect to the variable.
+	 * @throws IllegalArgumentException If the expression contains an unknown type of expression.
+	 */
+	public static Expression of(Expression expression, String variable) {
+		return StrengthReducer.reduce(Optimizer.optimize(new Derivative(variable).deriveAll(expression)));
+	}
+
+	/**
+	 * Derives an expression with respect to multiple variables.
+	 * @param expression The expression. Will not be changed.
+	 * @param variables The names of the variables.
+	 * @return The simplified derivatives, in the same order as the variables.
+	 * @throws IllegalArgumentException If the expression contains an unknown type of expression.
+	 */
+	public static Expression[] gradient(Expression expression, String... variables) {
+		Expression[] gradient = new Expression[variables.length];
+		for(int i = 0; i < variables.length; i++) {
+			gradient[i] = of(expression, variables[i]);
+		}
+		return gradient;
+	}
+
+	/**
+	 * Derives every node of an expression after its children, so that the rule of a node finds the derivatives of its children in {@link #done}
+	 * instead of deriving them recursively. The tree is walked with an explicit stack, so that deep trees do not overflow the stack of the thread.
+	 * @param expression The root of the expression.
+	 * @return The derivative of the root.
+	 */
+	private Expression deriveAll(Expression expression) {
+		ArrayDeque<Expression> work = new ArrayDeque<>();
+		work.push(expression);
+		while(!work.isEmpty()) {
+			Expression node = work.peek();
+			if(done.containsKey(node)) {
+				work.pop();
+				continue;
+			}
+			
+			boolean ready = true;
+			Expression[] children = node.getChildren();
+			for(int i = children.length - 1; i >= 0; i--) {
+				if(!done.containsKey(children[i])) {
+					work.push(children[i]);
+					ready = false;
+				}
+			}
+			if(ready) {
+				work.pop();
+				done.put(node, rule(node));
+			}
+		}
+		return done.get(expression);
+	}
+
+	private Expression derive(Expression expression) {
+		Expression result = done.get(expression);
+		if(result == null) {
+			result = rule(expression);
+			done.put(expression, result);
+		}
+		return result;
+	}
+
+	/**
+	 * Applies the rule of a single node. The results are not simplified yet, only trivial terms with 0 and 1 are left out.
+	 */
+	private Expression rule(Expression expression) {
+		if(expression instanceof NumberExpression) {
+			return ZERO;
+		}else if(expression instanceof VariableExpression var) {
+			return var.getName().equals(variable) ? ONE : ZERO;
+		}else if(expression instanceof AddExpression add) {
+			return add(derive(add.getFirst()), derive(add.getSecond()));
+		}else if(expression instanceof SubExpression sub) {
+			return sub(derive(sub.getFirst()), derive(sub.getSecond()));
+		}else if(expression instanceof NegateExpression negate) {
+			return neg(derive(negate.getExpression()));
+		}else if(expression instanceof MulExpression mul) {
+			Expression a = mul.getFirst(), b = mul.getSecond();
+			return add(mul(derive(a), b), mul(a, derive(b)));
+		}else if(expression instanceof DivExpression div) {
+			Expression a = div.getFirst(), b = div.getSecond(), db = derive(b);
+			if(isZero(db)) {
+				return div(derive(a), b);
+			}
+			return div(sub(mul(derive(a), b), mul(a, db)), new IntegerPowExpression(b, 2));
+		}else if(expression instanceof PowExpression pow) {
+			return power(pow, pow.getFirst(), pow.getSecond());
+		}else if(expression instanceof IntegerPowExpression pow) {
+			int n = pow.getExponent();
+			if(n == 0) {
+				return ZERO;
+			}
+			Expression a = pow.getExpression();
+			return mul(mul(new NumberExpression(n), n == 2 ? a : new IntegerPowExpression(a, n - 1)), derive(a));
+		}else if(expression instanceof SqrtExpression root) {
+			return root(root, root.getFirst(), root.getSecond());
+		}else if(expression instanceof SquareRootExpression sqrt) {
+			// (sqrt a)' = a' / (2 sqrt a)
+			return div(derive(sqrt.getExpression()), mul(new NumberExpression(2), sqrt));
+		}else if(expression instanceof CubeRootExpression cbrt) {
+			// (cbrt a)' = a' / (3 cbrt(a)^2)
+			return div(derive(cbrt.getExpression()), mul(new NumberExpression(3), new IntegerPowExpression(cbrt, 2)));
+		}else if(expression instanceof SinExpression sin) {
+			return mul(new CosExpression(sin.getExpression()), derive(sin.getExpression()));
+		}else if(expression instanceof CosExpression cos) {
+			return neg(mul(new SinExpression(cos.getExpression()), derive(cos.getExpression())));
+		}else if(expression instanceof TanExpression tan) {
+			// (tan a)' = (1 + tan(a)^2) a'
+			return mul(add(ONE, new IntegerPowExpression(tan, 2)), derive(tan.getExpression()));
+		}else if(expression instanceof ArcSinExpression asin) {
+			return div(derive(asin.getExpression()), new SquareRootExpression(sub(ONE, new IntegerPowExpression(asin.getExpression(), 2))));
+		}else if(expression instanceof ArcCosExpression acos) {
+			return neg(div(derive(acos.getExpression()), new SquareRootExpression(sub(ONE, new IntegerPowExpression(acos.getExpression(), 2)))));
+		}else if(expression instanceof ArcTanExpression atan) {
+			return div(derive(atan.getExpression()), add(ONE, new IntegerPowExpression(atan.getExpression(), 2)));
+		}else if(expression instanceof AbsExpression abs) {
+			return mul(new SignExpression(abs.getExpression()), derive(abs.getExpression()));
+		}else if(expression instanceof SignExpression) {
+			return ZERO;
+		}else if(expression instanceof LogExpression ln) {
+			return div(derive(ln.getExpression()), ln.getExpression());
+		}else if(expression instanceof RadianExpression radians) {
+			Expression derivative = derive(radians.getExpression());
+			return isZero(derivative) ? ZERO : new RadianExpression(derivative);
+		}else if(expression instanceof DegreeExpression degrees) {
+			Expression derivative = derive(degrees.getExpression());
+			return isZero(derivative) ? ZERO : new DegreeExpression(derivative);
+		}else if(expression instanceof ModExpression mod) {
+			// a % b = a - trunc(a / b) * b, where trunc(a / b) is constant almost everywhere
+			Expression a = mod.getFirst(), b = mod.getSecond(), db = derive(b);
+			if(isZero(db)) {
+				return derive(a);
+			}
+			return sub(derive(a), mul(div(sub(a, mod), b), db));
+		}else if(expression instanceof ClampExpression clamp) {
+			// clamp(min, max, v) is min below min, max above max and v in between
+			Expression min = clamp.getMin(), max = clamp.getMax(), value = clamp.getValue();
+			Expression derivative = mul(mul(step(sub(value, min)), step(sub(max, value))), derive(value));
+			derivative = add(derivative, mul(step(sub(min, value)), derive(min)));
+			return add(derivative, mul(step(sub(value, max)), derive(max)));
+		}
+		throw new IllegalArgumentException("Math parser: Expression \""+expression+"\" of type "+(expression == null ? null : expression.getClass().getName())+" cannot be derived!");
+	}
+
+	/**
+	 * Derives <code>a ^ b</code>.
+	 * @param pow The node of the power.
+	 */
+	private Expression power(Expression pow, Expression a, Expression b) {
+		Expression da = derive(a), db = derive(b);
+		if(isZero(db)) {
+			// (a^b)' = b a^(b-1) a'
+			Expression exponent = b instanceof NumberExpression number ? new NumberExpression(number.computeDouble() - 1) : sub(b, ONE);
+			return mul(mul(b, new PowExpression(a, exponent)), da);
+		}
+		// (a^b)' = a^b (b' ln(a) + b a' / a)
+		return mul(pow, add(mul(db, new LogExpression(a)), div(mul(b, da), a)));
+	}
+
+	/**
+	 * Derives <code>root(a, b) = a ^ (1/b)</code>.
+	 * @param root The node of the root.
+	 */
+	private Expression root(Expression root, Expression a, Expression b) {
+		Expression da = derive(a), db = derive(b);
+		if(isZero(db)) {
+			// root(a, b)' = a^(1/b - 1) a' / b
+			return div(mul(new PowExpression(a, sub(div(ONE, b), ONE)), da), b);
+		}
+		// root(a, b)' = root(a, b) (a' / (b a) - b' ln(a) / b^2)
+		return mul(root, sub(div(da, mul(b, a)), div(mul(db, new LogExpression(a)), new IntegerPowExpression(b, 2))));
+	}
+
+	/**
+	 * @return 1 for positive values, 0 for negative values and 0.5 for 0.
+	 */
+	private static Expression step(Expression expression) {
+		return mul(add(new SignExpression(expression), ONE), HALF);
+	}
+
+	private static boolean isZero(Expression expression) {
+		return expression instanceof NumberExpression number && number.computeDouble() == 0;
+	}
+
+	private static boolean isOne(Expression expression) {
+		return expression instanceof NumberExpression number && number.computeDouble() == 1;
+	}
+
+	private static Expression add(Expression a, Expression b) {
+		return isZero(a) ? b : isZero(b) ? a : new AddExpression(a, b);
+	}
+
+	private static Expression sub(Expression a, Expression b) {
+		return isZero(b) ? a : isZero(a) ? neg(b) : new SubExpression(a, b);
+	}
+
+	private static Expression mul(Expression a, Expression b) {
+		if(isZero(a) || isZero(b)) {
+			return ZERO;
+		}
+		return isOne(a) ? b : isOne(b) ? a : new MulExpression(a, b);
+	}
+
+	private static Expression div(Expression a, Expression b) {
+		return isZero(a) ? ZERO : isOne(b) ? a : new DivExpression(a, b);
+	}
+
+	private static Expression neg(Expression a) {
+		return isZero(a) ? ZERO : new NegateExpression(a);
+	}
+
+}
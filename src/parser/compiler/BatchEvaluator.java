@@ -0,0 +1,201 @@
+package parser.compiler;
+
+import java.util.Arrays;
+
+import parser.Expression;
+import parser.monitoring.BatchEvent;
+
+/**
+ * Evaluates a {@link Program} for many rows at once. The values of the variables are passed as columns (one array
+ * per variable), and the program is executed instruction by instruction over blocks of rows, instead of row by row.
+ * This way every instruction becomes a tight loop over a block of values.
+ * <br><br>
+ * If the module <code>jdk.incubator.vector</code> is available (start the JVM with <code>--add-modules jdk.incubator.vector</code>),
+ * the loops use SIMD instructions through the vector API. Otherwise, plain loops are used. In both cases, the results are the same as the ones of the
+ * {@link Interpreter} and {@link Expression#computeDouble()}.
+ * <br><br>
+ * A batch evaluator keeps its intermediate values in buffers that are allocated once, so it must not be used by multiple threads at the same time.
+ * @author MiKa
+ * @version 1.0 (18.10.2026)
+ * @since ALPHA
+ * @see Program
+ */
+
+public class BatchEvaluator {
+
+	/** The number of rows that are processed per block. Small enough that all intermediate values stay in the cache. */
+	public static final int BLOCK_SIZE = 512;
+	
+	private static final boolean VECTOR_AVAILABLE = ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent();
+	
+	private final Program program;
+	private final ColumnKernel kernel;
+	private final double[][] registers;
+	
+	/**
+	 * Creates a batch evaluator that uses the vector API if it is available.
+	 * @param program The program that should be evaluated.
+	 */
+	public BatchEvaluator(Program program) {
+		this(program, VECTOR_AVAILABLE);
+	}
+	
+	/**
+	 * @param program The program that should be evaluated.
+	 * @param vectorized True if the vector API should be used. Is ignored if the vector API is not available.
+	 */
+	public BatchEvaluator(Program program, boolean vectorized) {
+		this.program = program;
+		this.kernel = vectorized && VECTOR_AVAILABLE ? createVectorKernel() : new ScalarKernel();
+		this.registers = new double[program.getFrameSize()][BLOCK_SIZE];
+	}
+	
+	/**
+	 * Compiles the expression and creates a batch evaluator for it.
+	 * @param expression The expression that should be evaluated.
+	 * @param variables The names of the variables, in the order of the columns.
+	 * @return The batch evaluator.
+	 */
+	public static BatchEvaluator of(Expression expression, String... variables) {
+		return new BatchEvaluator(ProgramCompiler.compile(expression, variables));
+	}
+	
+	/**
+	 * @return True if the module <code>jdk.incubator.vector</code> is available in this JVM.
+	 */
+	public static boolean isVectorAvailable() {
+		return VECTOR_AVAILABLE;
+	}
+	
+	/**
+	 * @return True if this evaluator uses the vector API.
+	 */
+	public boolean isVectorized() {
+		return kernel.getClass() != ScalarKernel.class;
+	}
+	
+	public Program getProgram() {
+		return program;
+	}
+	
+	/**
+	 * Evaluates the program for every row.
+	 * @param columns The values of the variables, one column per variable in the order of {@link Program#getVariables()}.
+	 * @param out The array for the results. Its length is the number of rows, every column must have at least as many values.
+	 */
+	public void evaluate(double[][] columns, double[] out) {
+		evaluate(columns, out, 0, out.length);
+	}
+	
+	/**
+	 * Evaluates the program for the rows from index from to index to (exclusive). The results are written to the same indices in out.
+	 * @param columns The values of the variables, one column per variable in the order of {@link Program#getVariables()}.
+	 * @param out The array for the results.
+	 * @param from The first row.
+	 * @param to The row after the last row.
+	 * @see BatchEvent
+	 */
+	public void evaluate(double[][] columns, double[] out, int from, int to) {
+		BatchEvent event = new BatchEvent();
+		event.begin();
+		
+		evaluateRows(columns, out, from, to);
+		
+		event.end();
+		if(event.shouldCommit()) {
+			event.rows = to - from;
+			event.instructions = program.ops.length;
+			event.vectorized = isVectorized();
+			event.commit();
+		}
+	}
+	
+	/**
+	 * The same as {@link #evaluate(double[][], double[], int, int)}, but without an event. Used by the chunks of a {@link ParallelBatchEvaluator}.
+	 */
+	void evaluateRows(double[][] columns, double[] out, int from, int to) {
+		checkColumns(program, columns, to);
+		
+		for(int row = from; row < to; row += BLOCK_SIZE) {
+			int n = Math.min(BLOCK_SIZE, to - row);
+			evaluateBlock(columns, row, n);
+			System.arraycopy(registers[0], 0, out, row, n);
+		}
+	}
+	
+	/**
+	 * Evaluates a program that leaves multiple values on the stack (see {@link ExpressionGroup}). Every block is computed once,
+	 * and then the first value is copied into the first output column, the second value into the second column and so on.
+	 * @param columns The values of the variables, one column per variable in the order of {@link Program#getVariables()}.
+	 * @param out The columns for the results, one per value the program leaves on the stack.
+	 * @param from The first row.
+	 * @param to The row after the last row.
+	 */
+	void evaluateAll(double[][] columns, double[][] out, int from, int to) {
+		checkColumns(program, columns, to);
+		
+		for(int row = from; row < to; row += BLOCK_SIZE) {
+			int n = Math.min(BLOCK_SIZE, to - row);
+			evaluateBlock(columns, row, n);
+			for(int i = 0; i < out.length; i++) {
+				System.arraycopy(registers[i], 0, out[i], row, n);
+			}
+		}
+	}
+	
+	/**
+	 * Makes sure that there is one column for every variable of the program, and that every column has enough rows.
+	 * @param program The program that should be evaluated.
+	 * @param columns The columns of the variables.
+	 * @param rows The number of rows that are needed.
+	 */
+	static void checkColumns(Program program, double[][] columns, int rows) {
+		if(columns.length != program.variables.length) {
+			throw new IllegalArgumentException("Math parser: Expected "+program.variables.length+" columns for the variables "+Arrays.toString(program.variables)+", but got "+columns.length+"!");
+		}
+		for(int i = 0; i < columns.length; i++) {
+			if(columns[i].length < rows) {
+				throw new IllegalArgumentException("Math parser: The column of variable \""+program.variables[i]+"\" has only "+columns[i].length+" rows, but "+rows+" rows are needed!");
+			}
+		}
+	}
+	
+	/**
+	 * Runs the program for one block of rows. Afterwards, the results are in the first register.
+	 */
+	private void evaluateBlock(double[][] columns, int row, int n) {
+		int[] ops = program.ops;
+		int sp = -1;
+		
+		for(int pc = 0; pc < ops.length; pc++) {
+			int op = ops[pc];
+			switch(op) {
+				case Program.CONST -> kernel.fill(registers[++sp], program.constants[ops[++pc]], n);
+				case Program.VAR -> System.arraycopy(columns[ops[++pc]], row, registers[++sp], 0, n);
+				case Program.LOAD -> System.arraycopy(registers[ops[++pc]], 0, registers[++sp], 0, n);
+				case Program.STORE -> System.arraycopy(registers[sp], 0, registers[ops[++pc]], 0, n);
+				case Program.ADD, Program.SUB, Program.MUL, Program.DIV, Program.MOD, Program.POW, Program.ROOT -> {
+					sp--;
+					kernel.binary(op, registers[sp], registers[sp + 1], n);
+				}
+				case Program.CLAMP -> {
+					sp -= 2;
+					kernel.clamp(registers[sp], registers[sp + 1], registers[sp + 2], n);
+				}
+				default -> kernel.unary(op, registers[sp], n);
+			}
+		}
+	}
+	
+	/**
+	 * The vector kernel is created by reflection, so that this class can be loaded even if the vector API is missing.
+	 */
+	private static ColumnKernel createVectorKernel() {
+		try {
+			return (ColumnKernel) Class.forName("parser.compiler.VectorKernel").getDeclaredConstructor().newInstance();
+		} catch (ReflectiveOperationException | LinkageError e) {
+			return new ScalarKernel();
+		}
+	}
+	
+}
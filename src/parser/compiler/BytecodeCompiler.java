@@ -0,0 +1,253 @@
+package parser.compiler;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+
+import org.objectweb.asm.ClassWriter;
+import org.objectweb.asm.MethodTooLargeException;
+import org.objectweb.asm.MethodVisitor;
+import org.objectweb.asm.Opcodes;
+import org.objectweb.asm.Type;
+
+import parser.Expression;
+
+/**
+ * Compiles an {@link Expression} tree into a hidden class that implements {@link CompiledExpression}. The whole tree
+ * is flattened into one method, that only consists of arithmetic instructions, array loads and direct calls to {@link Math}.
+ * Therefore, the JIT can inline the complete formula instead of calling one method per node.
+ * <br><br>
+ * The tree is first compiled into a {@link Program}. As the JVM is a stack machine as well, every instruction of the program
+ * translates directly into a few bytecode instructions.
+ * <br><br>
+ * The generated classes are defined with {@link MethodHandles.Lookup#defineHiddenClass(byte[], boolean, MethodHandles.Lookup.ClassOption...)}
+ * and can be unloaded as soon as the compiled expression is no longer used.
+ * @author MiKa
+ * @version 1.0 (18.10.2026)
+ * @since ALPHA
+ */
+
+public class BytecodeCompiler {
+
+	private static final String MATH = "java/lang/Math";
+	private static final String UNARY = "(D)D", BINARY = "(DD)D";
+	
+	private static final String CLASS_NAME = "parser/compiler/GeneratedExpression";
+	
+	/** The local variable that is used as a temporary register for {@link Program#ROOT}. The registers of the program follow after it. */
+	private static final int TEMP = 2, REGISTERS = 4;
+	/** The same for {@link ExpressionGroup.Kernel#evaluate(double[], double[])}, where the output array is the local variable 2. */
+	private static final int GROUP_TEMP = 3, GROUP_REGISTERS = 5;
+	
+	private BytecodeCompiler() {}
+	
+	/**
+	 * Compiles the expression into a new hidden class.
+	 * @param expression The expression that should be compiled.
+	 * @param variables The names of all variables used in the expression. The position of a name is the index of the value in the array passed to {@link CompiledExpression#evaluate(double[])}.
+	 * @return The compiled expression.
+	 * @throws IllegalArgumentException If the expression uses a variable that is not listed, or contains an unknown type of expression.
+	 * @throws IllegalStateException If the expression is too large to fit into a single method.
+	 */
+	public static CompiledExpression compile(Expression expression, String... variables) {
+		return compile(ProgramCompiler.compile(expression, variables));
+	}
+	
+	/**
+	 * Compiles the program into a new hidden class.
+	 * @param program The program that should be compiled.
+	 * @return The compiled expression.
+	 * @throws IllegalStateException If the program is too large to fit into a single method.
+	 */
+	public static CompiledExpression compile(Program program) {
+		return (CompiledExpression) define(generate(program));
+	}
+	
+	/**
+	 * Compiles the program of an {@link ExpressionGroup} into a new hidden class. The program leaves one value per expression on the stack,
+	 * which are written into the output array at the end.
+	 * @param program The program that should be compiled, see {@link ProgramCompiler#compileAll(Expression[], String...)}.
+	 * @param results The number of values the program leaves on the stack.
+	 * @return The compiled group.
+	 * @throws IllegalStateException If the program is too large to fit into a single method.
+	 */
+	static ExpressionGroup.Kernel compileGroup(Program program, int results) {
+		return (ExpressionGroup.Kernel) define(generateGroup(program, results));
+	}
+	
+	/**
+	 * Defines a generated class and creates an instance of it.
+	 */
+	private static Object define(byte[] bytes) {
+		try {
+			MethodHandles.Lookup lookup = MethodHandles.lookup().defineHiddenClass(bytes, true);
+			return lookup.findConstructor(lookup.lookupClass(), MethodType.methodType(void.class)).invoke();
+		} catch (RuntimeException | Error e) {
+			throw e;
+		} catch (Throwable e) {
+			throw new IllegalStateException("Math parser: The generated class could not be defined!", e);
+		}
+	}
+	
+	/**
+	 * Generates the class file.
+	 * @param program The program that should be compiled.
+	 * @return The bytes of the class file.
+	 */
+	private static byte[] generate(Program program) {
+		ClassWriter writer = newClass(CompiledExpression.class);
+		
+		MethodVisitor evaluate = writer.visitMethod(Opcodes.ACC_PUBLIC | Opcodes.ACC_FINAL, "evaluate", "([D)D", null, null);
+		evaluate.visitCode();
+		emit(evaluate, program, TEMP, REGISTERS);
+		evaluate.visitInsn(Opcodes.DRETURN);
+		evaluate.visitMaxs(0, 0);
+		evaluate.visitEnd();
+		
+		return finish(writer);
+	}
+	
+	/**
+	 * Generates the class file of an {@link ExpressionGroup}.
+	 * @param program The program that should be compiled.
+	 * @param results The number of values the program leaves on the stack.
+	 * @return The bytes of the class file.
+	 */
+	private static byte[] generateGroup(Program program, int results) {
+		ClassWriter writer = newClass(ExpressionGroup.Kernel.class);
+		
+		MethodVisitor evaluate = writer.visitMethod(Opcodes.ACC_PUBLIC | Opcodes.ACC_FINAL, "evaluate", "([D[D)V", null, null);
+		evaluate.visitCode();
+		emit(evaluate, program, GROUP_TEMP, GROUP_REGISTERS);
+		// The results are on the stack, the last one on top. They are moved to locals after the registers, and from there into the output array.
+		int locals = GROUP_REGISTERS + 2 * program.registers;
+		for(int i = results - 1; i >= 0; i--) {
+			evaluate.visitVarInsn(Opcodes.DSTORE, locals + 2 * i);
+		}
+		for(int i = 0; i < results; i++) {
+			evaluate.visitVarInsn(Opcodes.ALOAD, 2);
+			pushInt(evaluate, i);
+			evaluate.visitVarInsn(Opcodes.DLOAD, locals + 2 * i);
+			evaluate.visitInsn(Opcodes.DASTORE);
+		}
+		evaluate.visitInsn(Opcodes.RETURN);
+		evaluate.visitMaxs(0, 0);
+		evaluate.visitEnd();
+		
+		return finish(writer);
+	}
+	
+	/**
+	 * Starts a class that implements the given interface and has a constructor without arguments.
+	 */
+	private static ClassWriter newClass(Class<?> implemented) {
+		ClassWriter writer = new ClassWriter(ClassWriter.COMPUTE_MAXS);
+		writer.visit(Opcodes.V17, Opcodes.ACC_PUBLIC | Opcodes.ACC_FINAL | Opcodes.ACC_SUPER, CLASS_NAME, null, "java/lang/Object", new String[] {Type.getInternalName(implemented)});
+		
+		MethodVisitor constructor = writer.visitMethod(Opcodes.ACC_PUBLIC, "<init>", "()V", null, null);
+		constructor.visitCode();
+		constructor.visitVarInsn(Opcodes.ALOAD, 0);
+		constructor.visitMethodInsn(Opcodes.INVOKESPECIAL, "java/lang/Object", "<init>", "()V", false);
+		constructor.visitInsn(Opcodes.RETURN);
+		constructor.visitMaxs(0, 0);
+		constructor.visitEnd();
+		return writer;
+	}
+	
+	private static byte[] finish(ClassWriter writer) {
+		writer.visitEnd();
+		
+		try {
+			return writer.toByteArray();
+		} catch (MethodTooLargeException e) {
+			throw new IllegalStateException("Math parser: The expression is too large to be compiled into a single method!", e);
+		}
+	}
+	
+	/**
+	 * Emits the bytecode of every instruction in the program. Afterwards, the result of the program is left on the operand stack.
+	 * @param method The method that is currently generated.
+	 * @param program The program that should be translated.
+	 * @param temp The local variable that is used as a temporary register.
+	 * @param registers The first local variable of the registers of the program.
+	 */
+	private static void emit(MethodVisitor method, Program program, int temp, int registers) {
+		int[] ops = program.ops;
+		
+		for(int pc = 0; pc < ops.length; pc++) {
+			switch(ops[pc]) {
+				case Program.CONST -> pushDouble(method, program.constants[ops[++pc]]);
+				case Program.VAR -> {
+					method.visitVarInsn(Opcodes.ALOAD, 1);
+					pushInt(method, ops[++pc]);
+					method.visitInsn(Opcodes.DALOAD);
+				}
+				case Program.ADD -> method.visitInsn(Opcodes.DADD);
+				case Program.SUB -> method.visitInsn(Opcodes.DSUB);
+				case Program.MUL -> method.visitInsn(Opcodes.DMUL);
+				case Program.DIV -> method.visitInsn(Opcodes.DDIV);
+				case Program.MOD -> method.visitInsn(Opcodes.DREM);
+				case Program.NEG -> method.visitInsn(Opcodes.DNEG);
+				case Program.POW -> callMath(method, "pow", BINARY);
+				case Program.ROOT -> {
+					// a b -> a (1.0 / b) -> pow
+					method.visitVarInsn(Opcodes.DSTORE, temp);
+					method.visitInsn(Opcodes.DCONST_1);
+					method.visitVarInsn(Opcodes.DLOAD, temp);
+					method.visitInsn(Opcodes.DDIV);
+					callMath(method, "pow", BINARY);
+				}
+				case Program.CLAMP -> {
+					// min max value -> min max(min(max, value))
+					callMath(method, "min", BINARY);
+					callMath(method, "max", BINARY);
+				}
+				case Program.SIN -> callMath(method, "sin", UNARY);
+				case Program.COS -> callMath(method, "cos", UNARY);
+				case Program.TAN -> callMath(method, "tan", UNARY);
+				case Program.ASIN -> callMath(method, "asin", UNARY);
+				case Program.ACOS -> callMath(method, "acos", UNARY);
+				case Program.ATAN -> callMath(method, "atan", UNARY);
+				case Program.ABS -> callMath(method, "abs", UNARY);
+				case Program.RADIANS -> callMath(method, "toRadians", UNARY);
+				case Program.DEGREES -> callMath(method, "toDegrees", UNARY);
+				case Program.SQRT -> callMath(method, "sqrt", UNARY);
+				case Program.CBRT -> callMath(method, "cbrt", UNARY);
+				case Program.LN -> callMath(method, "log", UNARY);
+				case Program.SIGN -> callMath(method, "signum", UNARY);
+				case Program.LOAD -> method.visitVarInsn(Opcodes.DLOAD, registers + 2 * (ops[++pc] - program.maxStack));
+				case Program.STORE -> {
+					method.visitInsn(Opcodes.DUP2);
+					method.visitVarInsn(Opcodes.DSTORE, registers + 2 * (ops[++pc] - program.maxStack));
+				}
+				default -> throw new IllegalStateException("Math parser: Unknown opcode "+ops[pc]+" at "+pc+"!");
+			}
+		}
+	}
+	
+	private static void pushDouble(MethodVisitor method, double value) {
+		if(Double.doubleToRawLongBits(value) == 0L) {
+			method.visitInsn(Opcodes.DCONST_0);
+		}else if(value == 1.0) {
+			method.visitInsn(Opcodes.DCONST_1);
+		}else {
+			method.visitLdcInsn(value);
+		}
+	}
+	
+	private static void callMath(MethodVisitor method, String function, String descriptor) {
+		method.visitMethodInsn(Opcodes.INVOKESTATIC, MATH, function, descriptor, false);
+	}
+	
+	private static void pushInt(MethodVisitor method, int value) {
+		if(value <= 5) {
+			method.visitInsn(Opcodes.ICONST_0 + value);
+		}else if(value <= Byte.MAX_VALUE) {
+			method.visitIntInsn(Opcodes.BIPUSH, value);
+		}else if(value <= Short.MAX_VALUE) {
+			method.visitIntInsn(Opcodes.SIPUSH, value);
+		}else {
+			method.visitLdcInsn(value);
+		}
+	}
+	
+}
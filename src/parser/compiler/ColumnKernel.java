@@ -0,0 +1,36 @@
+package parser.compiler;
+
+/**
+ * A {@link ColumnKernel} applies the instructions of a {@link Program} to whole columns of values at once.
+ * Every method works in place: the result is written into the first array.
+ * @author MiKa
+ * @version 1.0 (18.10.2026)
+ * @since ALPHA
+ * @see BatchEvaluator
+ */
+
+interface ColumnKernel {
+
+	/**
+	 * Sets the first n values of a to value.
+	 */
+	public void fill(double[] a, double value, int n);
+	
+	/**
+	 * Computes <code>a[i] = a[i] op b[i]</code> for the first n values.
+	 * @param op One of {@link Program#ADD}, {@link Program#SUB}, {@link Program#MUL}, {@link Program#DIV}, {@link Program#MOD}, {@link Program#POW} and {@link Program#ROOT}.
+	 */
+	public void binary(int op, double[] a, double[] b, int n);
+	
+	/**
+	 * Computes <code>min[i] = max(min[i], min(max[i], value[i]))</code> for the first n values.
+	 */
+	public void clamp(double[] min, double[] max, double[] value, int n);
+	
+	/**
+	 * Computes <code>a[i] = op(a[i])</code> for the first n values.
+	 * @param op One of {@link Program#NEG}, the function opcodes from {@link Program#SIN} to {@link Program#DEGREES} and from {@link Program#SQRT} to {@link Program#SIGN}.
+	 */
+	public void unary(int op, double[] a, int n);
+	
+}
@@ -0,0 +1,24 @@
+package parser.compiler;
+
+import parser.Expression;
+
+/**
+ * A {@link CompiledExpression} is an {@link Expression} that has been translated into a form that can be
+ * evaluated without walking the expression tree. The variables are not stored inside the compiled expression, but are
+ * passed with every call. The index of a variable in the array is defined when the expression is compiled.
+ * @author MiKa
+ * @version 1.0 (18.10.2026)
+ * @since ALPHA
+ * @see BytecodeCompiler
+ */
+
+public interface CompiledExpression {
+
+	/**
+	 * Evaluates the compiled expression.
+	 * @param vars The values of the variables, in the order in which the variable names were given to the compiler.
+	 * @return The computed value. The result is the same as {@link Expression#computeDouble()} of the source expression.
+	 */
+	public double evaluate(double[] vars);
+	
+}
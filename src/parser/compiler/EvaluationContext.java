@@ -0,0 +1,85 @@
+package parser.compiler;
+
+import java.util.Arrays;
+
+/**
+ * An {@link EvaluationContext} holds everything that changes while a {@link Program} is evaluated: the values of
+ * the variables and the operand stack (including the registers). A program can be shared by many threads, as long as every thread (or every call)
+ * uses its own context. Creating a context only allocates two small arrays.
+ * <br><br>
+ * <pre>
+ * Program program = expression.compile("x", "t");   // shared
+ * EvaluationContext context = program.newContext(); // one per thread
+ * context.setVariable("x", 10);
+ * double value = context.evaluate();
+ * </pre>
+ * @author MiKa
+ * @version 1.0 (18.10.2026)
+ * @since ALPHA
+ * @see Program
+ */
+
+public final class EvaluationContext {
+
+	final Program program;
+	final double[] values;
+	final double[] stack;
+	
+	EvaluationContext(Program program) {
+		this.program = program;
+		this.values = new double[program.variables.length];
+		this.stack = new double[program.getFrameSize()];
+	}
+	
+	/**
+	 * Sets the value of a variable.
+	 * @param name The name of the variable.
+	 * @param value The value of the variable.
+	 * @throws IllegalArgumentException If the program does not have a variable with that name.
+	 */
+	public void setVariable(String name, double value) {
+		int index = program.indexOf(name);
+		if(index < 0) {
+			throw new IllegalArgumentException("Math parser: Variable \""+name+"\" is not part of the variable list "+Arrays.toString(program.variables)+"!");
+		}
+		values[index] = value;
+	}
+	
+	/**
+	 * Sets the value of a variable by its index, see {@link Program#indexOf(String)}.
+	 * @param index The index of the variable.
+	 * @param value The value of the variable.
+	 */
+	public void setVariable(int index, double value) {
+		values[index] = value;
+	}
+	
+	/**
+	 * Sets the values of all variables.
+	 * @param values The values, in the order of {@link Program#getVariables()}.
+	 */
+	public void setVariables(double... values) {
+		System.arraycopy(values, 0, this.values, 0, this.values.length);
+	}
+	
+	/**
+	 * @param index The index of the variable.
+	 * @return The current value of the variable.
+	 */
+	public double getVariable(int index) {
+		return values[index];
+	}
+	
+	public Program getProgram() {
+		return program;
+	}
+	
+	/**
+	 * Evaluates the program with the current values of the variables.
+	 * @return The computed value.
+	 */
+	public double evaluate() {
+		return Interpreter.execute(program.ops, program.constants, values, stack);
+	}
+	
+}
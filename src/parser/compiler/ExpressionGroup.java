@@ -0,0 +1,171 @@
+package parser.compiler;
+
+import java.util.Arrays;
+import java.util.List;
+
+import parser.Expression;
+import parser.optimizer.SubexpressionEliminator;
+
+/**
+ * Compiles a set of expressions over the same variables into one program, that computes all of them in a single pass.
+ * Like the formulas of one element of a user interface (x, y, width, height, colors...), which are always evaluated together.
+ * <br><br>
+ * All expressions are passed through one {@link SubexpressionEliminator}, so a subexpression that appears in multiple expressions is computed only once,
+ * and its value is shared through a register (see {@link ProgramCompiler}). The results are written into one <code>double[]</code>, in the order of the expressions.
+ * A single evaluation runs in a hidden class generated by the {@link BytecodeCompiler}, or in the {@link Interpreter} if the group is too large for one method.
+ * A batch evaluation runs the same program in a {@link BatchEvaluator}, and writes one output column per expression.
+ * <br><br>
+ * The expressions are compiled when the group is created, changing them afterwards has no effect. The buffers of the evaluation are allocated once,
+ * so a group must not be used by multiple threads at the same time.
+ * <pre>
+ * ExpressionGroup layout = new ExpressionGroup(new Expression[] {x, y, width, height}, "parentWidth", "parentHeight", "t");
+ * double[] bounds = new double[layout.size()];
+ * layout.evaluate(new double[] {800, 600, 0.5}, bounds);
+ * </pre>
+ * @author MiKa
+ * @version 1.0 (18.10.2026)
+ * @since ALPHA
+ * @see BatchEvaluator
+ */
+
+public class ExpressionGroup {
+
+	/**
+	 * Computes all expressions of a group. Implemented by the classes that are generated by {@link BytecodeCompiler#compileGroup(Program, int)}.
+	 */
+	interface Kernel {
+		void evaluate(double[] vars, double[] out);
+	}
+
+	private final Program program;
+	private final int size;
+	private final Kernel kernel;
+	private final double[] stack;
+	private BatchEvaluator batch;
+
+	/**
+	 * Compiles the expressions into one group.
+	 * @param expressions The expressions. Their results are written in this order.
+	 * @param variables The names of all variables used in the expressions. The position of a name is the index of the value in the array passed to {@link #evaluate(double[], double[])}.
+	 * @throws IllegalArgumentException If there are no expressions, or an expression uses a variable that is not listed.
+	 */
+	public ExpressionGroup(Expression[] expressions, String... variables) {
+		if(expressions.length == 0) {
+			throw new IllegalArgumentException("Math parser: An expression group needs at least one expression!");
+		}
+		SubexpressionEliminator eliminator = new SubexpressionEliminator();
+		Expression[] shared = new Expression[expressions.length];
+		for(int i = 0; i < expressions.length; i++) {
+			shared[i] = eliminator.eliminate(expressions[i]);
+		}
+
+		this.program = ProgramCompiler.compileAll(shared, variables);
+		this.size = expressions.length;
+		this.kernel = compile(program, size);
+		this.stack = kernel == null ? new double[program.getFrameSize()] : null;
+	}
+
+	/**
+	 * Compiles the expressions into one group.
+	 * @param expressions The expressions. Their results are written in this order.
+	 * @param variables The names of all variables used in the expressions.
+	 * @throws IllegalArgumentException If there are no expressions, or an expression uses a variable that is not listed.
+	 */
+	public ExpressionGroup(List<Expression> expressions, String... variables) {
+		this(expressions.toArray(new Expression[0]), variables);
+	}
+
+	/**
+	 * @return The generated class, or null if the program is too large for a single method.
+	 */
+	private static Kernel compile(Program program, int size) {
+		try {
+			return BytecodeCompiler.compileGroup(program, size);
+		}catch(IllegalStateException e) {
+			return null;
+		}
+	}
+
+	/**
+	 * @return The number of expressions in this group.
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * @return The names of the variables, in the order of their values.
+	 */
+	public String[] getVariables() {
+		return program.getVariables();
+	}
+
+	/**
+	 * @return The number of instructions of the shared program, including the operands.
+	 */
+	public int getInstructions() {
+		return program.size();
+	}
+
+	/**
+	 * @return True if the group is evaluated by a generated class, false if it is evaluated by the interpreter.
+	 */
+	public boolean isCompiled() {
+		return kernel != null;
+	}
+
+	/**
+	 * Computes all expressions.
+	 * @param vars The values of the variables.
+	 * @param out The array for the results, at least as long as the number of expressions. The result of the first expression is written to index 0.
+	 */
+	public void evaluate(double[] vars, double[] out) {
+		if(out.length < size) {
+			throw new IllegalArgumentException("Math parser: The group has "+size+" results, but the output array has only "+out.length+" values!");
+		}
+		if(kernel != null) {
+			kernel.evaluate(vars, out);
+		}else {
+			Interpreter.execute(program.ops, program.constants, vars, stack);
+			System.arraycopy(stack, 0, out, 0, size);
+		}
+	}
+
+	/**
+	 * Computes all expressions.
+	 * @param vars The values of the variables.
+	 * @return The results, in the order of the expressions.
+	 */
+	public double[] evaluate(double... vars) {
+		double[] out = new double[size];
+		evaluate(vars, out);
+		return out;
+	}
+
+	/**
+	 * Computes all expressions for every row. Every block of rows is computed once for all expressions.
+	 * @param columns The values of the variables, one column per variable in the order of {@link #getVariables()}.
+	 * @param out One column per expression for the results. Its length is the number of rows, every column of the variables must have at least as many values.
+	 */
+	public void evaluate(double[][] columns, double[][] out) {
+		if(out.length != size) {
+			throw new IllegalArgumentException("Math parser: The group has "+size+" results, but got "+out.length+" output columns!");
+		}
+		int rows = out[0].length;
+		for(double[] column : out) {
+			if(column.length != rows) {
+				throw new IllegalArgumentException("Math parser: All output columns must have the same length, but got "+Arrays.toString(Arrays.stream(out).mapToInt(c -> c.length).toArray())+"!");
+			}
+		}
+		if(batch == null) {
+			batch = new BatchEvaluator(program);
+		}
+		batch.evaluateAll(columns, out, 0, rows);
+	}
+
+	@Override
+	public String toString() {
+		return "ExpressionGroup[size = "+size+", variables = "+Arrays.toString(program.variables)+", instructions = "+program.size()+"]";
+	}
+
+}
@@ -0,0 +1,258 @@
+package parser.compiler;
+
+import java.util.Arrays;
+
+import parser.Expression;
+
+/**
+ * Computes the value of a {@link Program} together with its gradient, the derivatives with respect to all variables, by reverse-mode automatic differentiation.
+ * <br><br>
+ * The tape is built once from the program: every instruction that computes a value gets one entry, which stores its opcode and the entries of its arguments
+ * in an <code>int[]</code>. Registers do not need entries of their own, a {@link Program#LOAD} simply refers to the entry that was {@link Program#STORE stored}.
+ * An evaluation then runs two loops over the tape: the forward pass records the value of every entry in a <code>double[]</code>, and the backward
+ * pass goes through the entries in reverse order and accumulates the adjoint (the derivative of the result with respect to the entry) of every argument.
+ * The adjoints of the variables are the gradient. Both loops only work on the arrays of the tape, so the gradient costs about as much as two or three evaluations
+ * of the program, no matter how many variables there are, and no objects are created.
+ * <br><br>
+ * Where a function has no derivative (like <code>abs(a)</code> at 0, or <code>clamp(a, b, c)</code> at a and b), the derivative is the average of
+ * the derivatives on both sides, the same as in {@link parser.calculus.Derivative}.
+ * <br><br>
+ * A tape holds the values of the last evaluation, so it must not be used by multiple threads at the same time. Create one tape per thread instead.
+ * <pre>
+ * GradientTape tape = GradientTape.of(expression, "x", "y");
+ * double[] gradient = new double[2];
+ * double value = tape.evaluate(new double[] {1, 2}, gradient);
+ * </pre>
+ * @author MiKa
+ * @version 1.0 (18.10.2026)
+ * @since ALPHA
+ * @see Program
+ */
+
+public class GradientTape {
+
+	/** The number of ints per entry: the opcode and up to three arguments. */
+	static final int STRIDE = 4;
+
+	private final Program program;
+
+	/** For every entry: the opcode followed by the entries of the arguments. For {@link Program#CONST} and {@link Program#VAR}, the argument is the index of the constant or the variable. */
+	private final int[] tape;
+	private final int size;
+
+	private final double[] values, adjoints;
+
+	/**
+	 * Creates a tape for a program.
+	 * @param program The program that should be differentiated.
+	 */
+	public GradientTape(Program program) {
+		this.program = program;
+		this.tape = record(program);
+		this.size = tape.length / STRIDE;
+		this.values = new double[size];
+		this.adjoints = new double[size];
+	}
+
+	/**
+	 * Builds the tape of a program.
+	 * @param program The program.
+	 * @return {@link #STRIDE} ints for every entry: the opcode followed by the entries of the arguments. The last entry is the result of the program.
+	 */
+	static int[] record(Program program) {
+		int[] ops = program.ops;
+		int[] tape = new int[ops.length * STRIDE];
+		int[] stack = new int[program.getFrameSize()];
+		int sp = -1, size = 0;
+
+		for(int pc = 0; pc < ops.length; pc++) {
+			int op = ops[pc];
+			if(op == Program.LOAD) {
+				stack[++sp] = stack[ops[++pc]];
+				continue;
+			}else if(op == Program.STORE) {
+				stack[ops[++pc]] = stack[sp];
+				continue;
+			}
+
+			int entry = size * STRIDE;
+			tape[entry] = op;
+			if(Program.hasOperand(op)) {
+				tape[entry + 1] = ops[++pc];
+				sp++;
+			}else {
+				int arguments = arguments(op);
+				sp -= arguments - 1;
+				for(int i = 0; i < arguments; i++) {
+					tape[entry + 1 + i] = stack[sp + i];
+				}
+			}
+			stack[sp] = size++;
+		}
+		return Arrays.copyOf(tape, size * STRIDE);
+	}
+
+	/**
+	 * Compiles an expression and creates a tape for it.
+	 * @param expression The expression that should be differentiated.
+	 * @param variables The names of the variables, in the order of their values and their derivatives.
+	 * @return The tape.
+	 */
+	public static GradientTape of(Expression expression, String... variables) {
+		return new GradientTape(ProgramCompiler.compile(expression, variables));
+	}
+
+	public Program getProgram() {
+		return program;
+	}
+
+	/**
+	 * @return The number of entries on the tape.
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * Computes the value and the gradient.
+	 * @param vars The values of the variables.
+	 * @param gradient The array that receives the derivatives with respect to the variables. Has to be as long as vars.
+	 * @return The value of the program.
+	 */
+	public double evaluate(double[] vars, double[] gradient) {
+		double value = forward(vars);
+		backward(gradient);
+		return value;
+	}
+
+	/**
+	 * Runs the forward pass and records the value of every entry.
+	 * @param vars The values of the variables.
+	 * @return The value of the program.
+	 */
+	public double forward(double[] vars) {
+		int[] tape = this.tape;
+		double[] v = values;
+		double[] constants = program.constants;
+
+		for(int i = 0, e = 0; i < size; i++, e += STRIDE) {
+			int a = tape[e + 1], b = tape[e + 2];
+			v[i] = switch(tape[e]) {
+				case Program.CONST -> constants[a];
+				case Program.VAR -> vars[a];
+				case Program.ADD -> v[a] + v[b];
+				case Program.SUB -> v[a] - v[b];
+				case Program.MUL -> v[a] * v[b];
+				case Program.DIV -> v[a] / v[b];
+				case Program.MOD -> v[a] % v[b];
+				case Program.POW -> Math.pow(v[a], v[b]);
+				case Program.ROOT -> Math.pow(v[a], 1.0 / v[b]);
+				case Program.CLAMP -> Math.max(v[a], Math.min(v[b], v[tape[e + 3]]));
+				case Program.NEG -> -v[a];
+				case Program.SIN -> Math.sin(v[a]);
+				case Program.COS -> Math.cos(v[a]);
+				case Program.TAN -> Math.tan(v[a]);
+				case Program.ASIN -> Math.asin(v[a]);
+				case Program.ACOS -> Math.acos(v[a]);
+				case Program.ATAN -> Math.atan(v[a]);
+				case Program.ABS -> Math.abs(v[a]);
+				case Program.RADIANS -> Math.toRadians(v[a]);
+				case Program.DEGREES -> Math.toDegrees(v[a]);
+				case Program.SQRT -> Math.sqrt(v[a]);
+				case Program.CBRT -> Math.cbrt(v[a]);
+				case Program.LN -> Math.log(v[a]);
+				case Program.SIGN -> Math.signum(v[a]);
+				default -> throw new IllegalStateException("Math parser: Unknown opcode "+tape[e]+" on the tape!");
+			};
+		}
+		return v[size - 1];
+	}
+
+	/**
+	 * Runs the backward pass over the values of the last {@link #forward(double[]) forward pass}.
+	 * @param gradient The array that receives the derivatives with respect to the variables. Has to hold one value per variable.
+	 */
+	public void backward(double[] gradient) {
+		int[] tape = this.tape;
+		double[] v = values, adjoint = adjoints;
+		Arrays.fill(adjoint, 0);
+		Arrays.fill(gradient, 0, program.variables.length, 0);
+		adjoint[size - 1] = 1;
+
+		for(int i = size - 1, e = i * STRIDE; i >= 0; i--, e -= STRIDE) {
+			double g = adjoint[i];
+			if(g == 0) {
+				continue;
+			}
+			int a = tape[e + 1], b = tape[e + 2];
+			switch(tape[e]) {
+				case Program.CONST -> {}
+				case Program.VAR -> gradient[a] += g;
+				case Program.ADD -> { adjoint[a] += g; adjoint[b] += g; }
+				case Program.SUB -> { adjoint[a] += g; adjoint[b] -= g; }
+				case Program.MUL -> { adjoint[a] += g * v[b]; adjoint[b] += g * v[a]; }
+				case Program.DIV -> { adjoint[a] += g / v[b]; adjoint[b] -= g * v[i] / v[b]; }
+				case Program.MOD -> {
+					// a % b = a - trunc(a / b) * b
+					adjoint[a] += g;
+					adjoint[b] -= g * ((v[a] - v[i]) / v[b]);
+				}
+				case Program.POW -> {
+					adjoint[a] += g * v[b] * Math.pow(v[a], v[b] - 1);
+					adjoint[b] += g * v[i] * Math.log(v[a]);
+				}
+				case Program.ROOT -> {
+					adjoint[a] += g * Math.pow(v[a], 1.0 / v[b] - 1) / v[b];
+					adjoint[b] -= g * v[i] * Math.log(v[a]) / (v[b] * v[b]);
+				}
+				case Program.CLAMP -> {
+					int c = tape[e + 3];
+					adjoint[a] += g * step(v[a] - v[c]);
+					adjoint[b] += g * step(v[c] - v[b]);
+					adjoint[c] += g * step(v[c] - v[a]) * step(v[b] - v[c]);
+				}
+				case Program.NEG -> adjoint[a] -= g;
+				case Program.SIN -> adjoint[a] += g * Math.cos(v[a]);
+				case Program.COS -> adjoint[a] -= g * Math.sin(v[a]);
+				case Program.TAN -> adjoint[a] += g * (1 + v[i] * v[i]);
+				case Program.ASIN -> adjoint[a] += g / Math.sqrt(1 - v[a] * v[a]);
+				case Program.ACOS -> adjoint[a] -= g / Math.sqrt(1 - v[a] * v[a]);
+				case Program.ATAN -> adjoint[a] += g / (1 + v[a] * v[a]);
+				case Program.ABS -> adjoint[a] += g * Math.signum(v[a]);
+				case Program.RADIANS -> adjoint[a] += Math.toRadians(g);
+				case Program.DEGREES -> adjoint[a] += Math.toDegrees(g);
+				case Program.SQRT -> adjoint[a] += g / (2 * v[i]);
+				case Program.CBRT -> adjoint[a] += g / (3 * v[i] * v[i]);
+				case Program.LN -> adjoint[a] += g / v[a];
+				case Program.SIGN -> {}
+				default -> throw new IllegalStateException("Math parser: Unknown opcode "+tape[e]+" on the tape!");
+			}
+		}
+	}
+
+	/**
+	 * @return The values of all entries of the last forward pass. The last entry is the value of the program.
+	 */
+	public double[] getValues() {
+		return values.clone();
+	}
+
+	/**
+	 * @return 1 for positive values, 0 for negative values and 0.5 for 0.
+	 */
+	private static double step(double value) {
+		return (Math.signum(value) + 1) * 0.5;
+	}
+
+	/**
+	 * @return The number of values an instruction takes from the stack.
+	 */
+	static int arguments(int op) {
+		return switch(op) {
+			case Program.ADD, Program.SUB, Program.MUL, Program.DIV, Program.MOD, Program.POW, Program.ROOT -> 2;
+			case Program.CLAMP -> 3;
+			default -> 1;
+		};
+	}
+
+}
@@ -0,0 +1,284 @@
+package parser.compiler;
+
+import java.util.Arrays;
+
+import parser.Expression;
+
+/**
+ * Evaluates a {@link Program} again and again, while only some of its variables change between the evaluations.
+ * Every value the program computes is cached, and only the values that depend on a changed variable are computed again.
+ * <br><br>
+ * The values are the entries of the same tape as in a {@link GradientTape}. When the evaluator is created, it collects for every variable the entries
+ * that depend on it, in the order of the tape. Changing a variable marks these entries as dirty, and the next {@link #evaluate()} only computes the dirty entries,
+ * in the order of the tape, while all other entries keep their cached values. For a tree in which a variable is used once, that is only the path from
+ * the variable to the root, so the cost of an evaluation grows with the depth of the expression instead of its size. Setting a variable to the value it already has
+ * marks nothing as dirty.
+ * <br><br>
+ * The results are the same as the ones of the {@link Interpreter}. An incremental evaluator holds the values of the last evaluation,
+ * so it must not be used by multiple threads at the same time.
+ * <pre>
+ * IncrementalEvaluator evaluator = IncrementalEvaluator.of(expression, "t", "x", "width");
+ * evaluator.set(1, x);
+ * evaluator.set(2, width);
+ * while(running) {
+ * 	evaluator.set(0, t);
+ * 	double value = evaluator.evaluate(); // only computes the values that depend on t
+ * }
+ * </pre>
+ * @author MiKa
+ * @version 1.0 (18.10.2026)
+ * @since ALPHA
+ * @see GradientTape
+ */
+
+public class IncrementalEvaluator implements CompiledExpression {
+
+	private static final int STRIDE = GradientTape.STRIDE;
+
+	private final Program program;
+	private final int[] tape;
+	private final int size;
+
+	/** The entries that depend on each variable, in the order of the tape. */
+	private final int[][] dependents;
+
+	private final double[] variables, values;
+
+	/** The entries that have to be computed by the next evaluation. Sorted, as long as sorted is true. */
+	private final boolean[] dirty;
+	private final int[] pending;
+	private int pendingCount;
+	private boolean sorted = true;
+	private int recomputed;
+
+	/**
+	 * Creates an incremental evaluator. All variables are 0, until they are set.
+	 * @param program The program that should be evaluated.
+	 */
+	public IncrementalEvaluator(Program program) {
+		this.program = program;
+		this.tape = GradientTape.record(program);
+		this.size = tape.length / STRIDE;
+		this.variables = new double[program.variables.length];
+		this.values = new double[size];
+		this.dirty = new boolean[size];
+		this.pending = new int[size];
+		this.dependents = collectDependents();
+
+		// Nothing has been computed yet
+		for(int i = 0; i < size; i++) {
+			dirty[i] = true;
+			pending[i] = i;
+		}
+		pendingCount = size;
+	}
+
+	/**
+	 * Compiles an expression and creates an incremental evaluator for it.
+	 * @param expression The expression that should be evaluated.
+	 * @param variables The names of the variables, in the order of their indices.
+	 * @return The incremental evaluator.
+	 */
+	public static IncrementalEvaluator of(Expression expression, String... variables) {
+		return new IncrementalEvaluator(ProgramCompiler.compile(expression, variables));
+	}
+
+	/**
+	 * Follows the arguments of the tape backwards, from every variable to all entries that use it.
+	 */
+	private int[][] collectDependents() {
+		// The users of every entry, as one array with the start index of every entry
+		int[] start = new int[size + 1];
+		for(int i = 0, e = 0; i < size; i++, e += STRIDE) {
+			if(!Program.hasOperand(tape[e])) {
+				for(int a = 0; a < GradientTape.arguments(tape[e]); a++) {
+					start[tape[e + 1 + a] + 1]++;
+				}
+			}
+		}
+		for(int i = 0; i < size; i++) {
+			start[i + 1] += start[i];
+		}
+		int[] users = new int[start[size]];
+		int[] next = Arrays.copyOf(start, size);
+		for(int i = 0, e = 0; i < size; i++, e += STRIDE) {
+			if(!Program.hasOperand(tape[e])) {
+				for(int a = 0; a < GradientTape.arguments(tape[e]); a++) {
+					users[next[tape[e + 1 + a]]++] = i;
+				}
+			}
+		}
+
+		int[][] dependents = new int[variables.length][];
+		int[] visited = new int[size];
+		int[] found = new int[size];
+		for(int v = 0; v < variables.length; v++) {
+			int count = 0;
+			for(int i = 0, e = 0; i < size; i++, e += STRIDE) {
+				if(tape[e] == Program.VAR && tape[e + 1] == v && visited[i] != v + 1) {
+					visited[i] = v + 1;
+					found[count++] = i;
+				}
+			}
+			// found is used as the work list, every entry that is added is visited later
+			for(int k = 0; k < count; k++) {
+				int entry = found[k];
+				for(int u = start[entry]; u < start[entry + 1]; u++) {
+					if(visited[users[u]] != v + 1) {
+						visited[users[u]] = v + 1;
+						found[count++] = users[u];
+					}
+				}
+			}
+			dependents[v] = Arrays.copyOf(found, count);
+			Arrays.sort(dependents[v]);
+		}
+		return dependents;
+	}
+
+	public Program getProgram() {
+		return program;
+	}
+
+	/**
+	 * @return The number of cached values.
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * @param name The name of a variable.
+	 * @return The index of the variable, -1 if the program does not have a variable with this name.
+	 */
+	public int indexOf(String name) {
+		for(int i = 0; i < program.variables.length; i++) {
+			if(program.variables[i].equals(name)) {
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * Changes the value of a variable. The values that depend on it are computed by the next evaluation.
+	 * @param variable The index of the variable.
+	 * @param value The new value.
+	 */
+	public void set(int variable, double value) {
+		if(Double.doubleToRawLongBits(variables[variable]) == Double.doubleToRawLongBits(value)) {
+			return;
+		}
+		variables[variable] = value;
+
+		int before = pendingCount;
+		for(int entry : dependents[variable]) {
+			if(!dirty[entry]) {
+				dirty[entry] = true;
+				pending[pendingCount++] = entry;
+			}
+		}
+		// The entries of one variable are sorted, but not together with the entries of another variable
+		if(before > 0 && pendingCount > before) {
+			sorted = false;
+		}
+	}
+
+	/**
+	 * Changes the value of a variable. The values that depend on it are computed by the next evaluation.
+	 * @param name The name of the variable.
+	 * @param value The new value.
+	 * @throws IllegalArgumentException If the program does not have a variable with this name.
+	 */
+	public void set(String name, double value) {
+		int index = indexOf(name);
+		if(index < 0) {
+			throw new IllegalArgumentException("Math parser: The variable \""+name+"\" is not one of "+Arrays.toString(program.variables)+"!");
+		}
+		set(index, value);
+	}
+
+	/**
+	 * @param variable The index of the variable.
+	 * @return The current value of the variable.
+	 */
+	public double get(int variable) {
+		return variables[variable];
+	}
+
+	/**
+	 * Sets all variables and evaluates the program. Only the variables that differ from the last call cause values to be computed again.
+	 * @param vars The values of the variables.
+	 * @return The value of the program.
+	 */
+	@Override
+	public double evaluate(double[] vars) {
+		for(int i = 0; i < variables.length; i++) {
+			set(i, vars[i]);
+		}
+		return evaluate();
+	}
+
+	/**
+	 * Computes all values that depend on a variable that changed since the last evaluation.
+	 * @return The value of the program.
+	 */
+	public double evaluate() {
+		int count = pendingCount;
+		if(count > 0) {
+			if(!sorted) {
+				Arrays.sort(pending, 0, count);
+				sorted = true;
+			}
+			for(int k = 0; k < count; k++) {
+				int entry = pending[k];
+				values[entry] = compute(entry);
+				dirty[entry] = false;
+			}
+			pendingCount = 0;
+		}
+		recomputed = count;
+		return values[size - 1];
+	}
+
+	/**
+	 * @return The number of values that were computed by the last evaluation.
+	 */
+	public int getRecomputed() {
+		return recomputed;
+	}
+
+	private double compute(int entry) {
+		double[] v = values;
+		int e = entry * STRIDE;
+		int a = tape[e + 1], b = tape[e + 2];
+		return switch(tape[e]) {
+			case Program.CONST -> program.constants[a];
+			case Program.VAR -> variables[a];
+			case Program.ADD -> v[a] + v[b];
+			case Program.SUB -> v[a] - v[b];
+			case Program.MUL -> v[a] * v[b];
+			case Program.DIV -> v[a] / v[b];
+			case Program.MOD -> v[a] % v[b];
+			case Program.POW -> Math.pow(v[a], v[b]);
+			case Program.ROOT -> Math.pow(v[a], 1.0 / v[b]);
+			case Program.CLAMP -> Math.max(v[a], Math.min(v[b], v[tape[e + 3]]));
+			case Program.NEG -> -v[a];
+			case Program.SIN -> Math.sin(v[a]);
+			case Program.COS -> Math.cos(v[a]);
+			case Program.TAN -> Math.tan(v[a]);
+			case Program.ASIN -> Math.asin(v[a]);
+			case Program.ACOS -> Math.acos(v[a]);
+			case Program.ATAN -> Math.atan(v[a]);
+			case Program.ABS -> Math.abs(v[a]);
+			case Program.RADIANS -> Math.toRadians(v[a]);
+			case Program.DEGREES -> Math.toDegrees(v[a]);
+			case Program.SQRT -> Math.sqrt(v[a]);
+			case Program.CBRT -> Math.cbrt(v[a]);
+			case Program.LN -> Math.log(v[a]);
+			case Program.SIGN -> Math.signum(v[a]);
+			default -> throw new IllegalStateException("Math parser: Unknown opcode "+tape[e]+" on the tape!");
+		};
+	}
+
+}
@@ -0,0 +1,82 @@
+package parser.compiler;
+
+import parser.Expression;
+
+/**
+ * Executes a {@link Program} in a single loop over its opcodes. The operand stack is allocated once together
+ * with the interpreter, so an evaluation does not allocate anything. Because of this shared stack, one interpreter
+ * must not be used by multiple threads at the same time. Create one interpreter per thread instead, they can all share the same program.
+ * <br><br>
+ * The results are exactly the same as the ones of {@link Expression#computeDouble()} of the compiled expression.
+ * @author MiKa
+ * @version 1.0 (18.10.2026)
+ * @since ALPHA
+ * @see Program
+ */
+
+public class Interpreter implements CompiledExpression {
+
+	private final Program program;
+	private final double[] stack;
+	
+	public Interpreter(Program program) {
+		this.program = program;
+		this.stack = new double[program.getFrameSize()];
+	}
+	
+	public Program getProgram() {
+		return program;
+	}
+	
+	@Override
+	public double evaluate(double[] vars) {
+		return execute(program.ops, program.constants, vars, stack);
+	}
+	
+	/**
+	 * Runs a program.
+	 * @param ops The opcodes of the program.
+	 * @param constants The constant pool of the program.
+	 * @param vars The values of the variables.
+	 * @param stack The operand stack, followed by the registers. Has to hold at least {@link Program#getFrameSize()} values.
+	 * @return The value that is left on the stack.
+	 */
+	static double execute(int[] ops, double[] constants, double[] vars, double[] stack) {
+		int sp = -1;
+		
+		for(int pc = 0; pc < ops.length; pc++) {
+			switch(ops[pc]) {
+				case Program.CONST -> stack[++sp] = constants[ops[++pc]];
+				case Program.VAR -> stack[++sp] = vars[ops[++pc]];
+				case Program.ADD -> { sp--; stack[sp] = stack[sp] + stack[sp + 1]; }
+				case Program.SUB -> { sp--; stack[sp] = stack[sp] - stack[sp + 1]; }
+				case Program.MUL -> { sp--; stack[sp] = stack[sp] * stack[sp + 1]; }
+				case Program.DIV -> { sp--; stack[sp] = stack[sp] / stack[sp + 1]; }
+				case Program.MOD -> { sp--; stack[sp] = stack[sp] % stack[sp + 1]; }
+				case Program.POW -> { sp--; stack[sp] = Math.pow(stack[sp], stack[sp + 1]); }
+				case Program.ROOT -> { sp--; stack[sp] = Math.pow(stack[sp], 1.0 / stack[sp + 1]); }
+				case Program.CLAMP -> { sp -= 2; stack[sp] = Math.max(stack[sp], Math.min(stack[sp + 1], stack[sp + 2])); }
+				case Program.NEG -> stack[sp] = -stack[sp];
+				case Program.SIN -> stack[sp] = Math.sin(stack[sp]);
+				case Program.COS -> stack[sp] = Math.cos(stack[sp]);
+				case Program.TAN -> stack[sp] = Math.tan(stack[sp]);
+				case Program.ASIN -> stack[sp] = Math.asin(stack[sp]);
+				case Program.ACOS -> stack[sp] = Math.acos(stack[sp]);
+				case Program.ATAN -> stack[sp] = Math.atan(stack[sp]);
+				case Program.ABS -> stack[sp] = Math.abs(stack[sp]);
+				case Program.RADIANS -> stack[sp] = Math.toRadians(stack[sp]);
+				case Program.DEGREES -> stack[sp] = Math.toDegrees(stack[sp]);
+				case Program.SQRT -> stack[sp] = Math.sqrt(stack[sp]);
+				case Program.CBRT -> stack[sp] = Math.cbrt(stack[sp]);
+				case Program.LN -> stack[sp] = Math.log(stack[sp]);
+				case Program.SIGN -> stack[sp] = Math.signum(stack[sp]);
+				case Program.LOAD -> stack[++sp] = stack[ops[++pc]];
+				case Program.STORE -> stack[ops[++pc]] = stack[sp];
+				default -> throw new IllegalStateException("Math parser: Unknown opcode "+ops[pc]+" at "+pc+"!");
+			}
+		}
+		
+		return stack[0];
+	}
+	
+}
@@ -0,0 +1,316 @@
+package parser.compiler;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+
+import javax.lang.model.SourceVersion;
+
+import parser.Expression;
+import parser.VariableExpression;
+
+/**
+ * Generates the Java source code of a class with one static method per formula. The class can be compiled together with the rest of a project,
+ * so the formulas are parsed, optimized and compiled at build time, and the JIT treats them like any other method from the first call on.
+ * <br><br>
+ * Every formula <code>name</code> with the variables <code>x</code> and <code>y</code> gets:
+ * <ul>
+ * 	<li><code>double name(double x, double y)</code>, which computes the formula,</li>
+ * 	<li><code>double name(double[] vars)</code>, which takes the values in the same order as a {@link CompiledExpression} bound to the same variables,</li>
+ * 	<li><code>List&lt;String&gt; NAME_VARIABLES</code>, the names of the variables in this order,</li>
+ * 	<li><code>CompiledExpression NAME</code>, which calls the array method.</li>
+ * </ul>
+ * The methods are generated from the {@link Program} of the formula and compute exactly the same values as the {@link Interpreter}.
+ * Shared subexpressions are kept in local variables. Names of variables that are not valid Java names, contain a <code>$</code> (like the local variables)
+ * or are <code>java</code> (which would hide the package of the fully qualified <code>java.lang.Math</code>) are replaced by <code>$v0</code>, <code>$v1</code>, ...
+ * in the parameter list, so that a variable can never hide a name that the generated code uses.
+ * <pre>
+ * JavaSourceGenerator generator = new JavaSourceGenerator("shapes", "ShapeFormulas");
+ * generator.add("area", Expression.parse("w * h", true), "w", "h");
+ * String source = generator.generate();
+ * </pre>
+ * @author MiKa
+ * @version 1.0 (18.10.2026)
+ * @since ALPHA
+ * @see parser.aot.Formula
+ */
+
+public class JavaSourceGenerator {
+
+	/** Longer expressions are moved into a local variable, so that the generated lines stay readable and the compiler does not have to nest too deeply. */
+	private static final int MAX_INLINE_LENGTH = 120;
+
+	private final String packageName, className;
+	private final List<String> methods = new ArrayList<>();
+	/** The names of the constants of the formulas that have already been added. */
+	private final HashSet<String> names = new HashSet<>();
+
+	/**
+	 * @param packageName The package of the generated class, or an empty string for the default package.
+	 * @param className The simple name of the generated class.
+	 */
+	public JavaSourceGenerator(String packageName, String className) {
+		if(!packageName.isEmpty() && !SourceVersion.isName(packageName)) {
+			throw new IllegalArgumentException("Math parser: \""+packageName+"\" is not a valid package name!");
+		}
+		if(!isIdentifier(className) || className.equals("java")) {
+			throw new IllegalArgumentException("Math parser: \""+className+"\" is not a valid class name!");
+		}
+		this.packageName = packageName;
+		this.className = className;
+	}
+
+	/**
+	 * Adds a formula, whose variables are ordered by their first appearance in the expression.
+	 * @param name The name of the method.
+	 * @param expression The expression, which should already be optimized.
+	 * @throws IllegalArgumentException If the name is not a valid method name or already used, or the expression cannot be compiled.
+	 */
+	public void add(String name, Expression expression) {
+		add(name, expression, variablesOf(expression));
+	}
+
+	/**
+	 * Adds a formula.
+	 * @param name The name of the method.
+	 * @param expression The expression, which should already be optimized.
+	 * @param variables The names of the variables, in the order of the parameters.
+	 * @throws IllegalArgumentException If the name is not a valid method name or already used, or the expression uses a variable that is not listed.
+	 */
+	public void add(String name, Expression expression, String... variables) {
+		add(name, ProgramCompiler.compile(expression, variables), expression.toString());
+	}
+
+	/**
+	 * Adds a compiled formula.
+	 * @param name The name of the method.
+	 * @param program The program of the formula.
+	 * @param description The text that is shown in the documentation of the method, usually the formula.
+	 * @throws IllegalArgumentException If the name is not a valid method name or already used (also with different case, as the constants are in upper case).
+	 */
+	public void add(String name, Program program, String description) {
+		if(!isIdentifier(name)) {
+			throw new IllegalArgumentException("Math parser: \""+name+"\" is not a valid method name!");
+		}
+		if(!names.add(name.toUpperCase(Locale.ROOT))) {
+			throw new IllegalArgumentException("Math parser: The formula \""+name+"\" is already defined!");
+		}
+		methods.add(method(name, program, description));
+	}
+
+	/**
+	 * @return The source code of the class with all formulas that have been added.
+	 */
+	public String generate() {
+		StringBuilder out = new StringBuilder();
+		if(!packageName.isEmpty()) {
+			out.append("package ").append(packageName).append(";\n\n");
+		}
+		out.append("import java.util.List;\n\n");
+		out.append("import parser.compiler.CompiledExpression;\n\n");
+		out.append("/**\n * Generated by the math parser, do not edit.\n */\n");
+		out.append("public final class ").append(className).append(" {\n\n");
+		out.append("\tprivate ").append(className).append("() {}\n");
+		for(String method : methods) {
+			out.append('\n').append(method);
+		}
+		out.append("\n}\n");
+		return out.toString();
+	}
+
+	/**
+	 * @param expression An expression.
+	 * @return The names of all variables of the expression, in the order of their first appearance.
+	 */
+	public static String[] variablesOf(Expression expression) {
+		LinkedHashSet<String> variables = new LinkedHashSet<>();
+		collectVariables(expression, variables);
+		return variables.toArray(new String[0]);
+	}
+
+	private static void collectVariables(Expression expression, LinkedHashSet<String> variables) {
+		if(expression instanceof VariableExpression variable) {
+			variables.add(variable.getName());
+		}
+		for(Expression child : expression.getChildren()) {
+			collectVariables(child, variables);
+		}
+	}
+
+	private static String method(String name, Program program, String description) {
+		String[] variables = program.variables;
+		String[] parameters = new String[variables.length];
+		for(int i = 0; i < variables.length; i++) {
+			parameters[i] = isParameterName(variables[i]) ? variables[i] : "$v"+i;
+		}
+		String constant = name.toUpperCase(Locale.ROOT);
+
+		StringBuilder out = new StringBuilder();
+		out.append("\t/** The variables of {@link #").append(name).append("(double[])}, in the order of their values. */\n");
+		out.append("\tpublic static final List<String> ").append(constant).append("_VARIABLES = List.of(");
+		for(int i = 0; i < variables.length; i++) {
+			out.append(i > 0 ? ", " : "").append(literal(variables[i]));
+		}
+		out.append(");\n");
+		out.append("\t/** <code>").append(escape(description)).append("</code> with the values in the order of {@link #").append(constant).append("_VARIABLES}. */\n");
+		out.append("\tpublic static final CompiledExpression ").append(constant).append(" = ").append("vars -> ").append(name).append("(vars);\n\n");
+
+		out.append("\t/**\n\t * <code>").append(escape(description)).append("</code>\n");
+		for(int i = 0; i < variables.length; i++) {
+			out.append("\t * @param ").append(parameters[i]).append(" The variable ").append(escape(variables[i])).append(".\n");
+		}
+		out.append("\t */\n");
+		out.append("\tpublic static double ").append(name).append('(');
+		for(int i = 0; i < parameters.length; i++) {
+			out.append(i > 0 ? ", " : "").append("double ").append(parameters[i]);
+		}
+		out.append(") {\n");
+		body(out, program, parameters);
+		out.append("\t}\n\n");
+
+		out.append("\t/**\n\t * <code>").append(escape(description)).append("</code>\n");
+		out.append("\t * @param vars The values of the variables, in the order of {@link #").append(constant).append("_VARIABLES}.\n\t */\n");
+		out.append("\tpublic static double ").append(name).append("(double[] vars) {\n");
+		out.append("\t\treturn ").append(name).append('(');
+		for(int i = 0; i < parameters.length; i++) {
+			out.append(i > 0 ? ", " : "").append("vars[").append(i).append(']');
+		}
+		out.append(");\n\t}\n");
+		return out.toString();
+	}
+
+	/**
+	 * Translates the instructions into statements. The stack holds Java expressions instead of values, registers and long expressions become local variables.
+	 */
+	private static void body(StringBuilder out, Program program, String[] parameters) {
+		int[] ops = program.ops;
+		String[] stack = new String[Math.max(1, program.maxStack)];
+		String[] registers = new String[program.registers];
+		int sp = -1, temps = 0;
+
+		for(int pc = 0; pc < ops.length; pc++) {
+			int op = ops[pc];
+			String result;
+			switch(op) {
+				case Program.CONST -> result = number(program.constants[ops[++pc]]);
+				case Program.VAR -> result = parameters[ops[++pc]];
+				case Program.LOAD -> result = registers[ops[++pc] - program.maxStack];
+				case Program.STORE -> {
+					int register = ops[++pc] - program.maxStack;
+					if(isSimple(stack[sp])) {
+						// Parameters, constants and other locals are used directly
+						registers[register] = stack[sp];
+					}else {
+						registers[register] = "$r"+register;
+						out.append("\t\tdouble ").append(registers[register]).append(" = ").append(stack[sp]).append(";\n");
+						stack[sp] = registers[register];
+					}
+					continue;
+				}
+				case Program.ADD -> { result = binary(stack[sp - 1], " + ", stack[sp]); sp -= 2; }
+				case Program.SUB -> { result = binary(stack[sp - 1], " - ", stack[sp]); sp -= 2; }
+				case Program.MUL -> { result = binary(stack[sp - 1], " * ", stack[sp]); sp -= 2; }
+				case Program.DIV -> { result = binary(stack[sp - 1], " / ", stack[sp]); sp -= 2; }
+				case Program.MOD -> { result = binary(stack[sp - 1], " % ", stack[sp]); sp -= 2; }
+				case Program.POW -> { result = "java.lang.Math.pow("+stack[sp - 1]+", "+stack[sp]+")"; sp -= 2; }
+				case Program.ROOT -> { result = "java.lang.Math.pow("+stack[sp - 1]+", 1.0 / "+stack[sp]+")"; sp -= 2; }
+				case Program.CLAMP -> {
+					result = "java.lang.Math.max("+stack[sp - 2]+", java.lang.Math.min("+stack[sp - 1]+", "+stack[sp]+"))";
+					sp -= 3;
+				}
+				case Program.NEG -> result = "(-"+stack[sp--]+")";
+				case Program.SIN -> result = call("sin", stack[sp--]);
+				case Program.COS -> result = call("cos", stack[sp--]);
+				case Program.TAN -> result = call("tan", stack[sp--]);
+				case Program.ASIN -> result = call("asin", stack[sp--]);
+				case Program.ACOS -> result = call("acos", stack[sp--]);
+				case Program.ATAN -> result = call("atan", stack[sp--]);
+				case Program.ABS -> result = call("abs", stack[sp--]);
+				case Program.RADIANS -> result = call("toRadians", stack[sp--]);
+				case Program.DEGREES -> result = call("toDegrees", stack[sp--]);
+				case Program.SQRT -> result = call("sqrt", stack[sp--]);
+				case Program.CBRT -> result = call("cbrt", stack[sp--]);
+				case Program.LN -> result = call("log", stack[sp--]);
+				case Program.SIGN -> result = call("signum", stack[sp--]);
+				default -> throw new IllegalStateException("Math parser: Unknown opcode "+op+" at "+pc+"!");
+			}
+			if(result.length() > MAX_INLINE_LENGTH) {
+				String temp = "$t"+(temps++);
+				out.append("\t\tdouble ").append(temp).append(" = ").append(result).append(";\n");
+				result = temp;
+			}
+			stack[++sp] = result;
+		}
+		out.append("\t\treturn ").append(stack[0]).append(";\n");
+	}
+
+	/**
+	 * @return True if the expression is a single name or number, which does not have to be kept in a local variable.
+	 */
+	private static boolean isSimple(String expression) {
+		for(int i = 0; i < expression.length(); i++) {
+			if(!Character.isJavaIdentifierPart(expression.charAt(i)) && expression.charAt(i) != '.') {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private static String binary(String a, String operator, String b) {
+		return "("+a+operator+b+")";
+	}
+
+	private static String call(String function, String argument) {
+		return "java.lang.Math."+function+"("+argument+")";
+	}
+
+	/**
+	 * @return A Java literal with exactly the same value.
+	 */
+	private static String number(double value) {
+		if(Double.isNaN(value)) {
+			return "java.lang.Double.NaN";
+		}else if(Double.isInfinite(value)) {
+			return value > 0 ? "java.lang.Double.POSITIVE_INFINITY" : "java.lang.Double.NEGATIVE_INFINITY";
+		}
+		String literal = Double.toString(value);
+		return literal.startsWith("-") ? "("+literal+")" : literal;
+	}
+
+	private static String literal(String text) {
+		StringBuilder out = new StringBuilder("\"");
+		for(int i = 0; i < text.length(); i++) {
+			char c = text.charAt(i);
+			if(c == '"' || c == '\\') {
+				out.append('\\').append(c);
+			}else if(c < ' ' || c > '~') {
+				out.append(String.format("\\u%04x", (int) c));
+			}else {
+				out.append(c);
+			}
+		}
+		return out.append('"').toString();
+	}
+
+	/**
+	 * Makes a text safe to be used inside of a documentation comment.
+	 */
+	private static String escape(String text) {
+		return text.replace("&", "&amp;").replace("<", "&lt;").replace(">", "&gt;").replace("*/", "*&#47;").replace("@", "&#64;").replace("\\u", "\\\\u");
+	}
+
+	private static boolean isIdentifier(String name) {
+		return SourceVersion.isIdentifier(name) && !SourceVersion.isKeyword(name);
+	}
+
+	/**
+	 * @return True if the name of a variable can be used as the name of its parameter, without hiding the local variables
+	 * (<code>$r0</code>, <code>$t0</code>, ...) or the package <code>java</code>, which the generated code uses.
+	 */
+	private static boolean isParameterName(String name) {
+		return isIdentifier(name) && name.indexOf('$') < 0 && !name.equals("java");
+	}
+
+}
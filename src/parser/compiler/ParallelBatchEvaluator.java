@@ -0,0 +1,152 @@
+package parser.compiler;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import parser.Expression;
+import parser.monitoring.BatchEvent;
+
+/**
+ * Evaluates a {@link Program} for many rows on multiple threads. The rows are split into chunks, and every chunk is
+ * evaluated by its own {@link BatchEvaluator} on a {@link ForkJoinPool}. All chunks write into the same output array,
+ * but never into the same rows.
+ * <br><br>
+ * The program itself is never changed, and the variables are passed as columns, so no state is shared between the threads.
+ * Every row is computed by exactly the same instructions no matter how the rows are split, so the results do not depend
+ * on the chunk size or the number of threads.
+ * @author MiKa
+ * @version 1.0 (18.10.2026)
+ * @since ALPHA
+ * @see BatchEvaluator
+ */
+
+public class ParallelBatchEvaluator {
+
+	/** The default number of rows per chunk. */
+	public static final int DEFAULT_CHUNK_SIZE = 16384;
+	
+	private final Program program;
+	private final ForkJoinPool pool;
+	private final int chunkSize;
+	private final boolean vectorized;
+	
+	/**
+	 * Creates a parallel evaluator that uses the {@link ForkJoinPool#commonPool() common pool} and the {@link #DEFAULT_CHUNK_SIZE}.
+	 * @param program The program that should be evaluated.
+	 */
+	public ParallelBatchEvaluator(Program program) {
+		this(program, ForkJoinPool.commonPool(), DEFAULT_CHUNK_SIZE);
+	}
+	
+	/**
+	 * @param program The program that should be evaluated.
+	 * @param pool The pool that runs the chunks.
+	 * @param chunkSize The maximum number of rows that are evaluated by one task. Is rounded up to a multiple of {@link BatchEvaluator#BLOCK_SIZE}.
+	 */
+	public ParallelBatchEvaluator(Program program, ForkJoinPool pool, int chunkSize) {
+		this(program, pool, chunkSize, BatchEvaluator.isVectorAvailable());
+	}
+	
+	/**
+	 * @param program The program that should be evaluated.
+	 * @param pool The pool that runs the chunks.
+	 * @param chunkSize The maximum number of rows that are evaluated by one task. Is rounded up to a multiple of {@link BatchEvaluator#BLOCK_SIZE},
+	 * as every task evaluates whole blocks with its own batch evaluator, and smaller tasks would cost more than they save.
+	 * @param vectorized True if the vector API should be used (if it is available).
+	 */
+	public ParallelBatchEvaluator(Program program, ForkJoinPool pool, int chunkSize, boolean vectorized) {
+		if(chunkSize <= 0) {
+			throw new IllegalArgumentException("Math parser: The chunk size must be positive, but was "+chunkSize+"!");
+		}
+		this.program = program;
+		this.pool = pool;
+		this.chunkSize = (int) Math.min((chunkSize + BatchEvaluator.BLOCK_SIZE - 1L) / BatchEvaluator.BLOCK_SIZE * BatchEvaluator.BLOCK_SIZE,
+			Integer.MAX_VALUE / BatchEvaluator.BLOCK_SIZE * BatchEvaluator.BLOCK_SIZE);
+		this.vectorized = vectorized;
+	}
+	
+	/**
+	 * Compiles the expression and creates a parallel evaluator for it, that uses the common pool.
+	 * @param expression The expression that should be evaluated.
+	 * @param variables The names of the variables, in the order of the columns.
+	 * @return The parallel evaluator.
+	 */
+	public static ParallelBatchEvaluator of(Expression expression, String... variables) {
+		return new ParallelBatchEvaluator(ProgramCompiler.compile(expression, variables));
+	}
+	
+	public Program getProgram() {
+		return program;
+	}
+	
+	public ForkJoinPool getPool() {
+		return pool;
+	}
+	
+	/**
+	 * @return The maximum number of rows that are evaluated by one task, a multiple of {@link BatchEvaluator#BLOCK_SIZE}.
+	 */
+	public int getChunkSize() {
+		return chunkSize;
+	}
+	
+	/**
+	 * Evaluates the program for every row and waits until all chunks are done.
+	 * This evaluator can be used by multiple threads at the same time, as long as they write into different output arrays.
+	 * @param columns The values of the variables, one column per variable in the order of {@link Program#getVariables()}.
+	 * @param out The array for the results. Its length is the number of rows, every column must have at least as many values.
+	 */
+	public void evaluate(double[][] columns, double[] out) {
+		BatchEvaluator.checkColumns(program, columns, out.length);
+		
+		BatchEvent event = new BatchEvent();
+		event.begin();
+		
+		if(out.length <= chunkSize) {
+			new BatchEvaluator(program, vectorized).evaluateRows(columns, out, 0, out.length);
+		}else {
+			pool.invoke(new Chunk(columns, out, 0, out.length));
+		}
+		
+		event.end();
+		if(event.shouldCommit()) {
+			event.rows = out.length;
+			event.instructions = program.ops.length;
+			event.vectorized = vectorized && BatchEvaluator.isVectorAvailable();
+			event.parallel = out.length > chunkSize;
+			event.commit();
+		}
+	}
+	
+	/**
+	 * A range of rows, that is split in half until it is not larger than the chunk size.
+	 */
+	private class Chunk extends RecursiveAction {
+		private static final long serialVersionUID = 1L;
+		
+		private final double[][] columns;
+		private final double[] out;
+		private final int from, to;
+		
+		Chunk(double[][] columns, double[] out, int from, int to) {
+			this.columns = columns;
+			this.out = out;
+			this.from = from;
+			this.to = to;
+		}
+		
+		@Override
+		protected void compute() {
+			if(to - from <= chunkSize) {
+				new BatchEvaluator(program, vectorized).evaluateRows(columns, out, from, to);
+			}else {
+				// Split at the block in the middle, so that the batch evaluators always work on full blocks. The range is larger than the chunk size,
+				// so it has at least two blocks, and both halves are at least one block large.
+				int blocks = (to - from - 1) / BatchEvaluator.BLOCK_SIZE + 1;
+				int middle = from + blocks / 2 * BatchEvaluator.BLOCK_SIZE;
+				invokeAll(new Chunk(columns, out, from, middle), new Chunk(columns, out, middle, to));
+			}
+		}
+	}
+	
+}
@@ -0,0 +1,177 @@
+package parser.compiler;
+
+import parser.Expression;
+
+/**
+ * A {@link Program} is an {@link Expression} flattened into a compact list of stack machine instructions.
+ * Every instruction is one opcode in an <code>int[]</code>, optionally followed by one operand (the index of a constant
+ * or a variable). Constants are stored in a separate <code>double[]</code> pool. As the program does not contain
+ * any objects besides these two arrays, even formulas with thousands of nodes stay small enough to stay in the cache.
+ * <br><br>
+ * Subexpressions that are used more than once (see {@link parser.optimizer.SubexpressionEliminator}) are computed only once:
+ * their value is {@link #STORE stored} in a register, and {@link #LOAD loaded} again wherever else it is needed. The registers
+ * are placed directly after the operand stack, so the operands of these instructions are indices into the same array.
+ * <br><br>
+ * A program never changes after it has been {@link ProgramCompiler compiled}. All of its fields are final and its arrays are never
+ * handed out, so a program can be shared between any number of threads without synchronization. The values of the variables and the
+ * operand stack are kept in an {@link EvaluationContext} instead, which belongs to a single thread (or a single call).
+ * @author MiKa
+ * @version 1.0 (18.10.2026)
+ * @since ALPHA
+ * @see ProgramCompiler
+ * @see Interpreter
+ * @see EvaluationContext
+ */
+
+public final class Program {
+	
+	/** Pushes the constant with the index of the operand. */
+	public static final int CONST = 0;
+	/** Pushes the variable with the index of the operand. */
+	public static final int VAR = 1;
+	
+	public static final int ADD = 2, SUB = 3, MUL = 4, DIV = 5, MOD = 6, POW = 7, ROOT = 8, NEG = 9, CLAMP = 10,
+			SIN = 11, COS = 12, TAN = 13, ASIN = 14, ACOS = 15, ATAN = 16, ABS = 17, RADIANS = 18, DEGREES = 19;
+	
+	/** Pushes the value of the register at the index of the operand. */
+	public static final int LOAD = 20;
+	/** Copies the top of the stack into the register at the index of the operand, without removing it from the stack. */
+	public static final int STORE = 21;
+	
+	/** The square root and the cube root, which replace {@link #ROOT} after strength reduction. */
+	public static final int SQRT = 22, CBRT = 23;
+	/** The natural logarithm and the sign function. */
+	public static final int LN = 24, SIGN = 25;
+	
+	private static final String[] NAMES = {"const", "var", "add", "sub", "mul", "div", "mod", "pow", "root", "neg", "clamp",
+			"sin", "cos", "tan", "asin", "acos", "atan", "abs", "toRadians", "toDegree", "load", "store", "sqrt", "cbrt", "ln", "sign"};
+	
+	final int[] ops;
+	final double[] constants;
+	final String[] variables;
+	final int maxStack;
+	final int registers;
+	
+	Program(int[] ops, double[] constants, String[] variables, int maxStack, int registers) {
+		this.ops = ops;
+		this.constants = constants;
+		this.variables = variables;
+		this.maxStack = maxStack;
+		this.registers = registers;
+	}
+	
+	/**
+	 * Creates a new context to evaluate this program in. All variables are 0.
+	 * @return The new context.
+	 */
+	public EvaluationContext newContext() {
+		return new EvaluationContext(this);
+	}
+	
+	/**
+	 * Evaluates this program with the variables of the given context.
+	 * @param context A context that was created for this program, and is not used by another thread at the same time.
+	 * @return The computed value.
+	 */
+	public double evaluate(EvaluationContext context) {
+		if(context.program != this) {
+			throw new IllegalArgumentException("Math parser: The evaluation context belongs to another program!");
+		}
+		return Interpreter.execute(ops, constants, context.values, context.stack);
+	}
+	
+	/**
+	 * @param name The name of a variable.
+	 * @return The index of the variable, or -1 if this program does not have a variable with the name.
+	 */
+	public int indexOf(String name) {
+		for(int i = 0; i < variables.length; i++) {
+			if(variables[i].equals(name)) {
+				return i;
+			}
+		}
+		return -1;
+	}
+	
+	/**
+	 * @param opcode An opcode.
+	 * @return True if the opcode is followed by an operand.
+	 */
+	public static boolean hasOperand(int opcode) {
+		return opcode == CONST || opcode == VAR || opcode == LOAD || opcode == STORE;
+	}
+	
+	/**
+	 * @return The names of the variables, in the order in which their values are expected.
+	 */
+	public String[] getVariables() {
+		return variables.clone();
+	}
+	
+	/**
+	 * @param index The index of a variable.
+	 * @return True if the program reads the variable. Variables that are listed but never read can have any value.
+	 */
+	public boolean usesVariable(int index) {
+		for(int pc = 0; pc < ops.length; pc += hasOperand(ops[pc]) ? 2 : 1) {
+			if(ops[pc] == VAR && ops[pc + 1] == index) {
+				return true;
+			}
+		}
+		return false;
+	}
+	
+	/**
+	 * @return The number of values that are on the stack at most while executing this program.
+	 */
+	public int getMaxStack() {
+		return maxStack;
+	}
+	
+	/**
+	 * @return The number of registers that hold shared subexpressions.
+	 */
+	public int getRegisters() {
+		return registers;
+	}
+	
+	/**
+	 * @return The number of values needed to run this program: the operand stack followed by the registers.
+	 */
+	public int getFrameSize() {
+		return Math.max(1, maxStack + registers);
+	}
+	
+	/**
+	 * @return The number of instructions in this program.
+	 */
+	public int size() {
+		int size = 0;
+		for(int pc = 0; pc < ops.length; pc += hasOperand(ops[pc]) ? 2 : 1) {
+			size++;
+		}
+		return size;
+	}
+	
+	/**
+	 * @return A readable listing of all instructions, one per line.
+	 */
+	@Override
+	public String toString() {
+		StringBuilder builder = new StringBuilder();
+		for(int pc = 0; pc < ops.length; pc++) {
+			int op = ops[pc];
+			builder.append(pc).append(": ").append(NAMES[op]);
+			if(op == CONST) {
+				builder.append(' ').append(constants[ops[++pc]]);
+			}else if(op == VAR) {
+				builder.append(' ').append(variables[ops[++pc]]);
+			}else if(op == LOAD || op == STORE) {
+				builder.append(" r").append(ops[++pc] - maxStack);
+			}
+			builder.append(System.lineSeparator());
+		}
+		return builder.toString();
+	}
+	
+}
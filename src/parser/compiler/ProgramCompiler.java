@@ -0,0 +1,386 @@
+package parser.compiler;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+
+import parser.AddExpression;
+import parser.DivExpression;
+import parser.Expression;
+import parser.MulExpression;
+import parser.NegateExpression;
+import parser.NumberExpression;
+import parser.SubExpression;
+import parser.VariableExpression;
+import parser.functions.AbsExpression;
+import parser.functions.ArcCosExpression;
+import parser.functions.ArcSinExpression;
+import parser.functions.ArcTanExpression;
+import parser.functions.ClampExpression;
+import parser.functions.CosExpression;
+import parser.functions.DegreeExpression;
+import parser.functions.CubeRootExpression;
+import parser.functions.FunctionArgumentExpression;
+import parser.functions.IntegerPowExpression;
+import parser.functions.LogExpression;
+import parser.functions.ModExpression;
+import parser.functions.PowExpression;
+import parser.functions.RadianExpression;
+import parser.functions.SignExpression;
+import parser.functions.SinExpression;
+import parser.functions.SqrtExpression;
+import parser.functions.SquareRootExpression;
+import parser.functions.TanExpression;
+
+/**
+ * Translates an {@link Expression} tree into a {@link Program}. The tree is walked in post order, so that the
+ * instructions of the arguments always come before the instruction that uses them.
+ * <br><br>
+ * The expression may also be a graph, where the same node is used in multiple places (see {@link parser.optimizer.SubexpressionEliminator}).
+ * Such a node is compiled only once: its value is stored in a register the first time, and loaded from there every other time.
+ * @author MiKa
+ * @version 1.0 (18.10.2026)
+ * @since ALPHA
+ * @see Program
+ */
+
+public class ProgramCompiler {
+
+	private final String[] variables;
+	
+	private int[] ops = new int[16];
+	private int opCount;
+	
+	private double[] constants = new double[4];
+	private int constantCount;
+	private final HashMap<Long, Integer> constantIndices = new HashMap<>();
+	
+	private int stack, maxStack;
+	
+	/** How often every node is used by its parents. */
+	private final IdentityHashMap<Expression, Integer> uses = new IdentityHashMap<>();
+	/** The registers of the shared nodes that have already been compiled. */
+	private final IdentityHashMap<Expression, Integer> registers = new IdentityHashMap<>();
+	private int registerCount;
+	
+	private ProgramCompiler(String[] variables) {
+		this.variables = variables;
+	}
+	
+	/**
+	 * Compiles the expression into a program.
+	 * @param expression The expression that should be compiled.
+	 * @param variables The names of all variables used in the expression. The position of a name is the index of the value in the array passed to the program.
+	 * @return The compiled program.
+	 * @throws IllegalArgumentException If the expression uses a variable that is not listed, or contains an unknown type of expression.
+	 */
+	public static Program compile(Expression expression, String... variables) {
+		ProgramCompiler compiler = new ProgramCompiler(variables.clone());
+		compiler.countUses(expression);
+		compiler.emit(expression);
+		return compiler.finish();
+	}
+	
+	/**
+	 * Compiles multiple expressions into one program, which leaves the value of every expression on the stack: the value of the first expression at the bottom,
+	 * the value of the last expression on the top. Nodes that are used by multiple expressions are computed only once, like shared nodes within one expression.
+	 * Such a program is only evaluated by an {@link ExpressionGroup}.
+	 * @param expressions The expressions that should be compiled.
+	 * @param variables The names of all variables used in the expressions.
+	 * @return The compiled program.
+	 * @throws IllegalArgumentException If an expression uses a variable that is not listed, or contains an unknown type of expression.
+	 */
+	static Program compileAll(Expression[] expressions, String... variables) {
+		ProgramCompiler compiler = new ProgramCompiler(variables.clone());
+		for(Expression expression : expressions) {
+			compiler.countUses(expression);
+		}
+		for(Expression expression : expressions) {
+			compiler.emit(expression);
+		}
+		return compiler.finish();
+	}
+	
+	private Program finish() {
+		relocateRegisters();
+		return new Program(Arrays.copyOf(ops, opCount), Arrays.copyOf(constants, constantCount), variables, maxStack, registerCount);
+	}
+	
+	/**
+	 * Counts how often every node is used. The children of a node are only visited the first time the node is found.
+	 * @param expression The root of the expression.
+	 */
+	private void countUses(Expression expression) {
+		ArrayDeque<Expression> work = new ArrayDeque<>();
+		work.push(expression);
+		while(!work.isEmpty()) {
+			Expression node = work.pop();
+			if(uses.merge(node, 1, Integer::sum) == 1) {
+				for(Expression child : node.getChildren()) {
+					work.push(child);
+				}
+			}
+		}
+	}
+	
+	/**
+	 * The registers are placed after the operand stack, but the size of the stack is only known after all instructions have been emitted.
+	 * Therefore, the register numbers are turned into indices afterwards.
+	 */
+	private void relocateRegisters() {
+		for(int pc = 0; pc < opCount; pc++) {
+			int op = ops[pc];
+			if(op == Program.LOAD || op == Program.STORE) {
+				ops[pc + 1] += maxStack;
+			}
+			if(Program.hasOperand(op)) {
+				pc++;
+			}
+		}
+	}
+	
+	/**
+	 * Emits the instructions for an expression. Every node is computed after its operands, and a shared node that has been computed before
+	 * is loaded from its register instead. Numbers and variables are never stored, as loading them is as cheap as loading a register.
+	 * <br><br>
+	 * The tree is walked with an explicit stack instead of recursion: a long formula like a sum of thousands of terms is a tree that is as deep as it is long,
+	 * and would overflow the stack of the thread.
+	 * @param expression The expression that should be computed.
+	 */
+	private void emit(Expression expression) {
+		ArrayDeque<Object> work = new ArrayDeque<>();
+		work.push(expression);
+		while(!work.isEmpty()) {
+			Object item = work.pop();
+			if(item instanceof Operation operation) {
+				Expression node = operation.node();
+				emitOperation(node);
+				if(uses.getOrDefault(node, 1) > 1 && node.getChildren().length > 0) {
+					int register = registerCount++;
+					registers.put(node, register);
+					emit(Program.STORE, register, 0);
+				}
+				continue;
+			}
+			
+			Expression node = (Expression) item;
+			Integer register = registers.get(node);
+			if(register != null) {
+				emit(Program.LOAD, register, 1);
+				continue;
+			}
+			work.push(new Operation(node));
+			Expression[] operands = operandsOf(node);
+			for(int i = operands.length - 1; i >= 0; i--) {
+				work.push(operands[i]);
+			}
+		}
+	}
+	
+	/**
+	 * The instruction of a node, that is emitted once all operands of the node are on the stack.
+	 */
+	private record Operation(Expression node) {}
+	
+	/**
+	 * Emits the instructions that come before the operands of a node.
+	 * @param expression The node.
+	 * @return The operands of the node, in the order in which they are pushed on the stack.
+	 */
+	private Expression[] operandsOf(Expression expression) {
+		if(expression instanceof FunctionArgumentExpression) {
+			return Expression.NO_CHILDREN;
+		}else if(expression instanceof DivExpression div && reciprocalOf(div) != 0) {
+			return new Expression[] {div.getFirst()};
+		}else if(expression instanceof IntegerPowExpression power) {
+			if(power.getExponent() == 0) {
+				return Expression.NO_CHILDREN;
+			}else if(power.getExponent() < 0) {
+				emit(Program.CONST, constantOf(1), 1);
+			}
+		}
+		// The children of all other nodes are their operands, in the same order
+		return expression.getChildren();
+	}
+	
+	/**
+	 * Emits the instructions that leave the value of the given expression on the stack, when its operands are already on the stack.
+	 * The instructions mirror {@link Expression#computeDouble()} of every node.
+	 * @param expression The expression that should be computed.
+	 */
+	private void emitOperation(Expression expression) {
+		if(expression instanceof NumberExpression number) {
+			emit(Program.CONST, constantOf(number.getNumber().doubleValue()), 1);
+		}else if(expression instanceof VariableExpression variable) {
+			emit(Program.VAR, slotOf(variable.getName()), 1);
+		}else if(expression instanceof AddExpression) {
+			emit(Program.ADD, -1);
+		}else if(expression instanceof SubExpression) {
+			emit(Program.SUB, -1);
+		}else if(expression instanceof MulExpression) {
+			emit(Program.MUL, -1);
+		}else if(expression instanceof DivExpression div) {
+			double reciprocal = reciprocalOf(div);
+			if(reciprocal != 0) {
+				emit(Program.CONST, constantOf(reciprocal), 1);
+				emit(Program.MUL, -1);
+			}else {
+				emit(Program.DIV, -1);
+			}
+		}else if(expression instanceof ModExpression) {
+			emit(Program.MOD, -1);
+		}else if(expression instanceof PowExpression) {
+			emit(Program.POW, -1);
+		}else if(expression instanceof SqrtExpression) {
+			emit(Program.ROOT, -1);
+		}else if(expression instanceof IntegerPowExpression power) {
+			emitPower(power.getExponent());
+		}else if(expression instanceof SquareRootExpression) {
+			emit(Program.SQRT, 0);
+		}else if(expression instanceof CubeRootExpression) {
+			emit(Program.CBRT, 0);
+		}else if(expression instanceof LogExpression) {
+			emit(Program.LN, 0);
+		}else if(expression instanceof SignExpression) {
+			emit(Program.SIGN, 0);
+		}else if(expression instanceof ClampExpression) {
+			emit(Program.CLAMP, -2);
+		}else if(expression instanceof NegateExpression) {
+			emit(Program.NEG, 0);
+		}else if(expression instanceof SinExpression) {
+			emit(Program.SIN, 0);
+		}else if(expression instanceof CosExpression) {
+			emit(Program.COS, 0);
+		}else if(expression instanceof TanExpression) {
+			emit(Program.TAN, 0);
+		}else if(expression instanceof ArcSinExpression) {
+			emit(Program.ASIN, 0);
+		}else if(expression instanceof ArcCosExpression) {
+			emit(Program.ACOS, 0);
+		}else if(expression instanceof ArcTanExpression) {
+			emit(Program.ATAN, 0);
+		}else if(expression instanceof AbsExpression) {
+			emit(Program.ABS, 0);
+		}else if(expression instanceof RadianExpression) {
+			emit(Program.RADIANS, 0);
+		}else if(expression instanceof DegreeExpression) {
+			emit(Program.DEGREES, 0);
+		}else if(expression instanceof FunctionArgumentExpression) {
+			// An argument list on its own has no value (see FunctionArgumentExpression#computeDouble())
+			emit(Program.CONST, constantOf(0), 1);
+		}else {
+			throw new IllegalArgumentException("Math parser: Expression \""+expression+"\" of type "+(expression == null ? null : expression.getClass().getName())+" cannot be compiled!");
+		}
+	}
+	
+	/**
+	 * A division by a power of two is computed as a multiplication by its reciprocal. The reciprocal is a power of two as well, so the product is exactly the same
+	 * as the quotient. The expression itself keeps the division, so that {@link Expression#computeInt()} still divides whole numbers.
+	 * @param div A division.
+	 * @return The reciprocal of the divisor, or 0 if the divisor is not a constant power of two with a normal reciprocal.
+	 */
+	private static double reciprocalOf(DivExpression div) {
+		if(div.getSecond() instanceof NumberExpression number) {
+			double value = number.computeDouble();
+			int exponent = Math.getExponent(value);
+			if(exponent > Double.MIN_EXPONENT && exponent < Double.MAX_EXPONENT && Math.abs(value) == Math.scalb(1.0, exponent)) {
+				return 1 / value;
+			}
+		}
+		return 0;
+	}
+	
+	/**
+	 * Emits the multiplications of {@link IntegerPowExpression#power(double, int)} in the same order, when the base is on the stack
+	 * (and a 1 below it, for a negative exponent). The base is kept in one register, and a second register is used to square the intermediate result.
+	 */
+	private void emitPower(int exponent) {
+		if(exponent == 0) {
+			emit(Program.CONST, constantOf(1), 1);
+			return;
+		}
+		
+		int n = Math.abs(exponent);
+		if(n > 1) {
+			int baseRegister = registerCount++, square = registerCount++;
+			emit(Program.STORE, baseRegister, 0);
+			for(int bit = Integer.highestOneBit(n) >>> 1; bit != 0; bit >>>= 1) {
+				emit(Program.STORE, square, 0);
+				emit(Program.LOAD, square, 1);
+				emit(Program.MUL, -1);
+				if((n & bit) != 0) {
+					emit(Program.LOAD, baseRegister, 1);
+					emit(Program.MUL, -1);
+				}
+			}
+		}
+		
+		if(exponent < 0) {
+			emit(Program.DIV, -1);
+		}
+	}
+	
+	/**
+	 * Appends an instruction without an operand.
+	 * @param opcode The opcode of the instruction.
+	 * @param stackChange The number of values the instruction adds to (or removes from) the stack.
+	 */
+	private void emit(int opcode, int stackChange) {
+		ensureCapacity(1);
+		ops[opCount++] = opcode;
+		changeStack(stackChange);
+	}
+	
+	/**
+	 * Appends an instruction with an operand.
+	 * @param opcode The opcode of the instruction.
+	 * @param operand The operand of the instruction.
+	 * @param stackChange The number of values the instruction adds to (or removes from) the stack.
+	 */
+	private void emit(int opcode, int operand, int stackChange) {
+		ensureCapacity(2);
+		ops[opCount++] = opcode;
+		ops[opCount++] = operand;
+		changeStack(stackChange);
+	}
+	
+	private void ensureCapacity(int additional) {
+		if(opCount + additional > ops.length) {
+			ops = Arrays.copyOf(ops, Math.max(ops.length * 2, opCount + additional));
+		}
+	}
+	
+	private void changeStack(int change) {
+		stack += change;
+		maxStack = Math.max(maxStack, stack);
+	}
+	
+	/**
+	 * @param value A constant value.
+	 * @return The index of the value in the constant pool. Equal constants share the same index.
+	 */
+	private int constantOf(double value) {
+		return constantIndices.computeIfAbsent(Double.doubleToRawLongBits(value), bits -> {
+			if(constantCount == constants.length) {
+				constants = Arrays.copyOf(constants, constants.length * 2);
+			}
+			constants[constantCount] = value;
+			return constantCount++;
+		});
+	}
+	
+	/**
+	 * @param name The name of a variable.
+	 * @return The index of the variable in the array of variable values.
+	 */
+	private int slotOf(String name) {
+		for(int i = 0; i < variables.length; i++) {
+			if(variables[i].equals(name)) {
+				return i;
+			}
+		}
+		throw new IllegalArgumentException("Math parser: Variable \""+name+"\" is not part of the variable list "+Arrays.toString(variables)+"!");
+	}
+	
+}
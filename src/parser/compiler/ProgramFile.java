@@ -0,0 +1,307 @@
+package parser.compiler;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.zip.CRC32C;
+
+/**
+ * Stores compiled {@link Program Programs} in a compact binary format, so that they can be loaded again without parsing, optimizing and compiling the expressions.
+ * <br><br>
+ * A file holds any number of programs. The names of the variables are stored once in a symbol table for the whole file, every program refers to them by index.
+ * Opcodes, operands and sizes are stored as variable-length integers (one byte for values below 128), the constants as 8 byte doubles:
+ * <pre>
+ * magic "MPRG" | version (2 bytes) | flags (2 bytes)
+ * symbol count | symbols (length, UTF-8)
+ * program count | programs (max stack, registers, variable count, symbol indices, constant count, constants, length, opcodes and operands)
+ * CRC32C checksum of everything before (4 bytes)
+ * </pre>
+ * Files of another {@link #VERSION version} (e.g. written before the opcodes changed) are rejected, and so are files with a wrong checksum.
+ * The reader also checks every loaded program (known opcodes, operands in range, balanced stack), so a damaged file can never produce a program that
+ * crashes an {@link Interpreter} or a {@link BytecodeCompiler}. In all these cases, an {@link IOException} is thrown, and the expressions should be parsed again.
+ * <br><br>
+ * {@link #read(Path)} maps the file into memory and decodes the programs straight from the mapped bytes.
+ * <pre>
+ * ProgramFile.write(Path.of("rules.bin"), programs);
+ * Program[] loaded = ProgramFile.read(Path.of("rules.bin"));
+ * </pre>
+ * @author MiKa
+ * @version 1.0 (18.10.2026)
+ * @since ALPHA
+ * @see Program
+ */
+
+public final class ProgramFile {
+
+	/** The first four bytes of every file: "MPRG". */
+	public static final int MAGIC = 0x4D505247;
+	/** The version of the format. Changes whenever the layout or the opcodes change. */
+	public static final int VERSION = 1;
+
+	/** The magic number, the version and the flags. */
+	private static final int HEADER_SIZE = 8;
+	private static final int CHECKSUM_SIZE = 4;
+
+	private ProgramFile() {}
+
+	/**
+	 * Writes programs to a file. An existing file is replaced.
+	 * @param path The file.
+	 * @param programs The programs.
+	 * @throws IOException If the file cannot be written.
+	 */
+	public static void write(Path path, Program... programs) throws IOException {
+		Files.write(path, toBytes(programs));
+	}
+
+	/**
+	 * Writes programs to a stream. The stream is not closed.
+	 * @param out The stream.
+	 * @param programs The programs.
+	 * @throws IOException If the stream cannot be written.
+	 */
+	public static void write(OutputStream out, Program... programs) throws IOException {
+		out.write(toBytes(programs));
+	}
+
+	/**
+	 * @param programs The programs.
+	 * @return The programs in the binary format, including the header and the checksum.
+	 */
+	public static byte[] toBytes(Program... programs) {
+		HashMap<String, Integer> symbols = new HashMap<>();
+		ByteArrayOutputStream names = new ByteArrayOutputStream();
+		ByteArrayOutputStream body = new ByteArrayOutputStream();
+
+		writeVarInt(body, programs.length);
+		for(Program program : programs) {
+			writeVarInt(body, program.maxStack);
+			writeVarInt(body, program.registers);
+			writeVarInt(body, program.variables.length);
+			for(String variable : program.variables) {
+				Integer symbol = symbols.get(variable);
+				if(symbol == null) {
+					symbol = symbols.size();
+					symbols.put(variable, symbol);
+					byte[] bytes = variable.getBytes(StandardCharsets.UTF_8);
+					writeVarInt(names, bytes.length);
+					names.writeBytes(bytes);
+				}
+				writeVarInt(body, symbol);
+			}
+			writeVarInt(body, program.constants.length);
+			for(double constant : program.constants) {
+				long bits = Double.doubleToRawLongBits(constant);
+				for(int shift = 56; shift >= 0; shift -= 8) {
+					body.write((int) (bits >>> shift));
+				}
+			}
+			writeVarInt(body, program.ops.length);
+			for(int op : program.ops) {
+				writeVarInt(body, op);
+			}
+		}
+
+		ByteArrayOutputStream out = new ByteArrayOutputStream(HEADER_SIZE + names.size() + body.size() + CHECKSUM_SIZE + 5);
+		writeInt(out, MAGIC);
+		out.write(VERSION >>> 8);
+		out.write(VERSION);
+		out.write(0);
+		out.write(0);
+		writeVarInt(out, symbols.size());
+		out.write(names.toByteArray(), 0, names.size());
+		out.write(body.toByteArray(), 0, body.size());
+
+		CRC32C crc = new CRC32C();
+		byte[] bytes = out.toByteArray();
+		crc.update(bytes);
+		writeInt(out, (int) crc.getValue());
+		return out.toByteArray();
+	}
+
+	/**
+	 * Maps a file into memory and reads the programs from it.
+	 * @param path The file.
+	 * @return The programs, in the order in which they were written.
+	 * @throws IOException If the file cannot be read, or is not a valid file of this version.
+	 */
+	public static Program[] read(Path path) throws IOException {
+		try(FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+			MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+			return read(buffer);
+		}
+	}
+
+	/**
+	 * Reads programs from a buffer, starting at its position. The position is not changed.
+	 * @param buffer The buffer, which holds exactly one file.
+	 * @return The programs, in the order in which they were written.
+	 * @throws IOException If the buffer does not hold a valid file of this version.
+	 */
+	public static Program[] read(ByteBuffer buffer) throws IOException {
+		ByteBuffer in = buffer.slice();
+		int size = in.remaining();
+		if(size < HEADER_SIZE + CHECKSUM_SIZE || in.getInt(0) != MAGIC) {
+			throw new IOException("Math parser: Not a program file!");
+		}
+		int version = in.getShort(4) & 0xFFFF;
+		if(version != VERSION) {
+			throw new IOException("Math parser: The program file has version "+version+", but version "+VERSION+" is needed!");
+		}
+
+		CRC32C crc = new CRC32C();
+		crc.update(in.duplicate().limit(size - CHECKSUM_SIZE));
+		if((int) crc.getValue() != in.getInt(size - CHECKSUM_SIZE)) {
+			throw new IOException("Math parser: The checksum of the program file does not match, the file is damaged!");
+		}
+
+		in.position(HEADER_SIZE).limit(size - CHECKSUM_SIZE);
+		try {
+			String[] symbols = new String[readCount(in, 1)];
+			for(int i = 0; i < symbols.length; i++) {
+				byte[] bytes = new byte[readCount(in, 1)];
+				in.get(bytes);
+				symbols[i] = new String(bytes, StandardCharsets.UTF_8);
+			}
+
+			Program[] programs = new Program[readCount(in, 1)];
+			for(int p = 0; p < programs.length; p++) {
+				int maxStack = readVarInt(in);
+				int registers = readVarInt(in);
+				String[] variables = new String[readCount(in, 1)];
+				for(int i = 0; i < variables.length; i++) {
+					int symbol = readVarInt(in);
+					if(symbol >= symbols.length) {
+						throw new IOException("Math parser: Program "+p+" refers to the unknown symbol "+symbol+"!");
+					}
+					variables[i] = symbols[symbol];
+				}
+				double[] constants = new double[readCount(in, 8)];
+				for(int i = 0; i < constants.length; i++) {
+					constants[i] = Double.longBitsToDouble(in.getLong());
+				}
+				int[] ops = new int[readCount(in, 1)];
+				for(int i = 0; i < ops.length; i++) {
+					ops[i] = readVarInt(in);
+				}
+				programs[p] = verify(new Program(ops, constants, variables, maxStack, registers), p);
+			}
+			if(in.hasRemaining()) {
+				throw new IOException("Math parser: The program file has "+in.remaining()+" unexpected bytes at the end!");
+			}
+			return programs;
+		}catch(BufferUnderflowException e) {
+			throw new IOException("Math parser: The program file ends unexpectedly!", e);
+		}
+	}
+
+	/**
+	 * Makes sure that a program only uses known opcodes, that all operands are in range and that the stack never overflows or underflows.
+	 * @param program The loaded program.
+	 * @param index The index of the program in the file.
+	 * @return The program.
+	 * @throws IOException If the program is not valid.
+	 */
+	private static Program verify(Program program, int index) throws IOException {
+		int[] ops = program.ops;
+		if(program.maxStack > ops.length || program.registers > ops.length) {
+			throw new IOException("Math parser: Program "+index+" claims "+program.maxStack+" stack values and "+program.registers+" registers for only "+ops.length+" opcodes!");
+		}
+		int sp = 0;
+		for(int pc = 0; pc < ops.length; pc++) {
+			int op = ops[pc];
+			int pops, pushes = 1;
+			if(Program.hasOperand(op)) {
+				if(pc + 1 == ops.length) {
+					throw invalid(index, pc, "is missing its operand");
+				}
+				int operand = ops[++pc];
+				int bound = switch(op) {
+					case Program.CONST -> program.constants.length;
+					case Program.VAR -> program.variables.length;
+					default -> program.maxStack + program.registers;
+				};
+				if(operand >= bound || op != Program.CONST && op != Program.VAR && operand < program.maxStack) {
+					throw invalid(index, pc - 1, "has the operand "+operand+", which is out of range");
+				}
+				// A store keeps the value on the stack
+				pops = op == Program.STORE ? 1 : 0;
+			}else {
+				pops = switch(op) {
+					case Program.ADD, Program.SUB, Program.MUL, Program.DIV, Program.MOD, Program.POW, Program.ROOT -> 2;
+					case Program.CLAMP -> 3;
+					case Program.NEG, Program.SIN, Program.COS, Program.TAN, Program.ASIN, Program.ACOS, Program.ATAN, Program.ABS,
+						Program.RADIANS, Program.DEGREES, Program.SQRT, Program.CBRT, Program.LN, Program.SIGN -> 1;
+					default -> throw invalid(index, pc, "is unknown");
+				};
+			}
+			if(sp < pops) {
+				throw invalid(index, pc, "needs more values than are on the stack");
+			}
+			sp += pushes - pops;
+			if(sp > program.maxStack) {
+				throw invalid(index, pc, "exceeds the maximum stack size of "+program.maxStack);
+			}
+		}
+		if(sp != 1) {
+			throw new IOException("Math parser: Program "+index+" leaves "+sp+" values on the stack instead of one!");
+		}
+		return program;
+	}
+
+	private static IOException invalid(int index, int pc, String problem) {
+		return new IOException("Math parser: The instruction at "+pc+" of program "+index+" "+problem+"!");
+	}
+
+	/**
+	 * Reads a count and makes sure that the remaining bytes can hold that many elements, so that a damaged count cannot allocate a huge array.
+	 * @param bytes The minimum number of bytes of every element.
+	 */
+	private static int readCount(ByteBuffer in, int bytes) throws IOException {
+		int count = readVarInt(in);
+		if(count > in.remaining() / bytes) {
+			throw new IOException("Math parser: The program file ends unexpectedly!");
+		}
+		return count;
+	}
+
+	private static int readVarInt(ByteBuffer in) throws IOException {
+		int value = 0;
+		for(int shift = 0; shift < 32; shift += 7) {
+			byte b = in.get();
+			value |= (b & 0x7F) << shift;
+			if(b >= 0) {
+				if(value < 0) {
+					break;
+				}
+				return value;
+			}
+		}
+		throw new IOException("Math parser: The program file contains an invalid number!");
+	}
+
+	private static void writeVarInt(ByteArrayOutputStream out, int value) {
+		while((value & ~0x7F) != 0) {
+			out.write((value & 0x7F) | 0x80);
+			value >>>= 7;
+		}
+		out.write(value);
+	}
+
+	private static void writeInt(ByteArrayOutputStream out, int value) {
+		out.write(value >>> 24);
+		out.write(value >>> 16);
+		out.write(value >>> 8);
+		out.write(value);
+	}
+
+}
@@ -0,0 +1,83 @@
+package parser.compiler;
+
+/**
+ * The {@link ColumnKernel} that is used when the vector API is not available. Every operation is one plain loop,
+ * which the JIT may still unroll or vectorize on its own. The results are exactly the same as the ones of the {@link Interpreter}.
+ * @author MiKa
+ * @version 1.0 (18.10.2026)
+ * @since ALPHA
+ */
+
+class ScalarKernel implements ColumnKernel {
+
+	@Override
+	public void fill(double[] a, double value, int n) {
+		for(int i = 0; i < n; i++) {
+			a[i] = value;
+		}
+	}
+	
+	@Override
+	public void binary(int op, double[] a, double[] b, int n) {
+		binary(op, a, b, 0, n);
+	}
+	
+	/**
+	 * Applies a binary operation to the values from index from to index to (exclusive).
+	 */
+	protected void binary(int op, double[] a, double[] b, int from, int to) {
+		switch(op) {
+			case Program.ADD -> { for(int i = from; i < to; i++) a[i] = a[i] + b[i]; }
+			case Program.SUB -> { for(int i = from; i < to; i++) a[i] = a[i] - b[i]; }
+			case Program.MUL -> { for(int i = from; i < to; i++) a[i] = a[i] * b[i]; }
+			case Program.DIV -> { for(int i = from; i < to; i++) a[i] = a[i] / b[i]; }
+			case Program.MOD -> { for(int i = from; i < to; i++) a[i] = a[i] % b[i]; }
+			case Program.POW -> { for(int i = from; i < to; i++) a[i] = Math.pow(a[i], b[i]); }
+			case Program.ROOT -> { for(int i = from; i < to; i++) a[i] = Math.pow(a[i], 1.0 / b[i]); }
+			default -> throw new IllegalStateException("Math parser: Opcode "+op+" is not a binary operation!");
+		}
+	}
+	
+	@Override
+	public void clamp(double[] min, double[] max, double[] value, int n) {
+		clamp(min, max, value, 0, n);
+	}
+	
+	/**
+	 * Clamps the values from index from to index to (exclusive).
+	 */
+	protected void clamp(double[] min, double[] max, double[] value, int from, int to) {
+		for(int i = from; i < to; i++) {
+			min[i] = Math.max(min[i], Math.min(max[i], value[i]));
+		}
+	}
+	
+	@Override
+	public void unary(int op, double[] a, int n) {
+		unary(op, a, 0, n);
+	}
+	
+	/**
+	 * Applies a unary operation to the values from index from to index to (exclusive).
+	 */
+	protected void unary(int op, double[] a, int from, int to) {
+		switch(op) {
+			case Program.NEG -> { for(int i = from; i < to; i++) a[i] = -a[i]; }
+			case Program.ABS -> { for(int i = from; i < to; i++) a[i] = Math.abs(a[i]); }
+			case Program.SIN -> { for(int i = from; i < to; i++) a[i] = Math.sin(a[i]); }
+			case Program.COS -> { for(int i = from; i < to; i++) a[i] = Math.cos(a[i]); }
+			case Program.TAN -> { for(int i = from; i < to; i++) a[i] = Math.tan(a[i]); }
+			case Program.ASIN -> { for(int i = from; i < to; i++) a[i] = Math.asin(a[i]); }
+			case Program.ACOS -> { for(int i = from; i < to; i++) a[i] = Math.acos(a[i]); }
+			case Program.ATAN -> { for(int i = from; i < to; i++) a[i] = Math.atan(a[i]); }
+			case Program.RADIANS -> { for(int i = from; i < to; i++) a[i] = Math.toRadians(a[i]); }
+			case Program.DEGREES -> { for(int i = from; i < to; i++) a[i] = Math.toDegrees(a[i]); }
+			case Program.SQRT -> { for(int i = from; i < to; i++) a[i] = Math.sqrt(a[i]); }
+			case Program.CBRT -> { for(int i = from; i < to; i++) a[i] = Math.cbrt(a[i]); }
+			case Program.LN -> { for(int i = from; i < to; i++) a[i] = Math.log(a[i]); }
+			case Program.SIGN -> { for(int i = from; i < to; i++) a[i] = Math.signum(a[i]); }
+			default -> throw new IllegalStateException("Math parser: Opcode "+op+" is not a unary operation!");
+		}
+	}
+	
+}
@@ -0,0 +1,81 @@
+package parser.compiler;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * The {@link ColumnKernel} that uses the vector API (<code>jdk.incubator.vector</code>) to process as many values
+ * per instruction as the CPU supports. This class must only be loaded if the module is available, see {@link BatchEvaluator#isVectorAvailable()}.
+ * <br><br>
+ * Only operations that are exactly rounded (+, -, *, /, negation, abs, min, max, the square root and the multiplications of toRadians and toDegree) use vector lanes.
+ * The lanewise versions of pow, the cube root and the trigonometric functions may differ from {@link Math} in the last bit, so these operations
+ * stay scalar loops. Therefore, the results are exactly the same as the ones of the {@link Interpreter}, no matter which kernel is used.
+ * @author MiKa
+ * @version 1.0 (18.10.2026)
+ * @since ALPHA
+ */
+
+class VectorKernel extends ScalarKernel {
+
+	private static final VectorSpecies<Double> SPECIES = DoubleVector.SPECIES_PREFERRED;
+	
+	/** Math.toRadians(x) and Math.toDegrees(x) are a single multiplication with these factors. */
+	private static final double TO_RADIANS = Math.toRadians(1.0), TO_DEGREES = Math.toDegrees(1.0);
+	
+	@Override
+	public void fill(double[] a, double value, int n) {
+		DoubleVector v = DoubleVector.broadcast(SPECIES, value);
+		int i = 0;
+		for(int bound = SPECIES.loopBound(n); i < bound; i += SPECIES.length()) {
+			v.intoArray(a, i);
+		}
+		for(; i < n; i++) {
+			a[i] = value;
+		}
+	}
+	
+	/**
+	 * Every operation has its own loop, because the JIT only translates lanewise operations to SIMD instructions if the operator is a constant.
+	 */
+	@Override
+	public void binary(int op, double[] a, double[] b, int n) {
+		int i = 0, bound = SPECIES.loopBound(n), step = SPECIES.length();
+		switch(op) {
+			case Program.ADD -> { for(; i < bound; i += step) load(a, i).add(load(b, i)).intoArray(a, i); }
+			case Program.SUB -> { for(; i < bound; i += step) load(a, i).sub(load(b, i)).intoArray(a, i); }
+			case Program.MUL -> { for(; i < bound; i += step) load(a, i).mul(load(b, i)).intoArray(a, i); }
+			case Program.DIV -> { for(; i < bound; i += step) load(a, i).div(load(b, i)).intoArray(a, i); }
+			default -> {}
+		}
+		super.binary(op, a, b, i, n);
+	}
+	
+	@Override
+	public void clamp(double[] min, double[] max, double[] value, int n) {
+		int i = 0;
+		for(int bound = SPECIES.loopBound(n); i < bound; i += SPECIES.length()) {
+			load(min, i).max(load(max, i).min(load(value, i))).intoArray(min, i);
+		}
+		super.clamp(min, max, value, i, n);
+	}
+	
+	@Override
+	public void unary(int op, double[] a, int n) {
+		int i = 0, bound = SPECIES.loopBound(n), step = SPECIES.length();
+		switch(op) {
+			case Program.NEG -> { for(; i < bound; i += step) load(a, i).neg().intoArray(a, i); }
+			case Program.ABS -> { for(; i < bound; i += step) load(a, i).abs().intoArray(a, i); }
+			case Program.RADIANS -> { for(; i < bound; i += step) load(a, i).mul(TO_RADIANS).intoArray(a, i); }
+			case Program.DEGREES -> { for(; i < bound; i += step) load(a, i).mul(TO_DEGREES).intoArray(a, i); }
+			case Program.SQRT -> { for(; i < bound; i += step) load(a, i).lanewise(VectorOperators.SQRT).intoArray(a, i); }
+			default -> {}
+		}
+		super.unary(op, a, i, n);
+	}
+	
+	private static DoubleVector load(double[] a, int i) {
+		return DoubleVector.fromArray(SPECIES, a, i);
+	}
+	
+}
@@ -1,7 +1,7 @@
 package parser.functions;
 
+import parser.CompositeExpression;
 import parser.Expression;
-import parser.FunctionalExpression;
 import parser.NumberExpression;
 
 /**
@@ -10,7 +10,7 @@ import parser.NumberExpression;
  * @version 1.0 (28.02.2023)
  * @since ALPHA
  */
-public class AbsExpression implements Expression {
+public class AbsExpression extends CompositeExpression {
 
 	private Expression expression;
 	
@@ -18,14 +18,18 @@ public class AbsExpression implements Expression {
 		this.expression = expression;
 	}
 	
+	public Expression getExpression() {
+		return expression;
+	}
+	
 	@Override
 	public float computeFloat() {
-		return (float) Math.abs(expression.computeFloat());
+		return Math.abs(expression.computeFloat());
 	}
 
 	@Override
 	public int computeInt() {
-		return (int) Math.abs(expression.computeInt());
+		return Math.abs(expression.computeInt());
 	}
 
 	@Override
@@ -35,7 +39,7 @@ public class AbsExpression implements Expression {
 
 	@Override
 	public Expression simplify() {
-		expression = expression.simplify();
+		expression = simplifyChild(expression);
 		if(expression instanceof NumberExpression) {
 			return new NumberExpression(Math.abs(expression.computeDouble()));
 		}else {
@@ -44,20 +48,29 @@ public class AbsExpression implements Expression {
 	}
 	
 	@Override
-	public String toString() {
-		String a = expression.toString();
-
-		if(expression instanceof FunctionalExpression) {
-			a = "("+a+")";
-		}
-		
-		return "abs("+a+")";
+	public Expression[] getChildren() {
+		return new Expression[] {expression};
+	}
+	
+	@Override
+	public Expression withChildren(Expression... children) {
+		return new AbsExpression(children[0]);
+	}
+	
+	@Override
+	protected void appendText(StringBuilder builder, int index) {
+		builder.append(index == 0 ? "abs(" : ")");
 	}
 	
 	@Override
 	public void setVariable(String name, Number number) {
 		expression.setVariable(name, number);
 	}
+	
+	@Override
+	public void setVariable(String name, double value) {
+		expression.setVariable(name, value);
+	}
 
 	@Override
 	public String getVariables() {
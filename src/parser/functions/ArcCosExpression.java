@@ -1,7 +1,7 @@
 package parser.functions;
 
+import parser.CompositeExpression;
 import parser.Expression;
-import parser.FunctionalExpression;
 import parser.NumberExpression;
 
 /**
@@ -10,7 +10,7 @@ import parser.NumberExpression;
  * @version 1.0 (28.02.2023)
  * @since ALPHA
  */
-public class ArcCosExpression implements Expression {
+public class ArcCosExpression extends CompositeExpression {
 
 	private Expression expression;
 	
@@ -18,6 +18,10 @@ public class ArcCosExpression implements Expression {
 		this.expression = expression;
 	}
 	
+	public Expression getExpression() {
+		return expression;
+	}
+	
 	@Override
 	public float computeFloat() {
 		return (float) Math.acos(expression.computeDouble());
@@ -35,7 +39,7 @@ public class ArcCosExpression implements Expression {
 
 	@Override
 	public Expression simplify() {
-		expression = expression.simplify();
+		expression = simplifyChild(expression);
 		if(expression instanceof NumberExpression) {
 			return new NumberExpression(Math.acos(expression.computeDouble()));
 		}else {
@@ -44,20 +48,29 @@ public class ArcCosExpression implements Expression {
 	}
 	
 	@Override
-	public String toString() {
-		String a = expression.toString();
-
-		if(expression instanceof FunctionalExpression) {
-			a = "("+a+")";
-		}
-		
-		return "acos("+a+")";
+	public Expression[] getChildren() {
+		return new Expression[] {expression};
+	}
+	
+	@Override
+	public Expression withChildren(Expression... children) {
+		return new ArcCosExpression(children[0]);
+	}
+	
+	@Override
+	protected void appendText(StringBuilder builder, int index) {
+		builder.append(index == 0 ? "acos(" : ")");
 	}
 	
 	@Override
 	public void setVariable(String name, Number number) {
 		expression.setVariable(name, number);
 	}
+	
+	@Override
+	public void setVariable(String name, double value) {
+		expression.setVariable(name, value);
+	}
 
 	@Override
 	public String getVariables() {
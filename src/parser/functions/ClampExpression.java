@@ -1,7 +1,7 @@
 package parser.functions;
 
+import parser.CompositeExpression;
 import parser.Expression;
-import parser.FunctionalExpression;
 import parser.NumberExpression;
 
 /**
@@ -11,7 +11,7 @@ import parser.NumberExpression;
  * @since ALPHA
  */
 
-public class ClampExpression implements Expression {
+public class ClampExpression extends CompositeExpression {
 
 	private Expression min, max, value;
 	
@@ -20,6 +20,18 @@ public class ClampExpression implements Expression {
 		this.max = max;
 		this.value = value;
 	}
+	
+	public Expression getMin() {
+		return min;
+	}
+	
+	public Expression getMax() {
+		return max;
+	}
+	
+	public Expression getValue() {
+		return value;
+	}
 
 	@Override
 	public void setVariable(String name, Number number) {
@@ -27,6 +39,13 @@ public class ClampExpression implements Expression {
 		max.setVariable(name, number);
 		value.setVariable(name, number);
 	}
+	
+	@Override
+	public void setVariable(String name, double value) {
+		min.setVariable(name, value);
+		max.setVariable(name, value);
+		this.value.setVariable(name, value);
+	}
 
 	@Override
 	public String getVariables() {
@@ -50,9 +69,9 @@ public class ClampExpression implements Expression {
 
 	@Override
 	public Expression simplify() {
-		min = min.simplify();
-		max = max.simplify();
-		value = value.simplify();
+		min = simplifyChild(min);
+		max = simplifyChild(max);
+		value = simplifyChild(value);
 		if(min instanceof NumberExpression && max instanceof NumberExpression && value instanceof NumberExpression) {
 			return new NumberExpression(Math.max(min.computeDouble(), Math.min(max.computeDouble(), value.computeDouble())));
 		}else {
@@ -61,22 +80,18 @@ public class ClampExpression implements Expression {
 	}
 	
 	@Override
-	public String toString() {
-		String a = min.toString(), b = max.toString(), v = value.toString();
-		
-		if(min instanceof FunctionalExpression) {
-			a = "("+a+")";
-		}
-		
-		if(max instanceof FunctionalExpression) {
-			b = "("+b+")";
-		}
-		
-		if(value instanceof FunctionalExpression) {
-			v = "("+v+")";
-		}
-		
-		return "clamp("+a+", "+b+", "+v+")";
+	public Expression[] getChildren() {
+		return new Expression[] {min, max, value};
+	}
+	
+	@Override
+	public Expression withChildren(Expression... children) {
+		return new ClampExpression(children[0], children[1], children[2]);
+	}
+	
+	@Override
+	protected void appendText(StringBuilder builder, int index) {
+		builder.append(index == 0 ? "clamp(" : index < 3 ? ", " : ")");
 	}
 
 }
@@ -1,7 +1,7 @@
 package parser.functions;
 
+import parser.CompositeExpression;
 import parser.Expression;
-import parser.FunctionalExpression;
 import parser.NumberExpression;
 
 /**
@@ -10,7 +10,7 @@ import parser.NumberExpression;
  * @version 1.0 (28.02.2023)
  * @since ALPHA
  */
-public class CosExpression implements Expression {
+public class CosExpression extends CompositeExpression {
 
 	private Expression expression;
 	
@@ -18,6 +18,10 @@ public class CosExpression implements Expression {
 		this.expression = expression;
 	}
 	
+	public Expression getExpression() {
+		return expression;
+	}
+	
 	@Override
 	public float computeFloat() {
 		return (float) Math.cos(expression.computeDouble());
@@ -35,7 +39,7 @@ public class CosExpression implements Expression {
 
 	@Override
 	public Expression simplify() {
-		expression = expression.simplify();
+		expression = simplifyChild(expression);
 		if(expression instanceof NumberExpression) {
 			return new NumberExpression(Math.cos(expression.computeDouble()));
 		}else {
@@ -44,20 +48,29 @@ public class CosExpression implements Expression {
 	}
 	
 	@Override
-	public String toString() {
-		String a = expression.toString();
-
-		if(expression instanceof FunctionalExpression) {
-			a = "("+a+")";
-		}
-		
-		return "cos("+a+")";
+	public Expression[] getChildren() {
+		return new Expression[] {expression};
+	}
+	
+	@Override
+	public Expression withChildren(Expression... children) {
+		return new CosExpression(children[0]);
+	}
+	
+	@Override
+	protected void appendText(StringBuilder builder, int index) {
+		builder.append(index == 0 ? "cos(" : ")");
 	}
 	
 	@Override
 	public void setVariable(String name, Number number) {
 		expression.setVariable(name, number);
 	}
+	
+	@Override
+	public void setVariable(String name, double value) {
+		expression.setVariable(name, value);
+	}
 
 	@Override
 	public String getVariables() {
@@ -0,0 +1,81 @@
+package parser.functions;
+
+import parser.CompositeExpression;
+import parser.Expression;
+import parser.NumberExpression;
+
+/**
+ * Computes the cube root of the given value. This is <code>root(a, 3)</code> after strength reduction in fast-math mode (see {@link parser.optimizer.StrengthReducer}),
+ * which uses {@link Math#cbrt(double)} instead of {@link Math#pow(double, double)}. Unlike the power, the cube root of a negative number is negative instead of NaN.
+ * @author MiKa
+ * @version 1.0 (18.10.2026)
+ * @since ALPHA
+ */
+public class CubeRootExpression extends CompositeExpression {
+
+	private Expression expression;
+	
+	public CubeRootExpression(Expression expression) {
+		this.expression = expression;
+	}
+	
+	public Expression getExpression() {
+		return expression;
+	}
+	
+	@Override
+	public float computeFloat() {
+		return (float) Math.cbrt(expression.computeFloat());
+	}
+
+	@Override
+	public int computeInt() {
+		return (int) Math.cbrt(expression.computeInt());
+	}
+
+	@Override
+	public double computeDouble() {
+		return Math.cbrt(expression.computeDouble());
+	}
+
+	@Override
+	public Expression simplify() {
+		expression = simplifyChild(expression);
+		if(expression instanceof NumberExpression) {
+			return new NumberExpression(Math.cbrt(expression.computeDouble()));
+		}else {
+			return this;
+		}
+	}
+	
+	@Override
+	public Expression[] getChildren() {
+		return new Expression[] {expression};
+	}
+	
+	@Override
+	public Expression withChildren(Expression... children) {
+		return new CubeRootExpression(children[0]);
+	}
+	
+	@Override
+	protected void appendText(StringBuilder builder, int index) {
+		builder.append(index == 0 ? "root(" : ", 3)");
+	}
+	
+	@Override
+	public void setVariable(String name, Number number) {
+		expression.setVariable(name, number);
+	}
+	
+	@Override
+	public void setVariable(String name, double value) {
+		expression.setVariable(name, value);
+	}
+
+	@Override
+	public String getVariables() {
+		return expression.getVariables();
+	}
+
+}
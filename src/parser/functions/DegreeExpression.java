@@ -1,5 +1,6 @@
 package parser.functions;
 
+import parser.CompositeExpression;
 import parser.Expression;
 import parser.NumberExpression;
 
@@ -9,7 +10,7 @@ import parser.NumberExpression;
  * @version 1.0 (28.02.2023)
  * @since ALPHA
  */
-public class DegreeExpression implements Expression {
+public class DegreeExpression extends CompositeExpression {
 
 	private Expression expression;
 	
@@ -17,6 +18,10 @@ public class DegreeExpression implements Expression {
 		this.expression = expression;
 	}
 	
+	public Expression getExpression() {
+		return expression;
+	}
+	
 	@Override
 	public float computeFloat() {
 		return (float) Math.toDegrees(expression.computeFloat());
@@ -34,7 +39,7 @@ public class DegreeExpression implements Expression {
 
 	@Override
 	public Expression simplify() {
-		expression = expression.simplify();
+		expression = simplifyChild(expression);
 		if(expression instanceof NumberExpression) {
 			return new NumberExpression(Math.toDegrees(expression.computeDouble()));
 		}else {
@@ -43,16 +48,34 @@ public class DegreeExpression implements Expression {
 	}
 	
 	@Override
-	public String toString() {
-		String a = expression.toString();
-		
-		return "toDegree("+a+")";
+	public Expression[] getChildren() {
+		return new Expression[] {expression};
+	}
+	
+	@Override
+	public Expression withChildren(Expression... children) {
+		return new DegreeExpression(children[0]);
+	}
+	
+	@Override
+	protected void appendText(StringBuilder builder, int index) {
+		builder.append(index == 0 ? "toDegree(" : ")");
+	}
+	
+	@Override
+	protected boolean isOperand(int index) {
+		return false;
 	}
 	
 	@Override
 	public void setVariable(String name, Number number) {
 		expression.setVariable(name, number);
 	}
+	
+	@Override
+	public void setVariable(String name, double value) {
+		expression.setVariable(name, value);
+	}
 
 	@Override
 	public String getVariables() {
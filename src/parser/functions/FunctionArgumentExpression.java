@@ -1,6 +1,7 @@
 package parser.functions;
 
 import parser.Expression;
+import parser.ExpressionStructure;
 
 /**
  * A dummy {@link Expression} that holds multiple {@link Expression expressions} that can then be used as arguments for functional expressions.
@@ -37,21 +38,51 @@ public class FunctionArgumentExpression implements Expression {
 		return null;
 	}
 	
+	@Override
+	public Expression copy() {
+		return ExpressionStructure.copy(this);
+	}
+	
+	@Override
+	public Expression[] getChildren() {
+		return expressions.clone();
+	}
+	
+	@Override
+	public Expression withChildren(Expression... children) {
+		return new FunctionArgumentExpression(children.clone());
+	}
+	
+	@Override
+	public boolean equals(Object obj) {
+		return obj instanceof FunctionArgumentExpression other && ExpressionStructure.equal(this, other);
+	}
+	
+	@Override
+	public int hashCode() {
+		// Not cached, as the expressions can be changed through getExpressions()
+		return ExpressionStructure.hashOf(this);
+	}
+	
 	public Expression[] getExpressions() {
 		return expressions;
 	}
 	
 	@Override
-	public String toString() {
-		String s = "";
+	public void appendTo(StringBuilder builder) {
 		for(int i = 0; i < expressions.length; i++) {
-			
-			s = s + expressions[i].toString();
-			if(i < expressions.length-1) {
-				s = s + ", ";
+			if(i > 0) {
+				builder.append(", ");
 			}
+			expressions[i].appendTo(builder);
 		}
-		return s;
+	}
+	
+	@Override
+	public String toString() {
+		StringBuilder builder = new StringBuilder();
+		appendTo(builder);
+		return builder.toString();
 	}
 
 	@Override
@@ -61,13 +92,20 @@ public class FunctionArgumentExpression implements Expression {
 		}
 	}
 	
+	@Override
+	public void setVariable(String name, double value) {
+		for(int i = 0; i < expressions.length; i++) {
+			expressions[i].setVariable(name, value);
+		}
+	}
+	
 	@Override
 	public String getVariables() {
-		String var = "";
+		StringBuilder builder = new StringBuilder();
 		for(int i = 0; i < expressions.length; i++) {
-			var += expressions[i].getVariables();
+			builder.append(expressions[i].getVariables());
 		}
-		return var;
+		return builder.toString();
 	}
 
 }
@@ -0,0 +1,126 @@
+package parser.functions;
+
+import parser.CompositeExpression;
+import parser.Expression;
+import parser.FunctionalExpression;
+import parser.NumberExpression;
+
+/**
+ * Raises a value to a constant whole power. This is <code>pow(a, n)</code> after strength reduction (see {@link parser.optimizer.StrengthReducer}):
+ * instead of calling {@link Math#pow(double, double)}, the power is computed with a few multiplications by repeated squaring.
+ * A negative exponent computes the reciprocal of the positive power.
+ * @author MiKa
+ * @version 1.0 (18.10.2026)
+ * @since ALPHA
+ */
+public class IntegerPowExpression extends CompositeExpression implements FunctionalExpression {
+
+	private Expression expression;
+	private final int exponent;
+
+	public IntegerPowExpression(Expression expression, int exponent) {
+		this.expression = expression;
+		this.exponent = exponent;
+	}
+
+	public Expression getExpression() {
+		return expression;
+	}
+
+	public int getExponent() {
+		return exponent;
+	}
+
+	/**
+	 * Computes a power by squaring, going through the bits of the exponent from the highest to the lowest one.
+	 * The {@link parser.compiler.ProgramCompiler} emits the same multiplications in the same order, so compiled programs compute exactly the same values.
+	 * @param base The base.
+	 * @param exponent The exponent.
+	 * @return <code>base</code> to the power of <code>exponent</code>.
+	 */
+	public static double power(double base, int exponent) {
+		if(exponent == 0) {
+			return 1;
+		}
+		int n = Math.abs(exponent);
+		double result = base;
+		for(int bit = Integer.highestOneBit(n) >>> 1; bit != 0; bit >>>= 1) {
+			result *= result;
+			if((n & bit) != 0) {
+				result *= base;
+			}
+		}
+		return exponent < 0 ? 1 / result : result;
+	}
+
+	@Override
+	public float computeFloat() {
+		return (float) power(expression.computeFloat(), exponent);
+	}
+
+	@Override
+	public int computeInt() {
+		return (int) power(expression.computeInt(), exponent);
+	}
+
+	@Override
+	public double computeDouble() {
+		return power(expression.computeDouble(), exponent);
+	}
+
+	@Override
+	public Expression simplify() {
+		expression = simplifyChild(expression);
+		if(expression instanceof NumberExpression) {
+			return new NumberExpression(power(expression.computeDouble(), exponent));
+		}else {
+			return this;
+		}
+	}
+
+	@Override
+	public Expression[] getChildren() {
+		return new Expression[] {expression};
+	}
+
+	@Override
+	public Expression withChildren(Expression... children) {
+		return new IntegerPowExpression(children[0], exponent);
+	}
+
+	@Override
+	public void appendEngineTo(StringBuilder builder) {
+		FunctionalExpression.appendOperand(builder, expression);
+		builder.append("<sup>").append(exponent).append("</sup>");
+	}
+	
+	@Override
+	public String toEngineString() {
+		StringBuilder builder = new StringBuilder();
+		appendEngineTo(builder);
+		return builder.toString();
+	}
+
+	@Override
+	protected void appendText(StringBuilder builder, int index) {
+		if(index == 1) {
+			builder.append(" ^ ").append(exponent);
+		}
+	}
+
+	@Override
+	public void setVariable(String name, Number number) {
+		expression.setVariable(name, number);
+	}
+	
+	@Override
+	public void setVariable(String name, double value) {
+		expression.setVariable(name, value);
+	}
+
+	@Override
+	public String getVariables() {
+		return expression.getVariables();
+	}
+
+}
@@ -0,0 +1,80 @@
+package parser.functions;
+
+import parser.CompositeExpression;
+import parser.Expression;
+import parser.NumberExpression;
+
+/**
+ * Computes the natural logarithm of the given value.
+ * @author MiKa
+ * @version 1.0 (18.10.2026)
+ * @since ALPHA
+ */
+public class LogExpression extends CompositeExpression {
+
+	private Expression expression;
+	
+	public LogExpression(Expression expression) {
+		this.expression = expression;
+	}
+	
+	public Expression getExpression() {
+		return expression;
+	}
+	
+	@Override
+	public float computeFloat() {
+		return (float) Math.log(expression.computeFloat());
+	}
+
+	@Override
+	public int computeInt() {
+		return (int) Math.log(expression.computeInt());
+	}
+
+	@Override
+	public double computeDouble() {
+		return Math.log(expression.computeDouble());
+	}
+
+	@Override
+	public Expression simplify() {
+		expression = simplifyChild(expression);
+		if(expression instanceof NumberExpression) {
+			return new NumberExpression(Math.log(expression.computeDouble()));
+		}else {
+			return this;
+		}
+	}
+	
+	@Override
+	public Expression[] getChildren() {
+		return new Expression[] {expression};
+	}
+	
+	@Override
+	public Expression withChildren(Expression... children) {
+		return new LogExpression(children[0]);
+	}
+	
+	@Override
+	protected void appendText(StringBuilder builder, int index) {
+		builder.append(index == 0 ? "ln(" : ")");
+	}
+	
+	@Override
+	public void setVariable(String name, Number number) {
+		expression.setVariable(name, number);
+	}
+	
+	@Override
+	public void setVariable(String name, double value) {
+		expression.setVariable(name, value);
+	}
+
+	@Override
+	public String getVariables() {
+		return expression.getVariables();
+	}
+
+}
@@ -1,7 +1,7 @@
 package parser.functions;
 
+import parser.CompositeExpression;
 import parser.Expression;
-import parser.FunctionalExpression;
 import parser.NumberExpression;
 
 /**
@@ -10,7 +10,7 @@ import parser.NumberExpression;
  * @version 1.0 (28.02.2023)
  * @since ALPHA
  */
-public class ModExpression implements Expression {
+public class ModExpression extends CompositeExpression {
 
 	private Expression first, sec;
 	
@@ -19,6 +19,14 @@ public class ModExpression implements Expression {
 		this.sec = sec;
 	}
 	
+	public Expression getFirst() {
+		return first;
+	}
+	
+	public Expression getSecond() {
+		return sec;
+	}
+	
 	@Override
 	public float computeFloat() {
 		return first.computeFloat() % sec.computeFloat();
@@ -36,8 +44,8 @@ public class ModExpression implements Expression {
 
 	@Override
 	public Expression simplify() {
-		first = first.simplify();
-		sec = sec.simplify();
+		first = simplifyChild(first);
+		sec = simplifyChild(sec);
 		if(first instanceof NumberExpression && sec instanceof NumberExpression) {
 			return new NumberExpression(first.computeDouble() % sec.computeDouble());
 		}else {
@@ -46,18 +54,18 @@ public class ModExpression implements Expression {
 	}
 	
 	@Override
-	public String toString() {
-		String a = first.toString(), b = sec.toString();
-
-		if(first instanceof FunctionalExpression) {
-			a = "("+a+")";
-		}
-
-		if(sec instanceof FunctionalExpression) {
-			b = "("+b+")";
-		}
-
-		return "mod("+ a + ", " + b + ")";
+	public Expression[] getChildren() {
+		return new Expression[] {first, sec};
+	}
+	
+	@Override
+	public Expression withChildren(Expression... children) {
+		return new ModExpression(children[0], children[1]);
+	}
+	
+	@Override
+	protected void appendText(StringBuilder builder, int index) {
+		builder.append(index == 0 ? "mod(" : index == 1 ? ", " : ")");
 	}
 	
 	@Override
@@ -65,6 +73,12 @@ public class ModExpression implements Expression {
 		first.setVariable(name, number);
 		sec.setVariable(name, number);
 	}
+	
+	@Override
+	public void setVariable(String name, double value) {
+		first.setVariable(name, value);
+		sec.setVariable(name, value);
+	}
 
 	@Override
 	public String getVariables() {
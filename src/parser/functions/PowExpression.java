@@ -1,5 +1,6 @@
 package parser.functions;
 
+import parser.CompositeExpression;
 import parser.Expression;
 import parser.FunctionalExpression;
 import parser.NumberExpression;
@@ -10,7 +11,7 @@ import parser.NumberExpression;
  * @version 1.0 (28.02.2023)
  * @since ALPHA
  */
-public class PowExpression implements FunctionalExpression {
+public class PowExpression extends CompositeExpression implements FunctionalExpression {
 
 	private Expression first, sec;
 	
@@ -19,6 +20,14 @@ public class PowExpression implements FunctionalExpression {
 		this.sec = sec;
 	}
 	
+	public Expression getFirst() {
+		return first;
+	}
+	
+	public Expression getSecond() {
+		return sec;
+	}
+	
 	@Override
 	public float computeFloat() {
 		return (float) Math.pow(first.computeFloat(), sec.computeFloat());
@@ -36,8 +45,8 @@ public class PowExpression implements FunctionalExpression {
 
 	@Override
 	public Expression simplify() {
-		first = first.simplify();
-		sec = sec.simplify();
+		first = simplifyChild(first);
+		sec = simplifyChild(sec);
 		if(first instanceof NumberExpression && sec instanceof NumberExpression) {
 			return new NumberExpression(Math.pow(first.computeDouble(), sec.computeDouble()));
 		}else {
@@ -45,30 +54,36 @@ public class PowExpression implements FunctionalExpression {
 		}
 	}
 	
+	@Override
+	public Expression[] getChildren() {
+		return new Expression[] {first, sec};
+	}
+	
+	@Override
+	public Expression withChildren(Expression... children) {
+		return new PowExpression(children[0], children[1]);
+	}
+	
+	@Override
+	public void appendEngineTo(StringBuilder builder) {
+		FunctionalExpression.appendOperand(builder, first);
+		builder.append("<sup>");
+		sec.appendTo(builder);
+		builder.append("</sup>");
+	}
+	
 	@Override
 	public String toEngineString() {
-		String a = first.toString(), b = sec.toString();
-
-		if(first instanceof FunctionalExpression) {
-			a = "("+a+")";
-		}
-		
-		return a + "<sup>" + b+"</sup>";
+		StringBuilder builder = new StringBuilder();
+		appendEngineTo(builder);
+		return builder.toString();
 	}
 	
 	@Override
-	public String toString() {
-		String a = first.toString(), b = sec.toString();
-
-		if(first instanceof FunctionalExpression) {
-			a = "("+a+")";
+	protected void appendText(StringBuilder builder, int index) {
+		if(index == 1) {
+			builder.append(" ^ ");
 		}
-
-		if(sec instanceof FunctionalExpression) {
-			b = "("+b+")";
-		}
-
-		return a + " ^ " + b;
 	}
 	
 	@Override
@@ -76,6 +91,12 @@ public class PowExpression implements FunctionalExpression {
 		first.setVariable(name, number);
 		sec.setVariable(name, number);
 	}
+	
+	@Override
+	public void setVariable(String name, double value) {
+		first.setVariable(name, value);
+		sec.setVariable(name, value);
+	}
 
 	@Override
 	public String getVariables() {
@@ -0,0 +1,80 @@
+package parser.functions;
+
+import parser.CompositeExpression;
+import parser.Expression;
+import parser.NumberExpression;
+
+/**
+ * Computes the sign of the given value: -1 for negative values, 1 for positive values and 0 for zero.
+ * @author MiKa
+ * @version 1.0 (18.10.2026)
+ * @since ALPHA
+ */
+public class SignExpression extends CompositeExpression {
+
+	private Expression expression;
+	
+	public SignExpression(Expression expression) {
+		this.expression = expression;
+	}
+	
+	public Expression getExpression() {
+		return expression;
+	}
+	
+	@Override
+	public float computeFloat() {
+		return Math.signum(expression.computeFloat());
+	}
+
+	@Override
+	public int computeInt() {
+		return (int) Math.signum(expression.computeInt());
+	}
+
+	@Override
+	public double computeDouble() {
+		return Math.signum(expression.computeDouble());
+	}
+
+	@Override
+	public Expression simplify() {
+		expression = simplifyChild(expression);
+		if(expression instanceof NumberExpression) {
+			return new NumberExpression(Math.signum(expression.computeDouble()));
+		}else {
+			return this;
+		}
+	}
+	
+	@Override
+	public Expression[] getChildren() {
+		return new Expression[] {expression};
+	}
+	
+	@Override
+	public Expression withChildren(Expression... children) {
+		return new SignExpression(children[0]);
+	}
+	
+	@Override
+	protected void appendText(StringBuilder builder, int index) {
+		builder.append(index == 0 ? "sign(" : ")");
+	}
+	
+	@Override
+	public void setVariable(String name, Number number) {
+		expression.setVariable(name, number);
+	}
+	
+	@Override
+	public void setVariable(String name, double value) {
+		expression.setVariable(name, value);
+	}
+
+	@Override
+	public String getVariables() {
+		return expression.getVariables();
+	}
+
+}
@@ -1,5 +1,6 @@
 package parser.functions;
 
+import parser.CompositeExpression;
 import parser.Expression;
 import parser.FunctionalExpression;
 import parser.NumberExpression;
@@ -10,7 +11,7 @@ import parser.NumberExpression;
  * @version 1.0 (28.02.2023)
  * @since ALPHA
  */
-public class SqrtExpression implements FunctionalExpression {
+public class SqrtExpression extends CompositeExpression implements FunctionalExpression {
 
 	private Expression first, sec;
 	
@@ -19,6 +20,14 @@ public class SqrtExpression implements FunctionalExpression {
 		this.sec = sec;
 	}
 	
+	public Expression getFirst() {
+		return first;
+	}
+	
+	public Expression getSecond() {
+		return sec;
+	}
+	
 	@Override
 	public float computeFloat() {
 		return (float) Math.pow(first.computeFloat(), 1.0/sec.computeFloat());
@@ -36,8 +45,8 @@ public class SqrtExpression implements FunctionalExpression {
 
 	@Override
 	public Expression simplify() {
-		first = first.simplify();
-		sec = sec.simplify();
+		first = simplifyChild(first);
+		sec = simplifyChild(sec);
 		if(first instanceof NumberExpression && sec instanceof NumberExpression) {
 			return new NumberExpression(Math.pow(first.computeDouble(), 1.0/sec.computeDouble()));
 		}else {
@@ -46,18 +55,18 @@ public class SqrtExpression implements FunctionalExpression {
 	}
 	
 	@Override
-	public String toString() {
-		String a = first.toString(), b = sec.toString();
-
-		if(first instanceof FunctionalExpression) {
-			a = "("+a+")";
-		}
-
-		if(sec instanceof FunctionalExpression) {
-			b = "("+b+")";
-		}
-
-		return "sqrt("+ a + ", " + b +")";
+	public Expression[] getChildren() {
+		return new Expression[] {first, sec};
+	}
+	
+	@Override
+	public Expression withChildren(Expression... children) {
+		return new SqrtExpression(children[0], children[1]);
+	}
+	
+	@Override
+	protected void appendText(StringBuilder builder, int index) {
+		builder.append(index == 0 ? "sqrt(" : index == 1 ? ", " : ")");
 	}
 	
 	@Override
@@ -65,6 +74,12 @@ public class SqrtExpression implements FunctionalExpression {
 		first.setVariable(name, number);
 		sec.setVariable(name, number);
 	}
+	
+	@Override
+	public void setVariable(String name, double value) {
+		first.setVariable(name, value);
+		sec.setVariable(name, value);
+	}
 
 	@Override
 	public String getVariables() {
@@ -0,0 +1,81 @@
+package parser.functions;
+
+import parser.CompositeExpression;
+import parser.Expression;
+import parser.NumberExpression;
+
+/**
+ * Computes the square root of the given value. This is <code>root(a, 2)</code> after strength reduction in fast-math mode (see {@link parser.optimizer.StrengthReducer}),
+ * which uses {@link Math#sqrt(double)} instead of {@link Math#pow(double, double)}.
+ * @author MiKa
+ * @version 1.0 (18.10.2026)
+ * @since ALPHA
+ */
+public class SquareRootExpression extends CompositeExpression {
+
+	private Expression expression;
+	
+	public SquareRootExpression(Expression expression) {
+		this.expression = expression;
+	}
+	
+	public Expression getExpression() {
+		return expression;
+	}
+	
+	@Override
+	public float computeFloat() {
+		return (float) Math.sqrt(expression.computeFloat());
+	}
+
+	@Override
+	public int computeInt() {
+		return (int) Math.sqrt(expression.computeInt());
+	}
+
+	@Override
+	public double computeDouble() {
+		return Math.sqrt(expression.computeDouble());
+	}
+
+	@Override
+	public Expression simplify() {
+		expression = simplifyChild(expression);
+		if(expression instanceof NumberExpression) {
+			return new NumberExpression(Math.sqrt(expression.computeDouble()));
+		}else {
+			return this;
+		}
+	}
+	
+	@Override
+	public Expression[] getChildren() {
+		return new Expression[] {expression};
+	}
+	
+	@Override
+	public Expression withChildren(Expression... children) {
+		return new SquareRootExpression(children[0]);
+	}
+	
+	@Override
+	protected void appendText(StringBuilder builder, int index) {
+		builder.append(index == 0 ? "root(" : ", 2)");
+	}
+	
+	@Override
+	public void setVariable(String name, Number number) {
+		expression.setVariable(name, number);
+	}
+	
+	@Override
+	public void setVariable(String name, double value) {
+		expression.setVariable(name, value);
+	}
+
+	@Override
+	public String getVariables() {
+		return expression.getVariables();
+	}
+
+}
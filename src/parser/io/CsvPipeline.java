@@ -0,0 +1,464 @@
+package parser.io;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import parser.Expression;
+import parser.compiler.BatchEvaluator;
+import parser.compiler.Program;
+import parser.compiler.ProgramCompiler;
+
+/**
+ * Evaluates expressions for every row of a CSV file, without loading the file into memory.
+ * <br><br>
+ * The first line of the input is the header. Its names are bound to the variables of the expressions, so an expression <code>price * amount</code>
+ * reads the columns "price" and "amount". Columns that are not used by any expression are skipped and may contain anything.
+ * The input is read in chunks of characters, and the numbers are parsed directly from these chunks, no <code>String</code> is created for a cell.
+ * The rows are collected in blocks of {@link BatchEvaluator#BLOCK_SIZE} rows, which are then evaluated by a {@link BatchEvaluator} per expression
+ * and written to the output, one line per row with one column per expression. Therefore, the memory that is used only depends on the length of the longest
+ * line and the number of columns, not on the size of the file.
+ * <br><br>
+ * Cells may be quoted (<code>"1.5"</code>), and quoted cells may contain delimiters and line breaks. Empty cells are read as NaN.
+ * <br><br>
+ * A pipeline does not hold any state between runs, so it can be used by multiple threads at the same time.
+ * <pre>
+ * CsvPipeline pipeline = new CsvPipeline(new String[] {"total"}, new Expression[] {Expression.parse("price * amount", true)});
+ * CsvPipeline.Statistics statistics = pipeline.run(Path.of("orders.csv"), Path.of("totals.csv"));
+ * System.out.println(statistics.rowsPerSecond()+" rows/s");
+ * </pre>
+ * @author MiKa
+ * @version 1.0 (18.10.2026)
+ * @since ALPHA
+ */
+
+public class CsvPipeline {
+
+	/** The number of characters that are read at once. */
+	private static final int CHUNK_SIZE = 1 << 16;
+
+	/** The powers of ten that are exactly representable as a double. */
+	private static final double[] POWERS_OF_TEN = {
+		1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11, 1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+	};
+
+	private final String[] names;
+	private final Expression[] expressions;
+	private final char delimiter;
+
+	/**
+	 * Creates a pipeline that separates the columns by commas and names the output columns after the expressions.
+	 * @param expressions The expressions that are evaluated for every row.
+	 */
+	public CsvPipeline(Expression... expressions) {
+		this(Arrays.stream(expressions).map(Expression::toString).toArray(String[]::new), expressions);
+	}
+
+	/**
+	 * Creates a pipeline that separates the columns by commas.
+	 * @param names The names of the output columns, one per expression.
+	 * @param expressions The expressions that are evaluated for every row.
+	 */
+	public CsvPipeline(String[] names, Expression[] expressions) {
+		this(names, expressions, ',');
+	}
+
+	/**
+	 * @param names The names of the output columns, one per expression.
+	 * @param expressions The expressions that are evaluated for every row.
+	 * @param delimiter The character that separates the columns, in the input and in the output.
+	 */
+	public CsvPipeline(String[] names, Expression[] expressions, char delimiter) {
+		if(names.length != expressions.length) {
+			throw new IllegalArgumentException("Math parser: Expected one name per expression, but got "+names.length+" names for "+expressions.length+" expressions!");
+		}
+		if(delimiter == '"' || delimiter == '\n' || delimiter == '\r') {
+			throw new IllegalArgumentException("Math parser: The character '"+delimiter+"' cannot be used as a delimiter!");
+		}
+		this.names = names.clone();
+		this.expressions = expressions.clone();
+		this.delimiter = delimiter;
+	}
+
+	/**
+	 * Reads a CSV file and writes the results to another file. Both files are encoded as UTF-8.
+	 * @param input The CSV file with a header line.
+	 * @param output The file for the results. Will be replaced if it exists.
+	 * @return The number of rows and the time it took.
+	 * @throws IOException If one of the files cannot be read or written.
+	 * @throws IllegalArgumentException If an expression uses a variable that is not a column of the input, or a used cell is not a number.
+	 */
+	public Statistics run(Path input, Path output) throws IOException {
+		try(Reader reader = Files.newBufferedReader(input, StandardCharsets.UTF_8); Writer writer = Files.newBufferedWriter(output, StandardCharsets.UTF_8)) {
+			return run(reader, writer);
+		}
+	}
+
+	/**
+	 * Reads CSV data and writes the results. Neither the reader nor the writer are closed, the writer is flushed at the end.
+	 * @param input The CSV data with a header line.
+	 * @param output The writer that receives the results, starting with a header line.
+	 * @return The number of rows and the time it took.
+	 * @throws IOException If the input cannot be read or the output cannot be written.
+	 * @throws IllegalArgumentException If an expression uses a variable that is not a column of the input, or a used cell is not a number.
+	 */
+	public Statistics run(Reader input, Writer output) throws IOException {
+		long start = System.nanoTime();
+		Run run = new Run(input, output);
+		long rows = run.execute();
+		return new Statistics(rows, System.nanoTime() - start);
+	}
+
+	/**
+	 * The result of a run.
+	 * @param rows The number of rows that were evaluated, without the header.
+	 * @param nanos The time the run took, in nanoseconds.
+	 */
+	public record Statistics(long rows, long nanos) {
+
+		/**
+		 * @return The throughput of the run in rows per second.
+		 */
+		public double rowsPerSecond() {
+			return nanos == 0 ? 0 : rows * 1e9 / nanos;
+		}
+
+		@Override
+		public String toString() {
+			return rows+" rows in "+(nanos / 1_000_000)+" ms ("+Math.round(rowsPerSecond())+" rows/s)";
+		}
+
+	}
+
+	/**
+	 * The buffers of a single run.
+	 */
+	private final class Run {
+
+		private final Reader input;
+		private final Writer output;
+
+		private char[] buffer = new char[CHUNK_SIZE];
+		private int position, limit;
+		private boolean end;
+
+		/** The start and end of every cell of the current record. */
+		private int[] cells = new int[32];
+		private int cellCount;
+
+		private String[] header;
+		/** For every column of the input, true if it is read by one of the expressions. */
+		private boolean[] used;
+		private BatchEvaluator[] evaluators;
+		private double[][] columns;
+		private double[][] results;
+
+		private final StringBuilder text = new StringBuilder();
+		private char[] chars = new char[CHUNK_SIZE];
+
+		private Run(Reader input, Writer output) {
+			this.input = input;
+			this.output = output;
+		}
+
+		private long execute() throws IOException {
+			if(!nextRecord()) {
+				throw new IllegalArgumentException("Math parser: The CSV input has no header line!");
+			}
+			readHeader();
+			writeHeader();
+
+			long rows = 0;
+			int row = 0;
+			while(nextRecord()) {
+				if(cellCount == 1 && cells[0] == cells[1]) {
+					continue;
+				}
+				readRow(row, rows);
+				rows++;
+				if(++row == BatchEvaluator.BLOCK_SIZE) {
+					writeBlock(row);
+					row = 0;
+				}
+			}
+			writeBlock(row);
+			output.flush();
+			return rows;
+		}
+
+		/**
+		 * Compiles the expressions against the columns of the header.
+		 */
+		private void readHeader() {
+			header = new String[cellCount];
+			for(int i = 0; i < cellCount; i++) {
+				int from = cells[i * 2], to = cells[i * 2 + 1];
+				header[i] = unquote(from, to);
+			}
+
+			Program[] programs = new Program[expressions.length];
+			used = new boolean[header.length];
+			for(int i = 0; i < expressions.length; i++) {
+				programs[i] = ProgramCompiler.compile(expressions[i], header);
+				for(int column = 0; column < header.length; column++) {
+					used[column] |= programs[i].usesVariable(column);
+				}
+			}
+
+			// Unused columns all share one block, which is never read
+			columns = new double[header.length][];
+			double[] unused = new double[BatchEvaluator.BLOCK_SIZE];
+			for(int i = 0; i < header.length; i++) {
+				columns[i] = used[i] ? new double[BatchEvaluator.BLOCK_SIZE] : unused;
+			}
+
+			evaluators = new BatchEvaluator[programs.length];
+			results = new double[programs.length][BatchEvaluator.BLOCK_SIZE];
+			for(int i = 0; i < programs.length; i++) {
+				evaluators[i] = new BatchEvaluator(programs[i]);
+			}
+		}
+
+		private void readRow(int row, long index) {
+			for(int column = 0; column < used.length; column++) {
+				if(!used[column]) {
+					continue;
+				}
+				if(column >= cellCount) {
+					throw new IllegalArgumentException("Math parser: Row "+(index + 1)+" has only "+cellCount+" columns, but the column \""+header[column]+"\" is needed!");
+				}
+				columns[column][row] = parseNumber(cells[column * 2], cells[column * 2 + 1], index, column);
+			}
+		}
+
+		private void writeHeader() throws IOException {
+			for(int i = 0; i < names.length; i++) {
+				if(i > 0) {
+					text.append(delimiter);
+				}
+				quote(names[i]);
+			}
+			text.append('\n');
+			flushText();
+		}
+
+		private void writeBlock(int rows) throws IOException {
+			if(rows == 0) {
+				return;
+			}
+			for(int i = 0; i < evaluators.length; i++) {
+				evaluators[i].evaluate(columns, results[i], 0, rows);
+			}
+			for(int row = 0; row < rows; row++) {
+				for(int i = 0; i < results.length; i++) {
+					if(i > 0) {
+						text.append(delimiter);
+					}
+					text.append(results[i][row]);
+				}
+				text.append('\n');
+			}
+			flushText();
+		}
+
+		/**
+		 * Writes the text to the output without converting it to a string.
+		 */
+		private void flushText() throws IOException {
+			int length = text.length();
+			if(chars.length < length) {
+				chars = new char[length];
+			}
+			text.getChars(0, length, chars, 0);
+			output.write(chars, 0, length);
+			text.setLength(0);
+		}
+
+		private void quote(String name) {
+			if(name.indexOf(delimiter) < 0 && name.indexOf('"') < 0 && name.indexOf('\n') < 0 && name.indexOf('\r') < 0) {
+				text.append(name);
+				return;
+			}
+			text.append('"');
+			for(int i = 0; i < name.length(); i++) {
+				char c = name.charAt(i);
+				if(c == '"') {
+					text.append('"');
+				}
+				text.append(c);
+			}
+			text.append('"');
+		}
+
+		/**
+		 * Finds the next record and the bounds of its cells. Reads more input if the record is not complete yet.
+		 * @return False if there are no more records.
+		 */
+		private boolean nextRecord() throws IOException {
+			while(true) {
+				if(position == limit && end) {
+					return false;
+				}
+				int next = scanRecord();
+				if(next >= 0) {
+					position = next;
+					return true;
+				}
+				fill();
+			}
+		}
+
+		/**
+		 * Moves the incomplete record to the start of the buffer and reads the next chunk.
+		 * The buffer only grows if a single record is longer than the buffer.
+		 */
+		private void fill() throws IOException {
+			if(position > 0) {
+				System.arraycopy(buffer, position, buffer, 0, limit - position);
+				limit -= position;
+				position = 0;
+			}
+			if(limit == buffer.length) {
+				buffer = Arrays.copyOf(buffer, buffer.length * 2);
+			}
+			int read = input.read(buffer, limit, buffer.length - limit);
+			if(read < 0) {
+				end = true;
+			}else {
+				limit += read;
+			}
+		}
+
+		/**
+		 * @return The position after the line break of the record, or -1 if the record does not end in the buffer.
+		 */
+		private int scanRecord() {
+			char[] buffer = this.buffer;
+			cellCount = 0;
+			int start = position;
+			boolean quoted = false;
+			for(int i = position; i < limit; i++) {
+				char c = buffer[i];
+				if(c == '"') {
+					quoted = !quoted;
+				}else if(quoted) {
+					continue;
+				}else if(c == delimiter) {
+					addCell(start, i);
+					start = i + 1;
+				}else if(c == '\n') {
+					addCell(start, i);
+					return i + 1;
+				}else if(c == '\r') {
+					if(i + 1 == limit && !end) {
+						return -1;
+					}
+					addCell(start, i);
+					return i + 1 < limit && buffer[i + 1] == '\n' ? i + 2 : i + 1;
+				}
+			}
+			if(end) {
+				addCell(start, limit);
+				return limit;
+			}
+			return -1;
+		}
+
+		private void addCell(int from, int to) {
+			if(cellCount * 2 == cells.length) {
+				cells = Arrays.copyOf(cells, cells.length * 2);
+			}
+			cells[cellCount * 2] = from;
+			cells[cellCount * 2 + 1] = to;
+			cellCount++;
+		}
+
+		/**
+		 * Parses a decimal number directly from the buffer. Numbers with up to 19 digits and a small exponent are computed exactly
+		 * from their digits. Everything else (very long numbers, NaN, Infinity, hexadecimal numbers) is passed to {@link Double#parseDouble(String)}.
+		 */
+		private double parseNumber(int from, int to, long row, int column) {
+			char[] buffer = this.buffer;
+			while(from < to && buffer[from] <= ' ') {
+				from++;
+			}
+			while(to > from && buffer[to - 1] <= ' ') {
+				to--;
+			}
+			if(to - from >= 2 && buffer[from] == '"' && buffer[to - 1] == '"') {
+				return parseNumber(from + 1, to - 1, row, column);
+			}
+			if(from == to) {
+				return Double.NaN;
+			}
+
+			int i = from;
+			boolean negative = buffer[i] == '-';
+			if(negative || buffer[i] == '+') {
+				i++;
+			}
+			long mantissa = 0;
+			int digits = 0, exponent = 0;
+			boolean any = false;
+			for(; i < to && buffer[i] >= '0' && buffer[i] <= '9'; i++) {
+				any = true;
+				if(mantissa != 0 || buffer[i] != '0') {
+					mantissa = mantissa * 10 + (buffer[i] - '0');
+					digits++;
+				}
+			}
+			if(i < to && buffer[i] == '.') {
+				for(i++; i < to && buffer[i] >= '0' && buffer[i] <= '9'; i++) {
+					any = true;
+					if(mantissa != 0 || buffer[i] != '0') {
+						mantissa = mantissa * 10 + (buffer[i] - '0');
+						digits++;
+					}
+					exponent--;
+				}
+			}
+			if(any && i < to && (buffer[i] == 'e' || buffer[i] == 'E')) {
+				i++;
+				boolean negativeExponent = i < to && buffer[i] == '-';
+				if(i < to && (buffer[i] == '-' || buffer[i] == '+')) {
+					i++;
+				}
+				int value = 0;
+				boolean anyExponent = false;
+				for(; i < to && buffer[i] >= '0' && buffer[i] <= '9' && value < 10000; i++) {
+					value = value * 10 + (buffer[i] - '0');
+					anyExponent = true;
+				}
+				exponent += negativeExponent ? -value : value;
+				any = anyExponent;
+			}
+
+			if(any && i == to && digits <= 15 && Math.abs(exponent) < POWERS_OF_TEN.length) {
+				// Both the mantissa and the power of ten are exact, so the result is rounded only once
+				double value = exponent < 0 ? mantissa / POWERS_OF_TEN[-exponent] : mantissa * POWERS_OF_TEN[exponent];
+				return negative ? -value : value;
+			}
+
+			String cell = new String(buffer, from, to - from);
+			try {
+				return Double.parseDouble(cell);
+			}catch(NumberFormatException e) {
+				throw new IllegalArgumentException("Math parser: The cell \""+cell+"\" in row "+(row + 1)+", column \""+header[column]+"\" is not a number!", e);
+			}
+		}
+
+		private String unquote(int from, int to) {
+			String cell = new String(buffer, from, to - from).strip();
+			if(cell.length() >= 2 && cell.startsWith("\"") && cell.endsWith("\"")) {
+				cell = cell.substring(1, cell.length() - 1).replace("\"\"", "\"");
+			}
+			return cell;
+		}
+
+	}
+
+}
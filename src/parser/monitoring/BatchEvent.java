@@ -0,0 +1,43 @@
+package parser.monitoring;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+import parser.compiler.BatchEvaluator;
+import parser.compiler.ParallelBatchEvaluator;
+
+/**
+ * A JDK Flight Recorder event, that is recorded for every call of {@link BatchEvaluator#evaluate(double[][], double[], int, int)}
+ * and {@link ParallelBatchEvaluator#evaluate(double[][], double[])}. The chunks of a parallel evaluation are not recorded separately.
+ * <br><br>
+ * Batches are evaluated often and in tight loops, so no stack trace is recorded.
+ * @author MiKa
+ * @version 1.0 (18.10.2026)
+ * @since ALPHA
+ */
+
+@Name("mathparser.BatchEvaluation")
+@Label("Batch Evaluation")
+@Category("Math Parser")
+@Description("Evaluation of a program for many rows")
+@StackTrace(false)
+public final class BatchEvent extends Event {
+
+	@Label("Rows")
+	public int rows;
+	
+	@Label("Instructions")
+	@Description("The length of the program, including the operands")
+	public int instructions;
+	
+	@Label("Vectorized")
+	public boolean vectorized;
+	
+	@Label("Parallel")
+	public boolean parallel;
+	
+}
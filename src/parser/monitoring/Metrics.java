@@ -0,0 +1,287 @@
+package parser.monitoring;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+import parser.compiler.BatchEvaluator;
+import parser.compiler.CompiledExpression;
+
+/**
+ * Counts how often expressions are evaluated and how long the evaluations take. Every expression gets a named {@link Timer},
+ * which keeps the number of calls, the number of evaluated rows and a histogram of the latencies. The counters are {@link LongAdder LongAdders},
+ * so that many threads can record into the same timer without contention.
+ * <br><br>
+ * Metrics are disabled until {@link #setEnabled(boolean)} is called. While they are disabled, a timer does not even read the clock:
+ * a tracked expression costs one additional call and one read of a volatile field.
+ * <pre>
+ * Metrics metrics = new Metrics();
+ * CompiledExpression price = metrics.track("price", expression.bind("x", "y"));
+ * metrics.setEnabled(true);
+ * ...
+ * metrics.writePrometheus(writer); // or metrics.snapshot()
+ * </pre>
+ * Batches are recorded with a timer directly:
+ * <pre>
+ * Metrics.Timer timer = metrics.timer("price");
+ * long start = timer.start();
+ * evaluator.evaluate(columns, out);
+ * timer.stop(start, out.length);
+ * </pre>
+ * @author MiKa
+ * @version 1.0 (18.10.2026)
+ * @since ALPHA
+ * @see ParseEvent
+ */
+
+public final class Metrics {
+
+	/**
+	 * The number of buckets of the latency histograms. Bucket i counts the calls that took less than 2<sup>i</sup> nanoseconds
+	 * (and at least 2<sup>i-1</sup>), the last bucket counts all calls that took longer.
+	 */
+	public static final int BUCKETS = 40;
+
+	private final ConcurrentHashMap<String, Timer> timers = new ConcurrentHashMap<>();
+	private volatile boolean enabled;
+
+	/**
+	 * Creates disabled metrics.
+	 */
+	public Metrics() {}
+
+	/**
+	 * @param enabled True if the timers should record from the start.
+	 */
+	public Metrics(boolean enabled) {
+		this.enabled = enabled;
+	}
+
+	public boolean isEnabled() {
+		return enabled;
+	}
+
+	/**
+	 * Enables or disables all timers of these metrics. The recorded values are kept.
+	 * @param enabled True if the timers should record.
+	 */
+	public void setEnabled(boolean enabled) {
+		this.enabled = enabled;
+	}
+
+	/**
+	 * @param name The name of the expression.
+	 * @return The timer with this name. Is created if there is no timer with this name yet.
+	 */
+	public Timer timer(String name) {
+		return timers.computeIfAbsent(name, Timer::new);
+	}
+
+	/**
+	 * Wraps a compiled expression, so that every evaluation is recorded by the timer with the given name.
+	 * Multiple expressions can share the same name, their evaluations are recorded together.
+	 * @param name The name of the expression.
+	 * @param expression The compiled expression.
+	 * @return A compiled expression, that returns the same results.
+	 */
+	public CompiledExpression track(String name, CompiledExpression expression) {
+		Timer timer = timer(name);
+		return vars -> {
+			long start = timer.start();
+			double result = expression.evaluate(vars);
+			timer.stop(start, 1);
+			return result;
+		};
+	}
+
+	/**
+	 * @return The current values of all timers, sorted by their names. The values of one timer are read one after another,
+	 * so they may not be consistent with each other while other threads are recording.
+	 */
+	public List<Snapshot> snapshot() {
+		ArrayList<Snapshot> snapshots = new ArrayList<>(timers.size());
+		for(Timer timer : timers.values()) {
+			snapshots.add(timer.snapshot());
+		}
+		snapshots.sort(Comparator.comparing(Snapshot::name));
+		return snapshots;
+	}
+
+	/**
+	 * Resets all timers to zero.
+	 */
+	public void reset() {
+		for(Timer timer : timers.values()) {
+			timer.reset();
+		}
+	}
+
+	/**
+	 * Writes all timers in the text format of Prometheus: a histogram <code>mathparser_evaluation_seconds</code> of the latencies of the calls,
+	 * and a counter <code>mathparser_evaluations_total</code> of the evaluated rows. The name of an expression is the label <code>expression</code>.
+	 * @param out The output, for example the response of an HTTP endpoint.
+	 * @throws IOException If the output cannot be written.
+	 */
+	public void writePrometheus(Appendable out) throws IOException {
+		List<Snapshot> snapshots = snapshot();
+		out.append("# HELP mathparser_evaluation_seconds The time needed to evaluate an expression.\n");
+		out.append("# TYPE mathparser_evaluation_seconds histogram\n");
+		for(Snapshot snapshot : snapshots) {
+			String label = "expression=\""+escape(snapshot.name())+"\"";
+			long cumulative = 0;
+			for(int i = 0; i < BUCKETS - 1; i++) {
+				cumulative += snapshot.buckets[i];
+				out.append("mathparser_evaluation_seconds_bucket{").append(label).append(",le=\"").append(Double.toString((1L << i) / 1e9)).append("\"} ")
+					.append(Long.toString(cumulative)).append('\n');
+			}
+			out.append("mathparser_evaluation_seconds_bucket{").append(label).append(",le=\"+Inf\"} ").append(Long.toString(snapshot.calls())).append('\n');
+			out.append("mathparser_evaluation_seconds_sum{").append(label).append("} ").append(Double.toString(snapshot.totalNanos() / 1e9)).append('\n');
+			out.append("mathparser_evaluation_seconds_count{").append(label).append("} ").append(Long.toString(snapshot.calls())).append('\n');
+		}
+		out.append("# HELP mathparser_evaluations_total The number of rows for which an expression was evaluated.\n");
+		out.append("# TYPE mathparser_evaluations_total counter\n");
+		for(Snapshot snapshot : snapshots) {
+			out.append("mathparser_evaluations_total{expression=\"").append(escape(snapshot.name())).append("\"} ").append(Long.toString(snapshot.rows())).append('\n');
+		}
+	}
+
+	private static String escape(String label) {
+		return label.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+	}
+
+	/**
+	 * Records the calls of one expression. Timers are created by {@link Metrics#timer(String)}, and can be used by multiple threads at the same time.
+	 */
+	public final class Timer {
+
+		private final String name;
+		private final LongAdder calls = new LongAdder(), rows = new LongAdder(), totalNanos = new LongAdder();
+		private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+		private final LongAdder[] buckets = new LongAdder[BUCKETS];
+
+		private Timer(String name) {
+			this.name = name;
+			for(int i = 0; i < BUCKETS; i++) {
+				buckets[i] = new LongAdder();
+			}
+		}
+
+		public String getName() {
+			return name;
+		}
+
+		/**
+		 * Starts the measurement of one call.
+		 * @return The start time, that must be passed to {@link #stop(long, int)}. Is 0 if the metrics are disabled.
+		 */
+		public long start() {
+			return enabled ? System.nanoTime() : 0;
+		}
+
+		/**
+		 * Ends the measurement of one call. Does nothing if the metrics were disabled when {@link #start()} was called.
+		 * @param start The value returned by {@link #start()}.
+		 * @param rows The number of rows that were evaluated by the call, 1 for a single evaluation and the number of rows for a {@link BatchEvaluator}.
+		 */
+		public void stop(long start, int rows) {
+			if(start != 0) {
+				record(System.nanoTime() - start, rows);
+			}
+		}
+
+		/**
+		 * Records one call, that has been measured by the caller. Is recorded even if the metrics are disabled.
+		 * @param nanos The duration of the call in nanoseconds.
+		 * @param rows The number of rows that were evaluated by the call.
+		 */
+		public void record(long nanos, int rows) {
+			nanos = Math.max(nanos, 0);
+			calls.increment();
+			this.rows.add(rows);
+			totalNanos.add(nanos);
+			maxNanos.accumulate(nanos);
+			buckets[Math.min(64 - Long.numberOfLeadingZeros(nanos), BUCKETS - 1)].increment();
+		}
+
+		/**
+		 * @return The current values of this timer.
+		 */
+		public Snapshot snapshot() {
+			long[] counts = new long[BUCKETS];
+			for(int i = 0; i < BUCKETS; i++) {
+				counts[i] = buckets[i].sum();
+			}
+			return new Snapshot(name, calls.sum(), rows.sum(), totalNanos.sum(), maxNanos.get(), counts);
+		}
+
+		private void reset() {
+			calls.reset();
+			rows.reset();
+			totalNanos.reset();
+			maxNanos.reset();
+			for(LongAdder bucket : buckets) {
+				bucket.reset();
+			}
+		}
+
+	}
+
+	/**
+	 * The values of a {@link Timer} at one point in time.
+	 * @param name The name of the expression.
+	 * @param calls The number of recorded calls.
+	 * @param rows The number of evaluated rows.
+	 * @param totalNanos The time of all calls together.
+	 * @param maxNanos The time of the slowest call.
+	 * @param buckets The latency histogram, see {@link Metrics#BUCKETS}.
+	 */
+	public record Snapshot(String name, long calls, long rows, long totalNanos, long maxNanos, long[] buckets) {
+
+		/**
+		 * @return The average time of a call in nanoseconds, 0 if no call has been recorded.
+		 */
+		public double meanNanos() {
+			return calls == 0 ? 0 : (double) totalNanos / calls;
+		}
+
+		/**
+		 * Estimates a percentile from the histogram. The result is the upper bound of the bucket that contains the percentile,
+		 * so it is at most twice the exact value.
+		 * @param percentile The percentile between 0 and 100, for example 99.
+		 * @return The estimated time in nanoseconds, 0 if no call has been recorded.
+		 */
+		public long percentileNanos(double percentile) {
+			long rank = (long) Math.ceil(calls * percentile / 100), count = 0;
+			for(int i = 0; i < buckets.length - 1; i++) {
+				count += buckets[i];
+				if(count >= rank && count > 0) {
+					return Math.min(1L << i, maxNanos);
+				}
+			}
+			return maxNanos;
+		}
+
+		@Override
+		public String toString() {
+			return "Metrics.Snapshot[name = "+name+", calls = "+calls+", rows = "+rows+", mean = "+Math.round(meanNanos())+" ns, p99 = "+percentileNanos(99)+" ns, max = "+maxNanos+" ns]";
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			return obj instanceof Snapshot other && name.equals(other.name) && calls == other.calls && rows == other.rows && totalNanos == other.totalNanos
+				&& maxNanos == other.maxNanos && Arrays.equals(buckets, other.buckets);
+		}
+
+		@Override
+		public int hashCode() {
+			return name.hashCode() * 31 + Arrays.hashCode(buckets);
+		}
+
+	}
+
+}
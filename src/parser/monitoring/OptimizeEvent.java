@@ -0,0 +1,64 @@
+package parser.monitoring;
+
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Set;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+import parser.Expression;
+import parser.optimizer.Optimizer;
+import parser.optimizer.StrengthReducer;
+
+/**
+ * A JDK Flight Recorder event, that is recorded for every pass of the {@link Optimizer} and the {@link StrengthReducer}.
+ * The number of nodes is the number of distinct nodes, so a subexpression that is shared (see {@link parser.optimizer.SubexpressionEliminator})
+ * is counted once.
+ * @author MiKa
+ * @version 1.0 (18.10.2026)
+ * @since ALPHA
+ */
+
+@Name("mathparser.Optimize")
+@Label("Optimize Expression")
+@Category("Math Parser")
+@Description("One optimization pass over an expression")
+public final class OptimizeEvent extends Event {
+
+	@Label("Pass")
+	@Description("The class that rewrote the expression")
+	public String pass;
+	
+	@Label("Nodes Before")
+	public int nodesBefore;
+	
+	@Label("Nodes After")
+	public int nodesAfter;
+	
+	/**
+	 * Counts the nodes of an expression. Unlike {@link Optimizer#countNodes(Expression)}, every node is only visited once,
+	 * so counting a graph with many shared nodes does not take exponential time.
+	 * @param expression The expression.
+	 * @return The number of distinct nodes.
+	 */
+	public static int countNodes(Expression expression) {
+		Set<Expression> visited = Collections.newSetFromMap(new IdentityHashMap<>());
+		ArrayDeque<Expression> work = new ArrayDeque<>();
+		work.push(expression);
+		while(!work.isEmpty()) {
+			Expression node = work.pop();
+			if(visited.add(node)) {
+				for(Expression child : node.getChildren()) {
+					work.push(child);
+				}
+			}
+		}
+		return visited.size();
+	}
+	
+}
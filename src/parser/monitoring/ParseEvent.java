@@ -0,0 +1,47 @@
+package parser.monitoring;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+import parser.Expression;
+
+/**
+ * A JDK Flight Recorder event, that is recorded for every call of {@link Expression#parse(String, boolean)}.
+ * The duration includes the simplification, which is recorded as {@link OptimizeEvent OptimizeEvents} of its own.
+ * <br><br>
+ * Like all events of this package, the event costs next to nothing if no recording is running:
+ * the fields are only filled in if the event is going to be committed.
+ * <pre>
+ * java -XX:StartFlightRecording:filename=parser.jfr ...
+ * jfr print --events mathparser.Parse parser.jfr
+ * </pre>
+ * @author MiKa
+ * @version 1.0 (18.10.2026)
+ * @since ALPHA
+ */
+
+@Name("mathparser.Parse")
+@Label("Parse Expression")
+@Category("Math Parser")
+@Description("Parsing of a math expression")
+public final class ParseEvent extends Event {
+
+	@Label("Input Length")
+	@Description("The number of characters of the expression")
+	public int inputLength;
+	
+	@Label("Tokens")
+	@Description("The number of tokens that have been read")
+	public int tokens;
+	
+	@Label("Nodes")
+	@Description("The number of nodes of the parsed tree, before it is simplified")
+	public int nodes;
+	
+	@Label("Simplified")
+	public boolean simplified;
+	
+}
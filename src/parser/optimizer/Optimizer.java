@@ -0,0 +1,368 @@
+package parser.optimizer;
+
+import java.util.ArrayDeque;
+import java.util.IdentityHashMap;
+import java.util.function.BiFunction;
+
+import parser.AddExpression;
+import parser.DivExpression;
+import parser.Expression;
+import parser.MulExpression;
+import parser.NegateExpression;
+import parser.NumberExpression;
+import parser.SubExpression;
+import parser.functions.FunctionArgumentExpression;
+import parser.functions.IntegerPowExpression;
+import parser.functions.PowExpression;
+import parser.monitoring.OptimizeEvent;
+
+/**
+ * Rewrites an {@link Expression} into an equivalent expression with fewer nodes. The expression is rewritten bottom up,
+ * so that the children of a node are always optimized before the node itself. These rules are applied:
+ * <ul>
+ *  <li>Constant folding: every node whose arguments are all numbers becomes a number</li>
+ *  <li>Reassociation: constants are moved to the right and to the top of sums and products, so that <code>x*2*3</code> becomes <code>x*6</code>
+ *  and <code>x+1-y+2</code> becomes <code>x-y+3</code></li>
+ *  <li>Identities: <code>x+0</code>, <code>x-0</code>, <code>x*1</code>, <code>x/1</code> and <code>pow(x, 1)</code> become <code>x</code>,
+ *  <code>0-x</code> and <code>x*-1</code> become <code>-x</code></li>
+ *  <li>Annihilators: <code>x*0</code> becomes <code>0</code></li>
+ *  <li>Negations: <code>--x</code> becomes <code>x</code>, <code>x+-y</code> becomes <code>x-y</code> and <code>x--y</code> becomes <code>x+y</code>.
+ *  Negations of factors and divisions are moved to the top, so that <code>-x*-y</code> becomes <code>x*y</code></li>
+ * </ul>
+ * Like the simplification of the parser, the rules treat the numbers as real numbers: reassociating constants may change the last bit of a result,
+ * and <code>x*0</code> is 0 even where <code>x</code> would be infinite or NaN.
+ * <br><br>
+ * The input is never changed. Nodes that do not change are reused, so the result may share nodes with the input.
+ * An expression that has already been optimized is returned as it is.
+ * If the input is a graph (see {@link SubexpressionEliminator}), the result is a graph as well.
+ * @author MiKa
+ * @version 1.0 (18.10.2026)
+ * @since ALPHA
+ */
+
+public class Optimizer {
+
+	/** The optimized nodes of all nodes of the input that have already been visited. */
+	private final IdentityHashMap<Expression, Expression> done = new IdentityHashMap<>();
+
+	private Optimizer() {}
+
+	/**
+	 * Optimizes an expression.
+	 * @param expression The expression. Will not be changed.
+	 * @return The optimized expression. Callers must use this node, not the input.
+	 * @see OptimizeEvent
+	 */
+	public static Expression optimize(Expression expression) {
+		OptimizeEvent event = new OptimizeEvent();
+		if(!event.isEnabled()) {
+			return new Optimizer().visit(expression);
+		}
+		
+		event.begin();
+		Expression result = new Optimizer().visit(expression);
+		event.end();
+		if(event.shouldCommit()) {
+			event.pass = Optimizer.class.getSimpleName();
+			event.nodesBefore = OptimizeEvent.countNodes(expression);
+			event.nodesAfter = OptimizeEvent.countNodes(result);
+			event.commit();
+		}
+		return result;
+	}
+
+	/**
+	 * @param expression An expression.
+	 * @return The number of nodes of the expression. Nodes that are used multiple times are counted multiple times.
+	 */
+	public static int countNodes(Expression expression) {
+		int count = 0;
+		ArrayDeque<Expression> work = new ArrayDeque<>();
+		work.push(expression);
+		while(!work.isEmpty()) {
+			count++;
+			for(Expression child : work.pop().getChildren()) {
+				work.push(child);
+			}
+		}
+		return count;
+	}
+
+	private Expression visit(Expression expression) {
+		return rewriteBottomUp(expression, done, this::rewrite);
+	}
+
+	/**
+	 * Rewrites every node of an expression after its children. A node whose children have been rewritten is copied with the new children
+	 * (see {@link Expression#withChildren(Expression...)}) before it is rewritten itself. Nodes that are used multiple times are only rewritten once.
+	 * <br><br>
+	 * The tree is walked with an explicit stack instead of recursion: a long formula like a sum of thousands of terms is a tree that is as deep as it is long,
+	 * and would overflow the stack of the thread.
+	 * @param expression The root of the expression.
+	 * @param done The rewritten nodes of all nodes that have already been visited. Is filled with the nodes of this expression.
+	 * @param rewrite Rewrites a single node, whose children are the rewritten children passed along with it.
+	 * @return The rewritten root.
+	 */
+	static Expression rewriteBottomUp(Expression expression, IdentityHashMap<Expression, Expression> done, BiFunction<Expression, Expression[], Expression> rewrite) {
+		ArrayDeque<Expression> work = new ArrayDeque<>();
+		work.push(expression);
+		while(!work.isEmpty()) {
+			Expression node = work.peek();
+			if(done.containsKey(node)) {
+				work.pop();
+				continue;
+			}
+			
+			// The node is rewritten when it is on the top again, after all of its children
+			Expression[] children = node.getChildren();
+			boolean ready = true;
+			for(int i = children.length - 1; i >= 0; i--) {
+				if(!done.containsKey(children[i])) {
+					work.push(children[i]);
+					ready = false;
+				}
+			}
+			if(ready) {
+				work.pop();
+				boolean changed = false;
+				for(int i = 0; i < children.length; i++) {
+					Expression child = done.get(children[i]);
+					changed |= child != children[i];
+					children[i] = child;
+				}
+				done.put(node, rewrite.apply(changed ? node.withChildren(children) : node, children));
+			}
+		}
+		return done.get(expression);
+	}
+
+	/**
+	 * Applies the rules to a single node whose children are already optimized.
+	 * @param expression The node.
+	 * @param children The children of the node.
+	 * @return The rewritten node.
+	 */
+	private Expression rewrite(Expression expression, Expression[] children) {
+		if(children.length > 0 && allNumbers(children) && !(expression instanceof FunctionArgumentExpression)) {
+			return number(expression.computeDouble());
+		}
+
+		if(expression instanceof AddExpression add) {
+			return rewriteAdd(add.getFirst(), add.getSecond(), add);
+		}else if(expression instanceof SubExpression sub) {
+			return rewriteSub(sub.getFirst(), sub.getSecond(), sub);
+		}else if(expression instanceof MulExpression mul) {
+			return rewriteMul(mul.getFirst(), mul.getSecond(), mul);
+		}else if(expression instanceof NegateExpression negate) {
+			return rewriteNegate(negate.getExpression(), negate);
+		}else if(expression instanceof PowExpression pow) {
+			if(isNumber(pow.getSecond(), 1)) {
+				return pow.getFirst();
+			}
+		}else if(expression instanceof DivExpression div) {
+			if(isNumber(div.getSecond(), 1)) {
+				return div.getFirst();
+			}
+			// -a / b = a / -b = -(a / b)
+			if(div.getFirst() instanceof NegateExpression negate) {
+				return rewriteNegate(rewrite(new DivExpression(negate.getExpression(), div.getSecond()), Expression.NO_CHILDREN), null);
+			}
+			if(div.getSecond() instanceof NegateExpression negate) {
+				return rewriteNegate(rewrite(new DivExpression(div.getFirst(), negate.getExpression()), Expression.NO_CHILDREN), null);
+			}
+		}else if(expression instanceof IntegerPowExpression pow) {
+			if(pow.getExponent() == 1) {
+				return pow.getExpression();
+			}
+		}
+		return expression;
+	}
+
+	/**
+	 * @param node The existing node for <code>first + sec</code>, or null if it has to be created.
+	 */
+	private Expression rewriteAdd(Expression first, Expression sec, Expression node) {
+		if(first instanceof NumberExpression a && sec instanceof NumberExpression b) {
+			return number(a.computeDouble() + b.computeDouble());
+		}
+		if(first instanceof NumberExpression) {
+			return rewriteAdd(sec, first, null);
+		}
+		if(sec instanceof NumberExpression constant) {
+			// Keep the node if it already is a + c, so optimized expressions stay the same objects
+			if(node != null && constant.computeDouble() > 0 && offsetOf(first) == null) {
+				return node;
+			}
+			return sum(first, constant.computeDouble());
+		}
+		if(sec instanceof NegateExpression negate) {
+			return rewriteSub(first, negate.getExpression(), null);
+		}
+		// (a + c) + b = (a + b) + c
+		Double offset = offsetOf(first);
+		if(offset != null) {
+			return sum(rewriteAdd(baseOf(first), sec, null), offset);
+		}
+		// a + (b + c) = (a + b) + c
+		offset = offsetOf(sec);
+		if(offset != null) {
+			return sum(rewriteAdd(first, baseOf(sec), null), offset);
+		}
+		return node != null ? node : new AddExpression(first, sec);
+	}
+
+	/**
+	 * @param node The existing node for <code>first - sec</code>, or null if it has to be created.
+	 */
+	private Expression rewriteSub(Expression first, Expression sec, Expression node) {
+		if(first instanceof NumberExpression a && sec instanceof NumberExpression b) {
+			return number(a.computeDouble() - b.computeDouble());
+		}
+		if(sec instanceof NumberExpression constant) {
+			if(node != null && constant.computeDouble() > 0 && offsetOf(first) == null) {
+				return node;
+			}
+			return sum(first, -constant.computeDouble());
+		}
+		if(isNumber(first, 0)) {
+			return rewriteNegate(sec, null);
+		}
+		if(sec instanceof NegateExpression negate) {
+			return rewriteAdd(first, negate.getExpression(), null);
+		}
+		// (a + c) - b = (a - b) + c
+		Double offset = offsetOf(first);
+		if(offset != null) {
+			return sum(rewriteSub(baseOf(first), sec, null), offset);
+		}
+		// a - (b + c) = (a - b) - c
+		offset = offsetOf(sec);
+		if(offset != null) {
+			return sum(rewriteSub(first, baseOf(sec), null), -offset);
+		}
+		return node != null ? node : new SubExpression(first, sec);
+	}
+
+	/**
+	 * Adds a constant to an expression. If the expression already ends with a constant, both constants are combined.
+	 * A negative constant is subtracted instead, which computes exactly the same value but reads better.
+	 * @param expression An optimized expression.
+	 * @param constant The constant.
+	 * @return <code>expression + constant</code>.
+	 */
+	private static Expression sum(Expression expression, double constant) {
+		Double offset = offsetOf(expression);
+		if(offset != null) {
+			return sum(baseOf(expression), offset + constant);
+		}
+		if(constant == 0) {
+			return expression;
+		}
+		return constant < 0 ? new SubExpression(expression, number(-constant)) : new AddExpression(expression, number(constant));
+	}
+
+	/**
+	 * @param expression An expression.
+	 * @return The constant that is added at the top of the expression (<code>c</code> for <code>a + c</code>, <code>-c</code> for <code>a - c</code>), or null if there is none.
+	 */
+	private static Double offsetOf(Expression expression) {
+		if(expression instanceof AddExpression add && add.getSecond() instanceof NumberExpression constant) {
+			return constant.computeDouble();
+		}else if(expression instanceof SubExpression sub && sub.getSecond() instanceof NumberExpression constant) {
+			return -constant.computeDouble();
+		}
+		return null;
+	}
+
+	/**
+	 * @param expression An expression with an {@link #offsetOf(Expression) offset}.
+	 * @return The expression without the offset.
+	 */
+	private static Expression baseOf(Expression expression) {
+		return expression.getChildren()[0];
+	}
+
+	/**
+	 * @param node The existing node for <code>first * sec</code>, or null if it has to be created.
+	 */
+	private Expression rewriteMul(Expression first, Expression sec, Expression node) {
+		if(first instanceof NumberExpression a && sec instanceof NumberExpression b) {
+			return number(a.computeDouble() * b.computeDouble());
+		}
+		if(first instanceof NumberExpression) {
+			return rewriteMul(sec, first, null);
+		}
+		if(isNumber(sec, 0)) {
+			return sec;
+		}
+		if(isNumber(sec, 1)) {
+			return first;
+		}
+		if(isNumber(sec, -1)) {
+			return rewriteNegate(first, null);
+		}
+		// -a * b = a * -b = -(a * b)
+		if(first instanceof NegateExpression negate) {
+			return rewriteNegate(rewriteMul(negate.getExpression(), sec, null), null);
+		}
+		if(sec instanceof NegateExpression negate) {
+			return rewriteNegate(rewriteMul(first, negate.getExpression(), null), null);
+		}
+		// (a * c1) * c2 = a * (c1 * c2), (a * c) * b = (a * b) * c
+		if(first instanceof MulExpression inner && inner.getSecond() instanceof NumberExpression constant) {
+			if(sec instanceof NumberExpression) {
+				return rewriteMul(inner.getFirst(), number(constant.computeDouble() * sec.computeDouble()), null);
+			}
+			return rewriteMul(rewriteMul(inner.getFirst(), sec, null), constant, null);
+		}
+		// a * (b * c) = (a * b) * c
+		if(sec instanceof MulExpression inner && inner.getSecond() instanceof NumberExpression constant) {
+			return rewriteMul(rewriteMul(first, inner.getFirst(), null), constant, null);
+		}
+		return node != null ? node : new MulExpression(first, sec);
+	}
+
+	/**
+	 * @param node The existing node for <code>-expression</code>, or null if it has to be created.
+	 */
+	private Expression rewriteNegate(Expression expression, Expression node) {
+		if(expression instanceof NumberExpression) {
+			return number(-expression.computeDouble());
+		}
+		if(expression instanceof NegateExpression negate) {
+			return negate.getExpression();
+		}
+		// -(a * c) = a * -c
+		if(expression instanceof MulExpression mul && mul.getSecond() instanceof NumberExpression constant) {
+			return new MulExpression(mul.getFirst(), number(-constant.computeDouble()));
+		}
+		return node != null ? node : new NegateExpression(expression);
+	}
+
+	private static boolean allNumbers(Expression[] expressions) {
+		for(Expression expression : expressions) {
+			if(!(expression instanceof NumberExpression)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private static boolean isNumber(Expression expression, double value) {
+		return expression instanceof NumberExpression number && number.computeDouble() == value;
+	}
+
+	/**
+	 * Creates a constant. Whole numbers are stored as an int, like the numbers of the parser.
+	 * @param value The value of the constant.
+	 * @return The number.
+	 */
+	private static NumberExpression number(double value) {
+		int integer = (int) value;
+		if(integer == value && Double.doubleToRawLongBits(value) != Double.doubleToRawLongBits(-0.0)) {
+			return new NumberExpression(integer);
+		}
+		return new NumberExpression(value);
+	}
+
+}
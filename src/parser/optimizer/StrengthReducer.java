@@ -0,0 +1,128 @@
+package parser.optimizer;
+
+import java.util.IdentityHashMap;
+
+import parser.DivExpression;
+import parser.Expression;
+import parser.MulExpression;
+import parser.NumberExpression;
+import parser.functions.CubeRootExpression;
+import parser.functions.IntegerPowExpression;
+import parser.functions.PowExpression;
+import parser.functions.SqrtExpression;
+import parser.functions.SquareRootExpression;
+import parser.monitoring.OptimizeEvent;
+
+/**
+ * Replaces expensive operations by cheaper ones. Without fast-math, only the rewrites that compute exactly the same values are applied:
+ * <ul>
+ *  <li><code>pow(a, n)</code> for n = 0, 1 or 2 becomes <code>1</code>, <code>a</code> or an {@link IntegerPowExpression} (<code>a*a</code>).
+ *  {@link Math#pow(double, double)} is exact in these cases, so the results are the same for every value of a.</li>
+ *  <li><code>root(a, 1)</code> becomes <code>a</code>.</li>
+ * </ul>
+ * In fast-math mode, the results may differ from the original expression:
+ * <ul>
+ *  <li><code>pow(a, n)</code> for a whole number n between -{@value #MAX_EXPONENT} and {@value #MAX_EXPONENT} becomes an {@link IntegerPowExpression}, which needs only a few
+ *  multiplications instead of {@link Math#pow(double, double)}. As every multiplication is rounded, the result may differ from pow in the last bits.</li>
+ *  <li><code>root(a, 2)</code> becomes a {@link SquareRootExpression} and <code>root(a, 3)</code> becomes a {@link CubeRootExpression}.
+ *  {@link Math#sqrt(double)} is correctly rounded, but differs from the power for -0 and negative infinity. {@link Math#cbrt(double)} is only within 1 ulp
+ *  of the exact result, and the cube root of a negative number is negative instead of NaN.</li>
+ *  <li><code>a / c</code> becomes <code>a * (1/c)</code> for every constant c. The reciprocal is rounded, so the result may
+ *  differ from the division in the last bit. As the reciprocal is a fraction, {@link Expression#computeInt()} of the result no longer divides whole numbers
+ *  (<code>x/4</code> would become <code>x*0</code>), so fast-math expressions should be computed as doubles or compiled. Afterwards, the {@link Optimizer}
+ *  combines the new factors with other constants, so that <code>x/2/2</code> becomes <code>x*0.25</code>.</li>
+ * </ul>
+ * Without fast-math, all compute methods keep their results. The {@link parser.compiler.ProgramCompiler} still
+ * multiplies by the reciprocal of a power of two, which computes exactly the same double.
+ * Like the {@link Optimizer}, the input is never changed and graphs stay graphs.
+ * @author MiKa
+ * @version 1.0 (18.10.2026)
+ * @since ALPHA
+ */
+
+public class StrengthReducer {
+
+	/** The largest absolute exponent that is replaced by multiplications. Larger exponents would accumulate too many rounding errors. */
+	public static final int MAX_EXPONENT = 32;
+
+	private final boolean fastMath;
+	private final IdentityHashMap<Expression, Expression> done = new IdentityHashMap<>();
+
+	private StrengthReducer(boolean fastMath) {
+		this.fastMath = fastMath;
+	}
+
+	/**
+	 * Applies the reductions that do not change any result.
+	 * @param expression The expression. Will not be changed.
+	 * @return The reduced expression.
+	 */
+	public static Expression reduce(Expression expression) {
+		return reduce(expression, false);
+	}
+
+	/**
+	 * @param expression The expression. Will not be changed.
+	 * @param fastMath True if whole powers, square and cube roots and divisions by constants should be replaced by cheaper operations,
+	 * even though the results may differ in the last bits, and {@link Expression#computeInt()} no longer computes integer divisions.
+	 * @return The reduced expression.
+	 */
+	public static Expression reduce(Expression expression, boolean fastMath) {
+		OptimizeEvent event = new OptimizeEvent();
+		if(!event.isEnabled()) {
+			return new StrengthReducer(fastMath).run(expression);
+		}
+		
+		event.begin();
+		Expression result = new StrengthReducer(fastMath).run(expression);
+		event.end();
+		if(event.shouldCommit()) {
+			event.pass = StrengthReducer.class.getSimpleName();
+			event.nodesBefore = OptimizeEvent.countNodes(expression);
+			event.nodesAfter = OptimizeEvent.countNodes(result);
+			event.commit();
+		}
+		return result;
+	}
+
+	private Expression run(Expression expression) {
+		Expression result = visit(expression);
+		// The multiplications that replace divisions can be combined with other constant factors
+		return fastMath ? Optimizer.optimize(result) : result;
+	}
+
+	private Expression visit(Expression expression) {
+		return Optimizer.rewriteBottomUp(expression, done, (node, children) -> rewrite(node));
+	}
+
+	private Expression rewrite(Expression expression) {
+		if(expression instanceof PowExpression pow && pow.getSecond() instanceof NumberExpression number) {
+			double exponent = number.computeDouble();
+			if(exponent == 0) {
+				return new NumberExpression(1);
+			}else if(exponent == 1) {
+				return pow.getFirst();
+			}
+			// Math.pow(a, 2) is exactly a*a, higher powers are rounded differently
+			if(exponent == (int) exponent && (exponent == 2 || fastMath && Math.abs(exponent) <= MAX_EXPONENT)) {
+				return new IntegerPowExpression(pow.getFirst(), (int) exponent);
+			}
+		}else if(expression instanceof SqrtExpression root && root.getSecond() instanceof NumberExpression number) {
+			double degree = number.computeDouble();
+			if(degree == 1) {
+				return root.getFirst();
+			}else if(fastMath && degree == 2) {
+				return new SquareRootExpression(root.getFirst());
+			}else if(fastMath && degree == 3) {
+				return new CubeRootExpression(root.getFirst());
+			}
+		}else if(expression instanceof DivExpression div && div.getSecond() instanceof NumberExpression number) {
+			double divisor = number.computeDouble();
+			if(fastMath && divisor != 0 && Double.isFinite(divisor)) {
+				return new MulExpression(div.getFirst(), new NumberExpression(1 / divisor));
+			}
+		}
+		return expression;
+	}
+
+}
@@ -0,0 +1,211 @@
+package parser.optimizer;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import parser.Expression;
+import parser.VariableExpression;
+
+/**
+ * Removes common subexpressions by hash-consing: every subexpression is looked up in a table of the nodes that have already been built,
+ * and structurally equal subexpressions are replaced by one shared node. The result is no longer a tree, but a directed acyclic graph
+ * in which e.g. <code>sin(a*t)</code> of <code>sin(a*t) + 2*sin(a*t)</code> exists only once.
+ * <br><br>
+ * The graph computes the same values as the original expression. {@link Expression#computeDouble()} still visits a shared node once for
+ * every parent, but the {@link parser.compiler.ProgramCompiler} computes it only once and keeps the value in a register for every other use.
+ * <br><br>
+ * The table is kept between calls, so one eliminator can be used for multiple expressions, which then share their nodes as well.
+ * The input expressions are never changed, but the returned graphs share their variables, so {@link Expression#setVariable(String, Number)}
+ * on one of them changes all others. To keep the variables of every expression apart, use {@link #eliminate(Expression, boolean)}: then only the nodes
+ * that do not depend on a variable (constants and subexpressions of constants) are shared with other expressions.
+ * <br>
+ * The table is thread-safe, so multiple threads can eliminate expressions with the same eliminator at the same time.
+ * @author MiKa
+ * @version 1.0 (18.10.2026)
+ * @since ALPHA
+ */
+
+public class SubexpressionEliminator {
+
+	/** The canonical nodes, by their type, their (canonical) children and their other fields. */
+	private final ConcurrentHashMap<Object, Expression> table = new ConcurrentHashMap<>();
+
+	private final LongAdder inputNodes = new LongAdder(), outputNodes = new LongAdder();
+
+	/**
+	 * Replaces all structurally equal subexpressions of an expression by a single node.
+	 * The expression is walked with an explicit stack instead of recursion, so that deep trees do not overflow the stack of the thread.
+	 * @param expression The expression. Will not be changed.
+	 * @return An equivalent expression, in which every distinct subexpression exists only once.
+	 */
+	public Expression eliminate(Expression expression) {
+		return eliminate(expression, true);
+	}
+
+	/**
+	 * Replaces all structurally equal subexpressions of an expression by a single node.
+	 * @param expression The expression. Will not be changed.
+	 * @param shareVariables True if the variables (and the nodes that depend on them) may be shared with the other expressions of this eliminator.
+	 * If false, they are only shared within this expression, so that setting a variable of the result does not change any other expression.
+	 * @return An equivalent expression, in which every distinct subexpression exists only once.
+	 */
+	public Expression eliminate(Expression expression, boolean shareVariables) {
+		// The nodes that depend on a variable, if they must not be shared with other expressions
+		Map<Object, Expression> local = shareVariables ? table : new HashMap<>();
+		// The input nodes that have already been visited, so that an input that already is a graph is not expanded
+		IdentityHashMap<Expression, Visited> done = new IdentityHashMap<>();
+		ArrayDeque<Expression> work = new ArrayDeque<>();
+		work.push(expression);
+		while(!work.isEmpty()) {
+			Expression node = work.peek();
+			if(done.containsKey(node)) {
+				work.pop();
+				continue;
+			}
+			
+			Expression[] children = node.getChildren();
+			boolean ready = true;
+			for(int i = children.length - 1; i >= 0; i--) {
+				if(!done.containsKey(children[i])) {
+					work.push(children[i]);
+					ready = false;
+				}
+			}
+			if(ready) {
+				work.pop();
+				long size = 1;
+				boolean variable = node instanceof VariableExpression;
+				for(int i = 0; i < children.length; i++) {
+					Visited child = done.get(children[i]);
+					children[i] = child.canonical();
+					size += child.size();
+					variable |= child.variable();
+				}
+				// Leaves are looked up in the table directly
+				Map<Object, Expression> nodes = variable ? local : table;
+				Expression canonical = children.length == 0 ? lookup(nodes, node, node) : lookup(nodes, new Key(withoutChildren(node), children), node);
+				done.put(node, new Visited(canonical, size, variable));
+			}
+		}
+		
+		Visited root = done.get(expression);
+		inputNodes.add(root.size());
+		return root.canonical();
+	}
+
+	/**
+	 * A node of the input that has already been visited.
+	 * @param canonical The canonical node for the subexpression.
+	 * @param size The number of nodes of the subexpression, if it were a tree.
+	 * @param variable True if the subexpression depends on a variable.
+	 */
+	private record Visited(Expression canonical, long size, boolean variable) {}
+
+	/**
+	 * @param nodes The table of the canonical nodes: the shared table, or the table of a single expression.
+	 * @param key The key of the node: the node itself for leaves, otherwise a {@link Key}.
+	 * @param expression The node of the input.
+	 * @return The canonical node, which is created if there is none yet.
+	 */
+	private Expression lookup(Map<Object, Expression> nodes, Object key, Expression expression) {
+		Expression result = nodes.get(key);
+		if(result == null) {
+			boolean leaf = key == expression;
+			Expression created = leaf ? expression.copy() : expression.withChildren(((Key) key).children);
+			// The key of a leaf is the canonical node, not the node of the input
+			result = nodes.putIfAbsent(leaf ? created : key, created);
+			if(result == null) {
+				result = created;
+				outputNodes.increment();
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * @return The number of nodes that have been removed by all calls of {@link #eliminate(Expression)} so far:
+	 * the number of nodes of the input trees minus the number of distinct nodes that have been created for them.
+	 */
+	public long getRemovedNodes() {
+		return inputNodes.sum() - outputNodes.sum();
+	}
+
+	/**
+	 * @return The number of distinct nodes in the table.
+	 */
+	public int getNodeCount() {
+		return table.size();
+	}
+
+	/**
+	 * @return The number of nodes that have been created for all expressions, including the nodes that are not shared with other expressions
+	 * (see {@link #eliminate(Expression, boolean)}).
+	 */
+	public long getCreatedNodes() {
+		return outputNodes.sum();
+	}
+
+	/**
+	 * Forgets all nodes, so that the following expressions do not share nodes with the previous ones.
+	 */
+	public void clear() {
+		table.clear();
+		inputNodes.reset();
+		outputNodes.reset();
+	}
+
+	/**
+	 * @return The node with placeholders instead of its children, which keeps only the type and the other fields of the node.
+	 */
+	private static Expression withoutChildren(Expression node) {
+		Expression[] placeholders = node.getChildren();
+		Arrays.fill(placeholders, Key.PLACEHOLDER);
+		return node.withChildren(placeholders);
+	}
+
+	/**
+	 * The key of an inner node. The children are already canonical, so they are compared by identity,
+	 * which keeps a lookup independent of the depth of the subexpression. Nodes with the same type and children may still differ in
+	 * other fields (like the exponent of an {@link parser.functions.IntegerPowExpression}), so the keys also compare the nodes without their children.
+	 * @param shape The node with placeholders instead of its children.
+	 * @param children The canonical children of the node.
+	 */
+	private record Key(Expression shape, Expression[] children) {
+
+		private static final Expression PLACEHOLDER = new VariableExpression("");
+
+		@Override
+		public boolean equals(Object obj) {
+			if(!(obj instanceof Key other) || shape.getClass() != other.shape.getClass() || children.length != other.children.length) {
+				return false;
+			}
+			for(int i = 0; i < children.length; i++) {
+				if(children[i] != other.children[i]) {
+					return false;
+				}
+			}
+			return shape.equals(other.shape);
+		}
+
+		@Override
+		public int hashCode() {
+			int hash = shape.getClass().hashCode();
+			for(Expression child : children) {
+				hash = 31 * hash + System.identityHashCode(child);
+			}
+			return hash;
+		}
+
+		@Override
+		public String toString() {
+			return shape.getClass().getSimpleName() + Arrays.toString(children);
+		}
+
+	}
+
+}
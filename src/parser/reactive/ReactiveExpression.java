@@ -0,0 +1,246 @@
+package parser.reactive;
+
+import java.util.Arrays;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import parser.Expression;
+import parser.compiler.IncrementalEvaluator;
+
+/**
+ * An expression that is computed whenever one of its variables changes, and publishes its result to its subscribers.
+ * Instead of polling the expression, the variables are bound to {@link Flow.Publisher publishers} (for example {@link ReactiveVariable ReactiveVariables}
+ * or other reactive expressions), and nothing is computed while none of them changes.
+ * <br><br>
+ * Changes are coalesced: a change schedules one computation on the executor, and all changes that arrive before it runs are computed together.
+ * The computation only computes the values that depend on the changed variables (see {@link IncrementalEvaluator}), and the result is only published if it differs
+ * from the last result. Computations never run at the same time, so the results are published in order. The expression is not computed before every variable has a value.
+ * <br><br>
+ * Like a {@link ReactiveVariable}, a new subscriber gets the current result first, and a slow subscriber only gets the latest result.
+ * <pre>
+ * ReactiveVariable t = new ReactiveVariable("t", 0);
+ * ReactiveExpression position = new ReactiveExpression(Expression.parse("clamp(0, width, (pow(2,2)*cos(t)+3)*x)", true), "t", "x", "width")
+ * 	.bind(t)
+ * 	.bind("x", xPublisher)
+ * 	.bind("width", widthPublisher);
+ * position.subscribe(subscriber);
+ * t.set(time); // computes the expression on the executor, and publishes it if the position has changed
+ * </pre>
+ * @author MiKa
+ * @version 1.0 (18.10.2026)
+ * @since ALPHA
+ */
+
+public class ReactiveExpression implements Flow.Publisher<Double>, AutoCloseable {
+
+	private final IncrementalEvaluator evaluator;
+	private final Executor executor;
+	private final ValuePublisher publisher = new ValuePublisher();
+
+	/** The subscriptions to the publishers of the variables. */
+	private final CopyOnWriteArrayList<Flow.Subscription> sources = new CopyOnWriteArrayList<>();
+
+	/** Guarded by the evaluator. */
+	private final boolean[] assigned;
+	private int missing;
+
+	/** The number of changes since the running computation has started. The computation runs again until it is 0. */
+	private final AtomicInteger changes = new AtomicInteger();
+	private volatile long computations;
+
+	/**
+	 * Creates a reactive expression that is computed on the {@link ForkJoinPool#commonPool() common pool}.
+	 * @param expression The expression. Is compiled, so changing it afterwards has no effect.
+	 * @param variables The names of all variables of the expression.
+	 * @throws IllegalArgumentException If the expression uses a variable that is not listed.
+	 */
+	public ReactiveExpression(Expression expression, String... variables) {
+		this(expression, ForkJoinPool.commonPool(), variables);
+	}
+
+	/**
+	 * @param expression The expression. Is compiled, so changing it afterwards has no effect.
+	 * @param executor The executor that computes the expression and publishes the results. With <code>Runnable::run</code>, the expression is computed
+	 * directly by the thread that changed a variable, so only changes that arrive during a computation are coalesced.
+	 * @param variables The names of all variables of the expression.
+	 * @throws IllegalArgumentException If the expression uses a variable that is not listed.
+	 */
+	public ReactiveExpression(Expression expression, Executor executor, String... variables) {
+		this.evaluator = IncrementalEvaluator.of(expression, variables);
+		this.executor = executor;
+		this.assigned = new boolean[variables.length];
+		this.missing = variables.length;
+		if(missing == 0) {
+			schedule();
+		}
+	}
+
+	/**
+	 * Subscribes a variable to a publisher. Every value that is published changes the variable.
+	 * If the publisher fails, the expression fails as well. If it completes, the variable keeps its last value.
+	 * @param variable The name of the variable.
+	 * @param source The publisher of the values.
+	 * @return This expression.
+	 * @throws IllegalArgumentException If the expression does not have a variable with this name.
+	 */
+	public ReactiveExpression bind(String variable, Flow.Publisher<? extends Number> source) {
+		source.subscribe(new Source(indexOf(variable)));
+		return this;
+	}
+
+	/**
+	 * Subscribes the variable with the same name to a reactive variable.
+	 * @param variable The reactive variable.
+	 * @return This expression.
+	 * @throws IllegalArgumentException If the expression does not have a variable with this name.
+	 */
+	public ReactiveExpression bind(ReactiveVariable variable) {
+		return bind(variable.getName(), variable);
+	}
+
+	/**
+	 * Changes a variable directly, without a publisher.
+	 * @param variable The name of the variable.
+	 * @param value The new value.
+	 * @throws IllegalArgumentException If the expression does not have a variable with this name.
+	 */
+	public void set(String variable, double value) {
+		update(indexOf(variable), value);
+	}
+
+	/**
+	 * @return The last published result, NaN if the expression has not been computed yet.
+	 */
+	public double getValue() {
+		Double value = publisher.getValue();
+		return value == null ? Double.NaN : value;
+	}
+
+	/**
+	 * @return The number of times the expression has been computed. Smaller than the number of changes if changes were coalesced.
+	 */
+	public long getComputations() {
+		return computations;
+	}
+
+	@Override
+	public void subscribe(Flow.Subscriber<? super Double> subscriber) {
+		publisher.subscribe(subscriber);
+	}
+
+	/**
+	 * Cancels the subscriptions to the publishers of the variables and completes all subscribers.
+	 */
+	@Override
+	public void close() {
+		publisher.close(null);
+		cancelSources();
+	}
+
+	private int indexOf(String variable) {
+		int index = evaluator.indexOf(variable);
+		if(index < 0) {
+			throw new IllegalArgumentException("Math parser: The variable \""+variable+"\" is not one of "+Arrays.toString(evaluator.getProgram().getVariables())+"!");
+		}
+		return index;
+	}
+
+	private void update(int variable, double value) {
+		synchronized (evaluator) {
+			if(!assigned[variable]) {
+				assigned[variable] = true;
+				missing--;
+			}
+			evaluator.set(variable, value);
+		}
+		schedule();
+	}
+
+	/**
+	 * Schedules a computation, unless one is already scheduled or running. A running computation sees the change and runs once more.
+	 */
+	private void schedule() {
+		if(changes.getAndIncrement() == 0) {
+			try {
+				executor.execute(this::compute);
+			}catch(RejectedExecutionException e) {
+				changes.set(0);
+				fail(e);
+			}
+		}
+	}
+
+	private void compute() {
+		// All changes so far have already been set in the evaluator, so they are computed together
+		int missed = changes.get();
+		do {
+			double result = 0;
+			boolean ready;
+			synchronized (evaluator) {
+				ready = missing == 0;
+				if(ready) {
+					result = evaluator.evaluate();
+				}
+			}
+			if(ready) {
+				computations++;
+				publisher.publish(result);
+			}
+			missed = changes.addAndGet(-missed);
+		}while(missed != 0);
+	}
+
+	private void fail(Throwable error) {
+		publisher.close(error);
+		cancelSources();
+	}
+
+	private void cancelSources() {
+		for(Flow.Subscription source : sources) {
+			source.cancel();
+		}
+		sources.clear();
+	}
+
+	/**
+	 * Receives the values of one variable.
+	 */
+	private class Source implements Flow.Subscriber<Number> {
+
+		private final int variable;
+
+		Source(int variable) {
+			this.variable = variable;
+		}
+
+		@Override
+		public void onSubscribe(Flow.Subscription subscription) {
+			if(publisher.isClosed()) {
+				subscription.cancel();
+				return;
+			}
+			sources.add(subscription);
+			// Values are coalesced instead of buffered, so every value can be requested
+			subscription.request(Long.MAX_VALUE);
+		}
+
+		@Override
+		public void onNext(Number value) {
+			update(variable, value.doubleValue());
+		}
+
+		@Override
+		public void onError(Throwable error) {
+			fail(error);
+		}
+
+		@Override
+		public void onComplete() {}
+
+	}
+
+}
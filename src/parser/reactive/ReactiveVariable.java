@@ -0,0 +1,83 @@
+package parser.reactive;
+
+import java.util.concurrent.Flow;
+
+/**
+ * A variable that publishes its value whenever it changes. It is the push based counterpart of
+ * {@link parser.VariableExpression#VariableExpression(String, java.util.function.DoubleSupplier) a variable with a source}:
+ * instead of being asked for its value on every computation, it tells the {@link ReactiveExpression ReactiveExpressions} that use it when it has changed.
+ * <br><br>
+ * Setting the value it already has publishes nothing. A new subscriber gets the current value first, and a slow subscriber only gets the latest value.
+ * A variable can be set by multiple threads.
+ * <pre>
+ * ReactiveVariable t = new ReactiveVariable("t", 0);
+ * expression.bind(t);
+ * t.set(time);
+ * </pre>
+ * @author MiKa
+ * @version 1.0 (18.10.2026)
+ * @since ALPHA
+ */
+
+public class ReactiveVariable implements Flow.Publisher<Double>, AutoCloseable {
+
+	private final String name;
+	private final ValuePublisher publisher = new ValuePublisher();
+	
+	/**
+	 * Creates a variable without a value. Expressions that use it are not computed before it is set.
+	 * @param name The name of the variable.
+	 */
+	public ReactiveVariable(String name) {
+		this.name = name;
+	}
+	
+	/**
+	 * @param name The name of the variable.
+	 * @param value The initial value.
+	 */
+	public ReactiveVariable(String name, double value) {
+		this(name);
+		publisher.publish(value);
+	}
+	
+	public String getName() {
+		return name;
+	}
+	
+	/**
+	 * Changes the value and publishes it, if it differs from the current value.
+	 * @param value The new value.
+	 * @return True if the value has changed.
+	 */
+	public boolean set(double value) {
+		return publisher.publish(value);
+	}
+	
+	/**
+	 * @return The current value, NaN if the variable has not been set yet.
+	 */
+	public double get() {
+		Double value = publisher.getValue();
+		return value == null ? Double.NaN : value;
+	}
+	
+	@Override
+	public void subscribe(Flow.Subscriber<? super Double> subscriber) {
+		publisher.subscribe(subscriber);
+	}
+	
+	/**
+	 * Completes all subscribers. Values that are set afterwards are not published. The expressions that use this variable keep its last value.
+	 */
+	@Override
+	public void close() {
+		publisher.close(null);
+	}
+	
+	@Override
+	public String toString() {
+		return "ReactiveVariable[name = "+name+", value = "+get()+"]";
+	}
+	
+}
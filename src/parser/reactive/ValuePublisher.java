@@ -0,0 +1,183 @@
+package parser.reactive;
+
+import java.util.Objects;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * A {@link Flow.Publisher} of a value that changes over time. Only changes are published: publishing the same value again does nothing.
+ * <br><br>
+ * Every subscriber only gets the latest value. If it has not requested another value yet, a newer value replaces the one that is waiting,
+ * so a slow subscriber never buffers more than one value, and skips the values it was too slow for. A new subscriber gets the current value first.
+ * The values are delivered on the thread that published them, or on the thread that requested them.
+ * @author MiKa
+ * @version 1.0 (18.10.2026)
+ * @since ALPHA
+ */
+
+final class ValuePublisher implements Flow.Publisher<Double> {
+
+	private final CopyOnWriteArrayList<ValueSubscription> subscriptions = new CopyOnWriteArrayList<>();
+	
+	/** The current value, null until the first value is published. */
+	private Double value;
+	private boolean done;
+	private Throwable error;
+	
+	@Override
+	public void subscribe(Flow.Subscriber<? super Double> subscriber) {
+		Objects.requireNonNull(subscriber);
+		ValueSubscription subscription = new ValueSubscription(subscriber);
+		subscriber.onSubscribe(subscription);
+		
+		synchronized (this) {
+			if(done) {
+				subscription.terminate(error);
+			}else {
+				subscriptions.add(subscription);
+				if(value != null) {
+					subscription.latest.set(value);
+				}
+			}
+		}
+		subscription.drain();
+	}
+	
+	/**
+	 * Publishes a value to all subscribers, if it differs from the current value. Two values are equal if they have the same bits.
+	 * @param value The new value.
+	 * @return True if the value has changed.
+	 */
+	boolean publish(double value) {
+		synchronized (this) {
+			if(done || this.value != null && Double.doubleToRawLongBits(this.value) == Double.doubleToRawLongBits(value)) {
+				return false;
+			}
+			this.value = value;
+			for(ValueSubscription subscription : subscriptions) {
+				subscription.latest.set(this.value);
+			}
+		}
+		// Delivered outside of the lock, so that a subscriber may publish from onNext
+		for(ValueSubscription subscription : subscriptions) {
+			subscription.drain();
+		}
+		return true;
+	}
+	
+	/**
+	 * Completes all subscriptions, or lets them fail. When they complete normally, the value that is waiting is still delivered if it has been requested.
+	 * @param error The error, or null if the subscriptions should complete normally.
+	 */
+	void close(Throwable error) {
+		synchronized (this) {
+			if(done) {
+				return;
+			}
+			done = true;
+			this.error = error;
+			for(ValueSubscription subscription : subscriptions) {
+				subscription.terminate(error);
+			}
+		}
+		for(ValueSubscription subscription : subscriptions) {
+			subscription.drain();
+		}
+		subscriptions.clear();
+	}
+	
+	/**
+	 * @return The current value, null if no value has been published yet.
+	 */
+	synchronized Double getValue() {
+		return value;
+	}
+	
+	/**
+	 * @return True if the publisher has been closed.
+	 */
+	synchronized boolean isClosed() {
+		return done;
+	}
+	
+	/**
+	 * The subscription of one subscriber. All signals to the subscriber are sent by {@link #drain()}, which never runs on two threads at the same time.
+	 */
+	private class ValueSubscription implements Flow.Subscription {
+		
+		private final Flow.Subscriber<? super Double> subscriber;
+		private final AtomicReference<Double> latest = new AtomicReference<>();
+		private final AtomicLong requested = new AtomicLong();
+		/** The number of drains that have been requested while one is running. */
+		private final AtomicInteger work = new AtomicInteger();
+		
+		private volatile boolean terminated, cancelled;
+		private volatile Throwable error;
+		
+		ValueSubscription(Flow.Subscriber<? super Double> subscriber) {
+			this.subscriber = subscriber;
+		}
+		
+		@Override
+		public void request(long n) {
+			if(n <= 0) {
+				subscriptions.remove(this);
+				terminate(new IllegalArgumentException("Math parser: A subscriber must request a positive number of values, but requested "+n+"!"));
+			}else {
+				requested.getAndAccumulate(n, (current, add) -> current + add < 0 ? Long.MAX_VALUE : current + add);
+			}
+			drain();
+		}
+		
+		@Override
+		public void cancel() {
+			cancelled = true;
+			subscriptions.remove(this);
+		}
+		
+		void terminate(Throwable error) {
+			if(!terminated) {
+				this.error = error;
+				terminated = true;
+			}
+		}
+		
+		void drain() {
+			if(work.getAndIncrement() != 0) {
+				return;
+			}
+			int missed = 1;
+			do {
+				if(!cancelled) {
+					if(requested.get() > 0 && error == null) {
+						Double next = latest.getAndSet(null);
+						if(next != null) {
+							if(requested.get() != Long.MAX_VALUE) {
+								requested.decrementAndGet();
+							}
+							try {
+								subscriber.onNext(next);
+							}catch(RuntimeException e) {
+								cancel();
+							}
+						}
+					}
+					if(terminated && !cancelled && (error != null || latest.get() == null || requested.get() == 0)) {
+						cancelled = true;
+						if(error != null) {
+							subscriber.onError(error);
+						}else {
+							subscriber.onComplete();
+						}
+					}
+				}
+				missed = work.addAndGet(-missed);
+			}while(missed != 0);
+		}
+		
+	}
+	
+}
@@ -0,0 +1,125 @@
+package parser;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Checks that the {@link ParseCache} never shares expressions between callers, and that it stays bounded and consistent.
+ * @author MiKa
+ * @version 1.0 (18.10.2026)
+ * @since ALPHA
+ */
+
+class ParseCacheTest {
+
+	@Test
+	void handsOutIndependentCopies() {
+		ParseCache cache = new ParseCache(10);
+		Expression first = cache.parse("x*2 + y", false), second = cache.parse("x * 2 + y", false);
+		assertNotSame(first, second);
+		assertEquals(first, second);
+		assertEquals(1, cache.getHits());
+		assertEquals(1, cache.getMisses());
+
+		first.setVariable("x", 1);
+		first.setVariable("y", 1);
+		second.setVariable("x", 5);
+		second.setVariable("y", 0);
+		assertEquals(3, first.computeDouble());
+		assertEquals(10, second.computeDouble());
+		// The cached expression itself has not been changed
+		assertEquals(0, cache.parse("x*2+y", false).computeDouble());
+	}
+
+	@Test
+	void keepsSimplifiedAndParsedExpressionsApart() {
+		ParseCache cache = new ParseCache(10);
+		assertEquals("(x * 2) * 3", cache.parse("x*2*3", false).toString());
+		assertEquals("x * 6", cache.parse("x*2*3", true).toString());
+		assertEquals(2, cache.size());
+		assertEquals(0, cache.getHits());
+	}
+
+	@Test
+	void evictsTheLeastRecentlyUsedExpression() {
+		ParseCache cache = new ParseCache(2);
+		cache.parse("a", false);
+		cache.parse("b", false);
+		cache.parse("a", false);
+		cache.parse("c", false);
+		assertEquals(2, cache.size());
+		assertEquals(1, cache.getEvictions());
+
+		long misses = cache.getMisses();
+		cache.parse("a", false);
+		assertEquals(misses, cache.getMisses());
+		cache.parse("b", false);
+		assertEquals(misses + 1, cache.getMisses());
+
+		cache.clear();
+		assertEquals(0, cache.size());
+	}
+
+	@Test
+	void doesNotCacheErrors() {
+		ParseCache cache = new ParseCache(2);
+		assertThrows(IllegalArgumentException.class, () -> cache.parse("x +", false));
+		assertThrows(IllegalArgumentException.class, () -> cache.parse("x +", false));
+		assertEquals(0, cache.size());
+		assertThrows(IllegalArgumentException.class, () -> new ParseCache(0));
+	}
+
+	@Test
+	void copiesDeepExpressions() {
+		StringBuilder builder = new StringBuilder("x");
+		for(int i = 0; i < 20000; i++) {
+			builder.append(" + x*").append(i % 7);
+		}
+		ParseCache cache = new ParseCache(1);
+		Expression first = cache.parse(builder.toString(), false), second = cache.parse(builder.toString(), false);
+		assertNotSame(first, second);
+		assertEquals(first, second);
+		assertEquals(first.toString(), second.toString());
+	}
+
+	@Test
+	void staysConsistentUnderConcurrentUse() throws Exception {
+		ParseCache cache = new ParseCache(50);
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		try {
+			List<Future<?>> futures = new ArrayList<>();
+			for(int thread = 0; thread < 4; thread++) {
+				Random random = new Random(thread);
+				futures.add(executor.submit(() -> {
+					for(int i = 0; i < 20000; i++) {
+						int factor = random.nextInt(80);
+						Expression expression = cache.parse("x*"+factor, false);
+						expression.setVariable("x", 2);
+						assertEquals(2 * factor, expression.computeDouble());
+					}
+				}));
+			}
+			for(Future<?> future : futures) {
+				future.get();
+			}
+		}finally {
+			executor.shutdown();
+		}
+		assertTrue(cache.size() <= 50);
+		assertEquals(80000, cache.getHits() + cache.getMisses());
+		// Threads that miss the same expression at the same time only add it once
+		assertTrue(cache.getEvictions() <= cache.getMisses() - cache.size());
+	}
+
+}
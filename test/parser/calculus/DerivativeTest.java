@@ -0,0 +1,69 @@
+package parser.calculus;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import parser.Expression;
+import parser.compiler.CompiledExpression;
+
+/**
+ * Compares the symbolic derivatives with central finite differences, at random points where all functions are smooth.
+ * @author MiKa
+ * @version 1.0 (18.10.2026)
+ * @since ALPHA
+ */
+
+class DerivativeTest {
+
+	/** The step of the finite differences. */
+	private static final double H = 1e-6;
+
+	@ParameterizedTest
+	@ValueSource(strings = {"x*y", "x/y", "x^3", "x^-2", "pow(x, y)", "root(x, 3)", "root(x, y)", "root(x*x + 1, 2)", "sin(x*y)", "cos(x)", "tan(x) + tan(x)^2",
+			"asin(x/4)", "acos(x/4)", "atan(x*y)", "ln(x*x)", "toRadians(x*y)", "toDegree(x)", "-x*y + 3", "pow(x, 2)*sin(x)/cos(y)", "abs(x - y - 10)",
+			"clamp(-100, 100, x*y)", "mod(x*3, y + 10)", "sign(x)*y"})
+	void matchesFiniteDifferences(String formula) {
+		Expression expression = Expression.parse(formula, true);
+		Expression[] gradient = Derivative.gradient(expression, "x", "y");
+		CompiledExpression f = expression.bind("x", "y"), dx = gradient[0].bind("x", "y"), dy = gradient[1].bind("x", "y");
+
+		Random random = new Random(formula.hashCode());
+		for(int i = 0; i < 200; i++) {
+			double x = 0.3 + random.nextDouble() * 2, y = 0.3 + random.nextDouble() * 2;
+			double expectedX = (f.evaluate(new double[] {x + H, y}) - f.evaluate(new double[] {x - H, y})) / (2 * H);
+			double expectedY = (f.evaluate(new double[] {x, y + H}) - f.evaluate(new double[] {x, y - H})) / (2 * H);
+			assertClose(expectedX, dx.evaluate(new double[] {x, y}), formula+" d/dx at "+x+", "+y);
+			assertClose(expectedY, dy.evaluate(new double[] {x, y}), formula+" d/dy at "+x+", "+y);
+		}
+	}
+
+	@Test
+	void derivesConstantsAndVariables() {
+		assertEquals(0, Derivative.of(Expression.parse("5", false), "x").computeDouble());
+		assertEquals(0, Derivative.of(Expression.parse("y", false), "x").computeDouble());
+		assertEquals(1, Derivative.of(Expression.parse("x", false), "x").computeDouble());
+	}
+
+	@Test
+	void derivesDeepExpressions() {
+		StringBuilder builder = new StringBuilder("x");
+		int expected = 1;
+		for(int i = 0; i < 20000; i++) {
+			builder.append(" + x*").append(i % 7);
+			expected += i % 7;
+		}
+		double slope = Derivative.of(Expression.parse(builder.toString(), false), "x").bind("x").evaluate(new double[] {2});
+		assertEquals(expected, slope);
+	}
+
+	private static void assertClose(double expected, double actual, String message) {
+		assertTrue(Math.abs(expected - actual) <= 1e-5 * Math.max(1, Math.abs(expected)), message+": expected "+expected+", but was "+actual);
+	}
+
+}
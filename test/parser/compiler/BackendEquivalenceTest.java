@@ -0,0 +1,133 @@
+package parser.compiler;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import parser.Expression;
+import parser.optimizer.StrengthReducer;
+import parser.optimizer.SubexpressionEliminator;
+
+/**
+ * Checks that all backends compute bit for bit the same doubles as the {@link Interpreter}: the expression tree, bound expressions,
+ * the {@link BytecodeCompiler}, the scalar and the vectorized {@link BatchEvaluator}, the {@link ParallelBatchEvaluator} and the {@link IncrementalEvaluator}.
+ * @author MiKa
+ * @version 1.0 (18.10.2026)
+ * @since ALPHA
+ */
+
+class BackendEquivalenceTest {
+
+	private static final String[] VARIABLES = {"x", "y", "t"};
+	private static final String[] FUNCTIONS = {"sin", "cos", "tan", "asin", "acos", "atan", "abs", "ln", "sign", "toRadians", "toDegree"};
+	private static final int ROWS = 1500;
+
+	@ParameterizedTest
+	@ValueSource(strings = {"x + y*t", "x/y - t%2", "pow(x, y) + x^3 + x^-2", "root(x, 2) + root(y, 3) + root(t, x)", "clamp(-1, 1, x*y) + mod(x, y)",
+			"sin(x*y) + 2*sin(x*y) - cos(sin(x*y))", "ln(abs(x)) * sign(y) + toDegree(t) - toRadians(x)", "asin(x/10) + acos(y/10) + atan(t)", "-(-x) - -y", "x/4 + y/0.1 + t/3",
+			"tan(x)^2 + 5", "7"})
+	void computesTheSameValues(String formula) {
+		Expression expression = Expression.parse(formula, true);
+		assertSameValues(expression, formula);
+		assertSameValues(StrengthReducer.reduce(expression, true), formula+" (fast-math)");
+		assertSameValues(new SubexpressionEliminator().eliminate(expression), formula+" (graph)");
+	}
+
+	@Test
+	void computesTheSameValuesForRandomFormulas() {
+		Random random = new Random(42);
+		for(int i = 0; i < 300; i++) {
+			String formula = randomFormula(random, 5);
+			assertSameValues(Expression.parse(formula, random.nextBoolean()), formula);
+		}
+	}
+
+	private static void assertSameValues(Expression expression, String message) {
+		Program program = expression.compile(VARIABLES);
+		Interpreter interpreter = new Interpreter(program);
+		CompiledExpression bytecode = BytecodeCompiler.compile(program), bound = expression.bind(VARIABLES);
+		IncrementalEvaluator incremental = new IncrementalEvaluator(program);
+
+		Random random = new Random(message.hashCode());
+		double[][] columns = new double[VARIABLES.length][ROWS];
+		for(int i = 0; i < columns.length; i++) {
+			for(int row = 0; row < ROWS; row++) {
+				// Only some variables change from row to row, so that the incremental evaluator reuses values
+				columns[i][row] = row > 0 && i > 0 && random.nextBoolean() ? columns[i][row - 1] : randomValue(random);
+			}
+		}
+		double[] scalar = new double[ROWS], vectorized = new double[ROWS], parallel = new double[ROWS];
+		new BatchEvaluator(program, false).evaluate(columns, scalar);
+		BatchEvaluator vector = new BatchEvaluator(program, true);
+		assertEquals(BatchEvaluator.isVectorAvailable(), vector.isVectorized());
+		vector.evaluate(columns, vectorized);
+		new ParallelBatchEvaluator(program, ForkJoinPool.commonPool(), 256).evaluate(columns, parallel);
+
+		double[] vars = new double[VARIABLES.length];
+		for(int row = 0; row < ROWS; row++) {
+			for(int i = 0; i < vars.length; i++) {
+				vars[i] = columns[i][row];
+				expression.setVariable(VARIABLES[i], vars[i]);
+				incremental.set(i, vars[i]);
+			}
+			if(row % 7 == 0) {
+				incremental.evaluate(vars);
+			}
+			long expected = Double.doubleToLongBits(interpreter.evaluate(vars));
+			String at = message+" at "+vars[0]+", "+vars[1]+", "+vars[2];
+			assertBits(expected, expression.computeDouble(), "tree: "+at);
+			assertBits(expected, bound.evaluate(vars), "bind: "+at);
+			assertBits(expected, bytecode.evaluate(vars), "bytecode: "+at);
+			assertBits(expected, scalar[row], "batch: "+at);
+			assertBits(expected, vectorized[row], "vector: "+at);
+			assertBits(expected, parallel[row], "parallel batch: "+at);
+			assertBits(expected, incremental.evaluate(), "incremental: "+at);
+		}
+	}
+
+	private static void assertBits(long expected, double actual, String message) {
+		assertTrue(expected == Double.doubleToLongBits(actual), message+": expected "+Double.longBitsToDouble(expected)+", but was "+actual);
+	}
+
+	/**
+	 * @return Mostly ordinary values, but also the values where functions behave specially.
+	 */
+	private static double randomValue(Random random) {
+		return switch(random.nextInt(20)) {
+			case 0 -> 0;
+			case 1 -> -0.0;
+			case 2 -> random.nextInt(7) - 3;
+			case 3 -> random.nextDouble();
+			case 4 -> Double.POSITIVE_INFINITY;
+			case 5 -> Double.NaN;
+			default -> random.nextGaussian() * 10;
+		};
+	}
+
+	private static String randomFormula(Random random, int depth) {
+		if(depth == 0 || random.nextInt(4) == 0) {
+			return random.nextInt(3) == 0 ? Integer.toString(random.nextInt(10)) : random.nextInt(3) == 0 ? random.nextInt(100) / 10.0 + "" : VARIABLES[random.nextInt(VARIABLES.length)];
+		}
+		String a = randomFormula(random, depth - 1), b = randomFormula(random, depth - 1);
+		return switch(random.nextInt(12)) {
+			case 0 -> a+" + "+b;
+			case 1 -> a+" - "+b;
+			case 2 -> a+" * "+b;
+			case 3 -> a+" / "+b;
+			case 4 -> "("+a+") % ("+b+")";
+			case 5 -> "("+a+")^"+random.nextInt(6);
+			case 6 -> "pow("+a+", "+b+")";
+			case 7 -> "root("+a+", "+(random.nextInt(3) + 1)+")";
+			case 8 -> "clamp("+a+", "+b+", "+randomFormula(random, depth - 1)+")";
+			case 9 -> "-("+a+")";
+			default -> FUNCTIONS[random.nextInt(FUNCTIONS.length)]+"("+a+")";
+		};
+	}
+
+}
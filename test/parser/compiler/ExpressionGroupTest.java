@@ -0,0 +1,110 @@
+package parser.compiler;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import parser.Expression;
+
+/**
+ * Checks that a group computes bit for bit the same results as its expressions on their own, shares their common subexpressions,
+ * and does not depend on its expressions after it has been created.
+ * @author MiKa
+ * @version 1.0 (18.10.2026)
+ * @since ALPHA
+ */
+
+class ExpressionGroupTest {
+
+	private static final String[] FORMULAS = {"clamp(0, w, (pow(2,2)*cos(t)+3)*x)", "w/2 - (pow(2,2)*cos(t)+3)*x", "sin(t)*h + root(abs(x),3)", "x", "5",
+			"(pow(2,2)*cos(t)+3)*x", "-x^3 + ln(h) % 2", "sign(w-h)*toDegree(t)"};
+	private static final String[] VARIABLES = {"t", "x", "w", "h"};
+	private static final int ROWS = 1500;
+
+	@Test
+	void computesTheSameValuesAsItsExpressions() {
+		Expression[] expressions = new Expression[FORMULAS.length];
+		Interpreter[] separate = new Interpreter[FORMULAS.length];
+		int instructions = 0;
+		for(int i = 0; i < FORMULAS.length; i++) {
+			expressions[i] = Expression.parse(FORMULAS[i], true);
+			Program program = expressions[i].compile(VARIABLES);
+			separate[i] = new Interpreter(program);
+			instructions += program.size();
+		}
+		ExpressionGroup group = new ExpressionGroup(expressions, VARIABLES);
+		assertTrue(group.isCompiled());
+		assertEquals(FORMULAS.length, group.size());
+		assertArrayEquals(VARIABLES, group.getVariables());
+		// The shared subexpressions are computed once
+		assertTrue(group.getInstructions() < instructions, group+" needs "+group.getInstructions()+" instructions, the expressions need "+instructions);
+
+		Random random = new Random(3);
+		double[][] columns = new double[VARIABLES.length][ROWS];
+		for(double[] column : columns) {
+			for(int row = 0; row < ROWS; row++) {
+				column[row] = random.nextGaussian() * 4;
+			}
+		}
+		double[][] batch = new double[FORMULAS.length][ROWS];
+		group.evaluate(columns, batch);
+
+		double[] vars = new double[VARIABLES.length], out = new double[FORMULAS.length];
+		for(int row = 0; row < ROWS; row++) {
+			for(int i = 0; i < vars.length; i++) {
+				vars[i] = columns[i][row];
+			}
+			group.evaluate(vars, out);
+			for(int i = 0; i < FORMULAS.length; i++) {
+				long expected = Double.doubleToLongBits(separate[i].evaluate(vars));
+				assertEquals(expected, Double.doubleToLongBits(out[i]), FORMULAS[i]+" at row "+row);
+				assertEquals(expected, Double.doubleToLongBits(batch[i][row]), FORMULAS[i]+" in the batch at row "+row);
+			}
+		}
+	}
+
+	@Test
+	void interpretsGroupsThatAreTooLargeForOneMethod() {
+		List<Expression> expressions = new ArrayList<>();
+		for(int k = 0; k < 6; k++) {
+			StringBuilder builder = new StringBuilder("x");
+			for(int i = 0; i < 1000; i++) {
+				builder.append(" + sin(x*").append(i).append(" + ").append(k).append(')');
+			}
+			expressions.add(Expression.parse(builder.toString(), false));
+		}
+		ExpressionGroup group = new ExpressionGroup(expressions, "x");
+		assertFalse(group.isCompiled());
+		double[] results = group.evaluate(0.3);
+		for(int k = 0; k < expressions.size(); k++) {
+			assertEquals(new Interpreter(expressions.get(k).compile("x")).evaluate(new double[] {0.3}), results[k]);
+		}
+	}
+
+	@Test
+	void doesNotChangeWithItsExpressions() {
+		Expression expression = Expression.parse("x*2", false);
+		ExpressionGroup group = new ExpressionGroup(new Expression[] {expression}, "x");
+		expression.setVariable("x", 10);
+		expression.simplify();
+		assertEquals(6, group.evaluate(3)[0]);
+	}
+
+	@Test
+	void rejectsInvalidArguments() {
+		assertThrows(IllegalArgumentException.class, () -> new ExpressionGroup(new Expression[0], "x"));
+		assertThrows(IllegalArgumentException.class, () -> new ExpressionGroup(new Expression[] {Expression.parse("x + y", false)}, "x"));
+		ExpressionGroup group = new ExpressionGroup(new Expression[] {Expression.parse("x", false), Expression.parse("-x", false)}, "x");
+		assertThrows(IllegalArgumentException.class, () -> group.evaluate(new double[] {1}, new double[1]));
+		assertThrows(IllegalArgumentException.class, () -> group.evaluate(new double[][] {{1, 2}}, new double[][] {new double[2], new double[1]}));
+	}
+
+}
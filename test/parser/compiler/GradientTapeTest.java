@@ -0,0 +1,68 @@
+package parser.compiler;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import parser.Expression;
+import parser.optimizer.SubexpressionEliminator;
+
+/**
+ * Compares the gradients of the tape with central finite differences, and its values with the {@link Interpreter}.
+ * @author MiKa
+ * @version 1.0 (18.10.2026)
+ * @since ALPHA
+ */
+
+class GradientTapeTest {
+
+	/** The step of the finite differences. */
+	private static final double H = 1e-6;
+
+	@ParameterizedTest
+	@ValueSource(strings = {"x*y", "x/y", "x^3", "x^-2", "pow(x, y)", "root(x, 3)", "root(x, y)", "root(x*x + 1, 2)", "sin(x*y)", "cos(x)", "tan(x) + tan(x)^2",
+			"asin(x/4)", "acos(x/4)", "atan(x*y)", "ln(x*x)", "toRadians(x*y)", "toDegree(x)", "-x*y + 3", "pow(x, 2)*sin(x)/cos(y)", "abs(x - y - 10)",
+			"clamp(-100, 100, x*y)", "mod(x*3, y + 10)", "sign(x)*y", "sin(x*y) + 2*sin(x*y)"})
+	void matchesFiniteDifferences(String formula) {
+		// The eliminated graph lets the tape accumulate the adjoints of shared entries
+		Expression expression = new SubexpressionEliminator().eliminate(Expression.parse(formula, true));
+		Program program = expression.compile("x", "y");
+		GradientTape tape = new GradientTape(program);
+		Interpreter interpreter = new Interpreter(program);
+
+		Random random = new Random(formula.hashCode());
+		double[] gradient = new double[2];
+		for(int i = 0; i < 200; i++) {
+			double x = 0.3 + random.nextDouble() * 2, y = 0.3 + random.nextDouble() * 2;
+			double value = tape.evaluate(new double[] {x, y}, gradient);
+			assertEquals(interpreter.evaluate(new double[] {x, y}), value, formula);
+			double expectedX = (interpreter.evaluate(new double[] {x + H, y}) - interpreter.evaluate(new double[] {x - H, y})) / (2 * H);
+			double expectedY = (interpreter.evaluate(new double[] {x, y + H}) - interpreter.evaluate(new double[] {x, y - H})) / (2 * H);
+			assertClose(expectedX, gradient[0], formula+" d/dx at "+x+", "+y);
+			assertClose(expectedY, gradient[1], formula+" d/dy at "+x+", "+y);
+		}
+	}
+
+	@Test
+	void differentiatesDeepExpressions() {
+		StringBuilder builder = new StringBuilder("x");
+		int expected = 1;
+		for(int i = 0; i < 20000; i++) {
+			builder.append(" + x*").append(i % 7);
+			expected += i % 7;
+		}
+		double[] gradient = new double[1];
+		GradientTape.of(Expression.parse(builder.toString(), false), "x").evaluate(new double[] {2}, gradient);
+		assertEquals(expected, gradient[0]);
+	}
+
+	private static void assertClose(double expected, double actual, String message) {
+		assertTrue(Math.abs(expected - actual) <= 1e-5 * Math.max(1, Math.abs(expected)), message+": expected "+expected+", but was "+actual);
+	}
+
+}
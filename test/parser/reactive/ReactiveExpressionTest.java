@@ -0,0 +1,175 @@
+package parser.reactive;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+import parser.Expression;
+
+/**
+ * Checks that reactive expressions compute only when all variables are set, coalesce changes, publish only changed results in order,
+ * and give slow subscribers only the latest result.
+ * @author MiKa
+ * @version 1.0 (18.10.2026)
+ * @since ALPHA
+ */
+
+class ReactiveExpressionTest {
+
+	@Test
+	void waitsForAllVariables() {
+		ReactiveExpression sum = new ReactiveExpression(Expression.parse("a + b", true), Runnable::run, "a", "b");
+		sum.set("a", 1);
+		assertTrue(Double.isNaN(sum.getValue()));
+		assertEquals(0, sum.getComputations());
+		sum.set("b", 2);
+		assertEquals(3, sum.getValue());
+		assertEquals(1, sum.getComputations());
+		assertThrows(IllegalArgumentException.class, () -> sum.set("c", 1));
+	}
+
+	@Test
+	void coalescesChanges() {
+		ArrayDeque<Runnable> tasks = new ArrayDeque<>();
+		ReactiveVariable t = new ReactiveVariable("t", 0);
+		ReactiveExpression square = new ReactiveExpression(Expression.parse("t*t", true), tasks::add, "t").bind(t);
+		for(int i = 1; i <= 1000; i++) {
+			t.set(i);
+		}
+		// One computation has been scheduled for all changes
+		assertEquals(1, tasks.size());
+		tasks.poll().run();
+		assertEquals(1, square.getComputations());
+		assertEquals(1000000, square.getValue());
+		assertTrue(tasks.isEmpty());
+	}
+
+	@Test
+	void publishesOnlyChangedResults() {
+		ReactiveVariable x = new ReactiveVariable("x", 1);
+		ReactiveExpression clamped = new ReactiveExpression(Expression.parse("clamp(0, 10, x*2)", true), Runnable::run, "x").bind(x);
+		Recorder recorder = new Recorder(Long.MAX_VALUE);
+		clamped.subscribe(recorder);
+		x.set(2);
+		x.set(100);
+		x.set(200);
+		x.set(3);
+		assertEquals(List.of(2.0, 4.0, 10.0, 6.0), recorder.values);
+		assertEquals(5, clamped.getComputations());
+
+		clamped.close();
+		assertTrue(recorder.completed);
+		Recorder late = new Recorder(1);
+		clamped.subscribe(late);
+		assertTrue(late.completed);
+	}
+
+	@Test
+	void givesSlowSubscribersOnlyTheLatestResult() {
+		ReactiveVariable x = new ReactiveVariable("x", 1);
+		ReactiveExpression doubled = new ReactiveExpression(Expression.parse("x*2", true), Runnable::run, "x").bind(x);
+		// A chained expression is computed whenever the first one publishes
+		ReactiveExpression chained = new ReactiveExpression(Expression.parse("p + 1", true), Runnable::run, "p").bind("p", doubled);
+		Recorder slow = new Recorder(1);
+		chained.subscribe(slow);
+		x.set(2);
+		x.set(3);
+		x.set(4);
+		assertEquals(List.of(3.0), slow.values);
+		slow.subscription.request(5);
+		assertEquals(List.of(3.0, 9.0), slow.values);
+	}
+
+	@Test
+	void failsWithItsSource() {
+		ReactiveExpression negated = new ReactiveExpression(Expression.parse("-x", true), Runnable::run, "x");
+		Recorder recorder = new Recorder(Long.MAX_VALUE);
+		negated.subscribe(recorder);
+		negated.bind("x", subscriber -> {
+			subscriber.onSubscribe(new Flow.Subscription() {
+				@Override
+				public void request(long n) {}
+
+				@Override
+				public void cancel() {}
+			});
+			subscriber.onError(new IllegalStateException("broken"));
+		});
+		assertInstanceOf(IllegalStateException.class, recorder.error);
+	}
+
+	@Test
+	void computesTheLatestValuesOnTheCommonPool() throws Exception {
+		ReactiveVariable u = new ReactiveVariable("u", 0);
+		ReactiveExpression square = new ReactiveExpression(Expression.parse("u*u", true), "u").bind(u);
+		List<Thread> threads = new ArrayList<>();
+		for(int i = 0; i < 4; i++) {
+			int offset = i * 100000;
+			Thread thread = new Thread(() -> {
+				for(int j = 0; j < 10000; j++) {
+					u.set(offset + j);
+				}
+			});
+			thread.start();
+			threads.add(thread);
+		}
+		for(Thread thread : threads) {
+			thread.join();
+		}
+		u.set(-3);
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+		while(square.getValue() != 9 && System.nanoTime() < deadline) {
+			Thread.sleep(1);
+		}
+		assertEquals(9, square.getValue());
+		assertTrue(square.getComputations() <= 40001);
+	}
+
+	/**
+	 * Records the values and the termination of a publisher.
+	 */
+	private static class Recorder implements Flow.Subscriber<Double> {
+
+		private final List<Double> values = new ArrayList<>();
+		private final long initialRequest;
+		private Flow.Subscription subscription;
+		private boolean completed;
+		private Throwable error;
+
+		Recorder(long initialRequest) {
+			this.initialRequest = initialRequest;
+		}
+
+		@Override
+		public void onSubscribe(Flow.Subscription subscription) {
+			this.subscription = subscription;
+			subscription.request(initialRequest);
+		}
+
+		@Override
+		public void onNext(Double item) {
+			values.add(item);
+		}
+
+		@Override
+		public void onError(Throwable throwable) {
+			error = throwable;
+		}
+
+		@Override
+		public void onComplete() {
+			completed = true;
+		}
+
+	}
+
+}